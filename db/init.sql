@@ -5,7 +5,7 @@
 CREATE TYPE employee_status AS ENUM ('ACTIVE', 'INACTIVE');
 CREATE TYPE pay_cycle_type AS ENUM ('WEEKLY', 'BIWEEKLY', 'MONTHLY');
 CREATE TYPE payroll_status AS ENUM ('PROCESSED', 'FAILED', 'SUBMITTED', 'SUBMISSION_FAILED');
-CREATE TYPE integration_status AS ENUM ('PENDING', 'SUCCESS', 'FAILED');
+CREATE TYPE integration_status AS ENUM ('PENDING', 'SUCCESS', 'FAILED', 'RETRY', 'DEAD_LETTER');
 
 -------------------------------------------------------
 -- Trigger function for auto-updating updated_at
@@ -45,6 +45,9 @@ EXECUTE FUNCTION update_timestamp();
 -- Add index for department
 CREATE INDEX idx_employee_master_department ON employee_master(department);
 
+-- Supports keyset chunking of a pay group's employees during batch payroll runs
+CREATE INDEX idx_employee_master_pay_group ON employee_master(pay_group_id, employee_id);
+
 -------------------------------------------------------
 -- pay_group
 -------------------------------------------------------
@@ -56,9 +59,18 @@ CREATE TABLE pay_group (
     base_tax_rate DECIMAL(5,2) DEFAULT 10.00,
     benefit_rate DECIMAL(5,2) DEFAULT 5.00,
     deduction_rate DECIMAL(5,2) DEFAULT 2.50,
+    rates_version INT NOT NULL DEFAULT 1,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Bumped on every pay group change so each node's pay group cache can detect stale snapshots
+CREATE TABLE pay_group_version (
+    id INT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO pay_group_version (id, version) VALUES (1, 0);
+
 -------------------------------------------------------
 -- payroll_run
 -------------------------------------------------------
@@ -74,10 +86,35 @@ CREATE TABLE payroll_run (
     net_pay DECIMAL(10,2),
     status payroll_status DEFAULT 'PROCESSED',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- inputs the run was calculated from, used by incremental recalculation
+    pay_group_id INT,
+    pay_group_rates_version INT,
+    employee_updated_at TIMESTAMP,
+    timesheet_updated_at TIMESTAMP,
+    -- submission lease, see PayrollRunRepository.claimPendingRuns
+    claim_owner VARCHAR(64),
+    claim_expires_at TIMESTAMP,
     FOREIGN KEY (employee_id) REFERENCES employee_master(employee_id),
     CONSTRAINT uq_payroll_run_emp_period UNIQUE (employee_id, pay_period_start, pay_period_end)
 );
 
+-- Same order as the GET /payroll keyset, each page is a range scan of its own size
+CREATE INDEX idx_payroll_run_period_keyset ON payroll_run(pay_period_start, pay_period_end, payroll_id);
+
+-------------------------------------------------------
+-- payroll_submission_outbox
+-------------------------------------------------------
+
+-- Runs waiting for submission, written with the run and deleted once it is submitted,
+-- so finding work never scans payroll_run history
+CREATE TABLE payroll_submission_outbox (
+    outbox_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    payroll_id INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (payroll_id) REFERENCES payroll_run(payroll_id),
+    CONSTRAINT uq_payroll_submission_outbox_payroll UNIQUE (payroll_id)
+);
+
 -------------------------------------------------------
 -- error_log
 -------------------------------------------------------
@@ -121,24 +158,35 @@ CREATE TABLE bank_integration_log (
     integration_id INT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     payroll_id INT NOT NULL,
     employee_id VARCHAR(10),
-    batch_id VARCHAR(20),
+    batch_id VARCHAR(50),
     status integration_status DEFAULT 'PENDING',
     retry_count INT DEFAULT 0,
     message VARCHAR(255),
+    next_retry_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (employee_id) REFERENCES employee_master(employee_id),
-    FOREIGN KEY (payroll_id) REFERENCES payroll_run(payroll_id)
+    FOREIGN KEY (payroll_id) REFERENCES payroll_run(payroll_id),
+    CONSTRAINT uq_bank_integration_log_payroll UNIQUE (payroll_id)
 );
 
+-- Due-retry lookup only scans rows waiting for a retry, however large the log grows
+CREATE INDEX idx_bank_integration_log_due ON bank_integration_log(next_retry_at) WHERE status = 'RETRY';
+
 -- Tracks the overall bulk transmission
 CREATE TABLE payroll_batch (
     id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     batch_ref_id VARCHAR(50) NOT NULL UNIQUE,
     pay_period VARCHAR(7) NOT NULL,
+    pay_period_start DATE,
+    pay_period_end DATE,
+    pay_group_id INT,
     total_amount DECIMAL(15,2),
     status VARCHAR(20) NOT NULL,
     log_message VARCHAR(255),
     employee_count INT,
+    file_name VARCHAR(255),
+    file_size BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -153,9 +201,65 @@ CREATE TABLE payroll_batch_log (
     employee_id VARCHAR(10) NOT NULL,
     status VARCHAR(20),
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    log_message VARCHAR(255),
     FOREIGN KEY (batch_ref_id) REFERENCES payroll_batch(batch_ref_id)
 );
 
+-- Keyset pages of a batch's or an employee's logs seek on log_id within the filter
+CREATE INDEX idx_payroll_batch_log_batch ON payroll_batch_log(batch_ref_id, log_id);
+CREATE INDEX idx_payroll_batch_log_employee ON payroll_batch_log(employee_id, log_id);
+
+-- Pay period and pay group totals where accepted batches and SUBMITTED runs disagree
+CREATE TABLE reconciliation_discrepancy (
+    discrepancy_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    reconciliation_id VARCHAR(36) NOT NULL,
+    pay_period VARCHAR(7) NOT NULL,
+    pay_period_start DATE,
+    pay_period_end DATE,
+    pay_group_id INT,
+    discrepancy_type VARCHAR(20) NOT NULL,
+    batch_total_amount DECIMAL(15,2),
+    batch_employee_count BIGINT,
+    submitted_net_pay DECIMAL(15,2),
+    submitted_run_count BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_reconciliation_discrepancy_run ON reconciliation_discrepancy(reconciliation_id);
+
+-- Keeps both reconciliation streams to the rows they aggregate
+CREATE INDEX idx_payroll_batch_period_status ON payroll_batch(pay_period, pay_group_id) WHERE status = 'SUCCESS';
+CREATE INDEX idx_payroll_run_submitted_period ON payroll_run(pay_period_end, pay_group_id) WHERE status = 'SUBMITTED';
+
+-------------------------------------------------------
+-- payroll_job
+-------------------------------------------------------
+
+-- Background payroll calculations, progress and resume checkpoint are saved after every chunk
+CREATE TABLE payroll_job (
+    job_id VARCHAR(36) PRIMARY KEY,
+    pay_group_ids VARCHAR(255) NOT NULL,
+    pay_period_start DATE NOT NULL,
+    pay_period_end DATE NOT NULL,
+    calculation_engine VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_employees INT NOT NULL DEFAULT 0,
+    processed_employees INT NOT NULL DEFAULT 0,
+    failed_employees INT NOT NULL DEFAULT 0,
+    checkpoint_pay_group_index INT NOT NULL DEFAULT 0,
+    checkpoint_employee_id VARCHAR(10),
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    error_message VARCHAR(255),
+    lease_owner VARCHAR(64),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_payroll_job_status ON payroll_job(status);
+
 -------------------------------------------------------
 -- pay_period
 -------------------------------------------------------
@@ -249,6 +353,9 @@ INSERT INTO payroll_run (
 ('E009', '2025-10-01', '2025-10-31', 8500.00, 1020.00, 680.00, 8160.00),
 ('E010', '2025-10-01', '2025-10-31', 9000.00, 1080.00, 720.00, 8640.00);
 
+INSERT INTO payroll_submission_outbox (payroll_id)
+SELECT payroll_id FROM payroll_run WHERE status <> 'SUBMITTED' ORDER BY payroll_id;
+
 INSERT INTO payslip (
     employee_id, payroll_id, pay_period, gross_pay, net_pay, benefits, earnings_json, deductions_json, file_path
 ) VALUES
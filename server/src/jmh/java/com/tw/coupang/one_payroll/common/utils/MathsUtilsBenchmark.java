@@ -0,0 +1,41 @@
+package com.tw.coupang.one_payroll.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MathsUtilsBenchmark {
+
+    private BigDecimal amount;
+    private BigDecimal percent;
+    private long amountCents;
+    private long percentBasisPoints;
+
+    @Setup
+    public void setUp() {
+        amount = new BigDecimal("52437.85");
+        percent = new BigDecimal("12.50");
+        amountCents = FixedPointMathsUtils.toCents(amount);
+        percentBasisPoints = FixedPointMathsUtils.toBasisPoints(percent);
+    }
+
+    @Benchmark
+    public BigDecimal percentOf() {
+        return MathsUtils.percentOf(percent, amount);
+    }
+
+    @Benchmark
+    public long percentOfCents() {
+        return FixedPointMathsUtils.percentOfCents(percentBasisPoints, amountCents);
+    }
+}
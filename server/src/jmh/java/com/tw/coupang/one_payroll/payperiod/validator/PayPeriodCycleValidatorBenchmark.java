@@ -0,0 +1,51 @@
+package com.tw.coupang.one_payroll.payperiod.validator;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayPeriodCycleValidatorBenchmark {
+
+    @Param({"MONTHLY", "WEEKLY", "BIWEEKLY"})
+    private PaymentCycle paymentCycle;
+
+    private PayPeriodCycleValidator validator;
+    private PayGroup payGroup;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        validator = new PayPeriodCycleValidator();
+        payGroup = PayGroup.builder()
+                .id(1)
+                .groupName("Engineering")
+                .paymentCycle(paymentCycle)
+                .build();
+        startDate = LocalDate.of(2025, 11, 1);
+        endDate = switch (paymentCycle) {
+            case MONTHLY -> LocalDate.of(2025, 11, 30);
+            case WEEKLY -> startDate.plusDays(6);
+            case BIWEEKLY -> startDate.plusDays(13);
+        };
+    }
+
+    @Benchmark
+    public LocalDate validatePayPeriodAgainstPayGroup() {
+        validator.validatePayPeriodAgainstPayGroup(startDate, endDate, payGroup);
+        return endDate;
+    }
+}
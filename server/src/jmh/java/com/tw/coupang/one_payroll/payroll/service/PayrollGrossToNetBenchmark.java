@@ -0,0 +1,50 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayrollGrossToNetBenchmark {
+
+    @Param({"BIG_DECIMAL", "FIXED_POINT"})
+    private CalculationEngine calculationEngine;
+
+    private PayrollCalculationServiceImpl service;
+    private PayGroup payGroup;
+    private BigDecimal grossPay;
+
+    @Setup
+    public void setUp() {
+        // Only the pure calculation is measured, so no collaborators are needed
+        service = new PayrollCalculationServiceImpl(null, null, null, null, null, null, null, null, null, null);
+        payGroup = PayGroup.builder()
+                .id(1)
+                .groupName("Engineering")
+                .paymentCycle(PaymentCycle.MONTHLY)
+                .baseTaxRate(new BigDecimal("10.00"))
+                .benefitRate(new BigDecimal("5.00"))
+                .deductionRate(new BigDecimal("2.50"))
+                .build();
+        grossPay = new BigDecimal("52437.85");
+    }
+
+    @Benchmark
+    public BigDecimal payrollGrossToNetPayCalculation() {
+        return service.payrollGrossToNetPayCalculation(grossPay, payGroup, PayrollRun.builder(), calculationEngine);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tw.coupang.one_payroll.payslip.service;
+
+import com.tw.coupang.one_payroll.employee_master.entity.EmployeeMaster;
+import com.tw.coupang.one_payroll.employee_master.enums.EmployeeStatus;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollStatus;
+import com.tw.coupang.one_payroll.payslip.dto.PayslipMetadataDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayslipMetadataBuilderBenchmark {
+
+    private PayslipMetadataBuilder builder;
+    private EmployeeMaster employee;
+    private PayrollRun payrollRun;
+    private LocalDate payPeriod;
+
+    @Setup
+    public void setUp() {
+        builder = new PayslipMetadataBuilder();
+        employee = EmployeeMaster.builder()
+                .employeeId("EMP00042")
+                .firstName("Mary")
+                .lastName("Smith")
+                .department("Engineering")
+                .designation("Senior Software Engineer")
+                .email("mary.smith@example.com")
+                .payGroupId(1)
+                .status(EmployeeStatus.ACTIVE)
+                .joiningDate(LocalDate.of(2021, 4, 12))
+                .build();
+        payrollRun = PayrollRun.builder()
+                .payrollId(4242)
+                .employeeId(employee.getEmployeeId())
+                .payPeriodStart(LocalDate.of(2025, 11, 1))
+                .payPeriodEnd(LocalDate.of(2025, 11, 30))
+                .grossPay(new BigDecimal("52437.85"))
+                .taxDeduction(new BigDecimal("5243.79"))
+                .benefitAddition(new BigDecimal("2621.89"))
+                .netPay(new BigDecimal("48505.00"))
+                .status(PayrollStatus.PROCESSED)
+                .build();
+        payPeriod = LocalDate.of(2025, 11, 30);
+    }
+
+    @Benchmark
+    public PayslipMetadataDTO buildPayslipMetadata() {
+        return builder.buildPayslipMetadata(employee, payrollRun, payPeriod);
+    }
+}
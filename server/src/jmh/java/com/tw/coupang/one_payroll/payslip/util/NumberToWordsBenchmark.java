@@ -0,0 +1,25 @@
+package com.tw.coupang.one_payroll.payslip.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumberToWordsBenchmark {
+
+    @Param({"0", "985", "48505", "1250000", "987654321"})
+    private long amount;
+
+    @Benchmark
+    public String convert() {
+        return NumberToWords.convert(amount);
+    }
+}
@@ -0,0 +1,131 @@
+package com.tw.coupang.one_payroll.payslip.util;
+
+import com.tw.coupang.one_payroll.common.constants.PayrollConstants;
+import com.tw.coupang.one_payroll.payslip.dto.MonthlyPayslipSummaryDto;
+import com.tw.coupang.one_payroll.payslip.dto.PayslipMetadataDTO;
+import com.tw.coupang.one_payroll.payslip.dto.YtdSummaryForPdfDto;
+import com.tw.coupang.one_payroll.payslip.dto.YtdSummaryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfGeneratorBenchmark {
+
+    private static final int YEAR = 2025;
+
+    private PdfGenerator pdfGenerator;
+    private Map<String, Object> payslipModel;
+    private Map<String, Object> ytdModel;
+
+    @Setup
+    public void setUp() {
+        // Same resolver settings as Spring Boot's thymeleaf auto-configuration
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        pdfGenerator = new PdfGenerator(templateEngine, new PdfConfig());
+
+        payslipModel = new HashMap<>();
+        payslipModel.put("payslip", buildPayslip());
+
+        List<MonthlyPayslipSummaryDto> monthlyList = buildMonthlyList();
+        Map<String, MonthlyPayslipSummaryDto> monthlyBreakdown = new LinkedHashMap<>();
+        monthlyList.forEach(month -> monthlyBreakdown.put(month.monthName(), month));
+        ytdModel = new HashMap<>();
+        ytdModel.put("ytd", new YtdSummaryForPdfDto("EMP00042", "Mary Smith", "Engineering",
+                "Senior Software Engineer", YEAR, monthlyBreakdown, sum(monthlyList)));
+        ytdModel.put("monthlyList", monthlyList);
+
+        // PdfGenerator swallows failures and returns an empty array, which would make the numbers meaningless
+        if (pdfGenerator.generatePayslipPdf(payslipModel).length == 0
+                || pdfGenerator.generateYtdPdf(ytdModel).length == 0) {
+            throw new IllegalStateException("PDF generation failed during benchmark setup");
+        }
+    }
+
+    @Benchmark
+    public byte[] generatePayslipPdf() {
+        return pdfGenerator.generatePayslipPdf(payslipModel);
+    }
+
+    @Benchmark
+    public byte[] generateYtdPdf() {
+        return pdfGenerator.generateYtdPdf(ytdModel);
+    }
+
+    private static PayslipMetadataDTO buildPayslip() {
+        Map<String, BigDecimal> earnings = new HashMap<>();
+        earnings.put(PayrollConstants.GROSS_PAY, new BigDecimal("52437.85"));
+        earnings.put(PayrollConstants.BENEFITS, new BigDecimal("2621.89"));
+        Map<String, BigDecimal> deductions = new HashMap<>();
+        deductions.put(PayrollConstants.TAX, new BigDecimal("5243.79"));
+        return PayslipMetadataDTO.builder()
+                .employeeId("EMP00042")
+                .employeeName("Mary Smith")
+                .department("Engineering")
+                .designation("Senior Software Engineer")
+                .payrollId(4242)
+                .payPeriod(LocalDate.of(YEAR, 11, 30))
+                .payPeriodStart(LocalDate.of(YEAR, 11, 1))
+                .payPeriodEnd(LocalDate.of(YEAR, 11, 30))
+                .grossPay(new BigDecimal("52437.85"))
+                .netPay(new BigDecimal("48505.00"))
+                .benefitAmount(new BigDecimal("2621.89"))
+                .earnings(earnings)
+                .deductions(deductions)
+                .totalEarnings(new BigDecimal("55059.74"))
+                .totalDeductions(new BigDecimal("5243.79"))
+                .filePath("/EMP00042/NOV2025.pdf")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<MonthlyPayslipSummaryDto> buildMonthlyList() {
+        List<MonthlyPayslipSummaryDto> months = new ArrayList<>();
+        for (Month month : Month.values()) {
+            months.add(new MonthlyPayslipSummaryDto(month.name(), month.getValue(), YEAR,
+                    new BigDecimal("52437.85"), new BigDecimal("48505.00"),
+                    new BigDecimal("2621.89"), new BigDecimal("6554.74")));
+        }
+        return months;
+    }
+
+    private static YtdSummaryResponse sum(List<MonthlyPayslipSummaryDto> months) {
+        BigDecimal gross = BigDecimal.ZERO;
+        BigDecimal net = BigDecimal.ZERO;
+        BigDecimal deductions = BigDecimal.ZERO;
+        BigDecimal benefit = BigDecimal.ZERO;
+        for (MonthlyPayslipSummaryDto month : months) {
+            gross = gross.add(month.grossPay());
+            net = net.add(month.netPay());
+            deductions = deductions.add(month.deductions());
+            benefit = benefit.add(month.benefit());
+        }
+        return new YtdSummaryResponse(gross, net, deductions, benefit);
+    }
+}
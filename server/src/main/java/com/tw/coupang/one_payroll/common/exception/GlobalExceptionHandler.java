@@ -4,16 +4,22 @@ import com.tw.coupang.one_payroll.common.dto.ApiErrorResponse;
 import com.tw.coupang.one_payroll.employee_master.exception.EmployeeConflictException;
 import com.tw.coupang.one_payroll.employee_master.exception.EmployeeInactiveException;
 import com.tw.coupang.one_payroll.employee_master.exception.EmployeeNotFoundException;
+import com.tw.coupang.one_payroll.integration.exception.BatchConflictException;
 import com.tw.coupang.one_payroll.integration.exception.BatchNotFoundException;
+import com.tw.coupang.one_payroll.integration.exception.DownstreamThrottledException;
+import com.tw.coupang.one_payroll.integration.exception.DownstreamTimeoutException;
+import com.tw.coupang.one_payroll.integration.exception.InvalidBatchPayloadException;
 import com.tw.coupang.one_payroll.integration.exception.MandatoryFieldMissingException;
 import com.tw.coupang.one_payroll.paygroups.exception.DuplicatePayGroupException;
 import com.tw.coupang.one_payroll.paygroups.exception.PayGroupNotFoundException;
 import com.tw.coupang.one_payroll.payslip.exception.PayslipNotFoundException;
 import com.tw.coupang.one_payroll.payperiod.exception.OverlappingPayPeriodException;
 import com.tw.coupang.one_payroll.payroll.dto.response.ApiResponse;
+import com.tw.coupang.one_payroll.payroll.exception.PayrollJobNotFoundException;
 import com.tw.coupang.one_payroll.payperiod.exception.InvalidPayPeriodException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -81,6 +87,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(BatchConflictException.class)
+    public ResponseEntity<ApiResponse> handleBatchConflict(BatchConflictException ex) {
+        log.warn("Batch conflict: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.failure("BATCH_CONFLICT", ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(DownstreamThrottledException.class)
+    public ResponseEntity<ApiResponse> handleDownstreamThrottled(DownstreamThrottledException ex) {
+        log.warn("Downstream throttled: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.failure("TOO_MANY_REQUESTS", ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(DownstreamTimeoutException.class)
+    public ResponseEntity<ApiResponse> handleDownstreamTimeout(DownstreamTimeoutException ex) {
+        log.warn("Downstream timeout: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.failure("GATEWAY_TIMEOUT", ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    @ExceptionHandler(InvalidBatchPayloadException.class)
+    public ResponseEntity<ApiResponse> handleInvalidBatchPayload(InvalidBatchPayloadException ex) {
+        log.warn("Invalid batch payload: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.failure(VALIDATION_ERROR_CODE, ex.getMessage(), null);
+        return ResponseEntity.badRequest().body(response);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiResponse> handleInvalidJson(HttpMessageNotReadableException ex) {
         String details = ex.getMostSpecificCause().getMessage();
@@ -173,6 +213,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(PayrollJobNotFoundException.class)
+    public ResponseEntity<ApiResponse> handlePayrollJobNotFound(PayrollJobNotFoundException ex) {
+        log.warn("Payroll job not found: {}", ex.getMessage());
+
+        ApiResponse response = ApiResponse.failure("PAYROLL_JOB_NOT_FOUND", ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse> handleIllegalArgument(IllegalArgumentException ex) {
         String msg = ex.getMessage() != null ? ex.getMessage() : "Invalid request";
@@ -0,0 +1,38 @@
+package com.tw.coupang.one_payroll.common.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * Amounts as long cents and percentages as long basis points (1% = 100 bp).
+ * Results match {@link MathsUtils#percentOf} with scale 2 and HALF_UP rounding.
+ * Conversions throw {@link ArithmeticException} when a value has more than two decimals or overflows a long.
+ */
+public class FixedPointMathsUtils {
+
+    private static final long BASIS_POINTS_PER_UNIT = 10_000L;
+    private static final long HALF_BASIS_POINTS_PER_UNIT = BASIS_POINTS_PER_UNIT / 2;
+
+    private FixedPointMathsUtils() {
+        // private constructor to prevent instantiation
+    }
+
+    public static long toCents(final BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    public static long toBasisPoints(final BigDecimal percent) {
+        if (percent == null) return 0L;
+        return percent.movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal fromCents(final long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static long percentOfCents(final long basisPoints, final long cents) {
+        final long product = Math.multiplyExact(cents, basisPoints);
+        // HALF_UP rounds ties away from zero, so round the magnitude and restore the sign
+        final long rounded = Math.addExact(Math.absExact(product), HALF_BASIS_POINTS_PER_UNIT) / BASIS_POINTS_PER_UNIT;
+        return product < 0 ? -rounded : rounded;
+    }
+}
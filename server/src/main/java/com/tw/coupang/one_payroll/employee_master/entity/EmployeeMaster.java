@@ -13,6 +13,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -21,7 +22,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "employee_master")
+@Table(
+        name = "employee_master",
+        indexes = {
+                @Index(name = "idx_employee_master_pay_group", columnList = "pay_group_id, employee_id")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,7 +2,10 @@ package com.tw.coupang.one_payroll.employee_master.repository;
 
 import com.tw.coupang.one_payroll.employee_master.entity.EmployeeMaster;
 import com.tw.coupang.one_payroll.employee_master.enums.EmployeeStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +16,20 @@ public interface EmployeeMasterRepository extends JpaRepository<EmployeeMaster,
     boolean existsByEmployeeId(String employeeId);
     List<EmployeeMaster> findByDepartmentIgnoreCase(String department);
     List<EmployeeMaster> findByDepartmentIgnoreCaseAndStatus(String department, EmployeeStatus status);
+    long countByPayGroupIdAndStatus(Integer payGroupId, EmployeeStatus status);
+
+    // Keyset chunk: every call resumes after the last employee id of the previous chunk
+    @Query("""
+    SELECT e FROM EmployeeMaster e
+    WHERE e.payGroupId = :payGroupId
+      AND e.status = :status
+      AND e.employeeId > :afterEmployeeId
+    ORDER BY e.employeeId
+    """)
+    List<EmployeeMaster> findChunkByPayGroupIdAndStatus(
+            @Param("payGroupId") Integer payGroupId,
+            @Param("status") EmployeeStatus status,
+            @Param("afterEmployeeId") String afterEmployeeId,
+            Pageable pageable
+    );
 }
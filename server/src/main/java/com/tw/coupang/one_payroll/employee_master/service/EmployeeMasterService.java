@@ -11,5 +11,7 @@ public interface EmployeeMasterService {
     EmployeeMaster updateEmployee(String employeeId, UpdateEmployeeRequest request);
     EmployeeMaster getEmployeeById(String employeeId);
     List<EmployeeMaster> getEmployeesByDepartment(String department, boolean includeInactive);
+    List<EmployeeMaster> getActiveEmployeesByPayGroup(Integer payGroupId, String afterEmployeeId, int limit);
+    long countActiveEmployeesByPayGroup(Integer payGroupId);
     void deleteEmployee(String employeeId);
 }
@@ -8,6 +8,7 @@ import com.tw.coupang.one_payroll.employee_master.exception.EmployeeConflictExce
 import com.tw.coupang.one_payroll.employee_master.exception.EmployeeNotFoundException;
 import com.tw.coupang.one_payroll.employee_master.repository.EmployeeMasterRepository;
 import com.tw.coupang.one_payroll.employee_master.service.EmployeeMasterService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -83,6 +84,19 @@ public class EmployeeMasterServiceImpl implements EmployeeMasterService {
         return repository.findByDepartmentIgnoreCaseAndStatus(department.trim(), EmployeeStatus.ACTIVE);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeMaster> getActiveEmployeesByPayGroup(Integer payGroupId, String afterEmployeeId, int limit) {
+        return repository.findChunkByPayGroupIdAndStatus(payGroupId, EmployeeStatus.ACTIVE,
+                afterEmployeeId == null ? "" : afterEmployeeId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countActiveEmployeesByPayGroup(Integer payGroupId) {
+        return repository.countByPayGroupIdAndStatus(payGroupId, EmployeeStatus.ACTIVE);
+    }
+
     @Override
     @Transactional
     public void deleteEmployee(String employeeId) {
@@ -1,16 +1,24 @@
 package com.tw.coupang.one_payroll.integration.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 @EnableScheduling
 public class SchedulerConfig {
 
+    // Shared by every submission so keep-alive connections to the downstream are reused
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient payrollSubmissionHttpClient(
+            @Value("${integration.payroll.http.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
     }
 }
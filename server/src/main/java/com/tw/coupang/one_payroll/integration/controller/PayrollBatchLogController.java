@@ -1,13 +1,16 @@
 package com.tw.coupang.one_payroll.integration.controller;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogPageResponse;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogResponse;
 import com.tw.coupang.one_payroll.integration.service.PayrollBatchLogService;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping("/integration/payroll")
 @RequiredArgsConstructor
@@ -35,4 +39,16 @@ public class PayrollBatchLogController {
 
         return ResponseEntity.ok(logs.getContent());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/logs/scroll")
+    public ResponseEntity<PayrollBatchLogPageResponse> scrollBatchLogs(
+            @RequestParam(required = false) String batchId,
+            @RequestParam(required = false) String employeeId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) @Min(value = 1, message = "limit must be greater than 0") Integer limit) {
+
+        log.info("GET request for batch logs. batchId: {}, employeeId: {}, cursor: {}, limit: {}", batchId, employeeId, cursor, limit);
+
+        return ResponseEntity.ok(payrollBatchLogService.getBatchLogsAfter(batchId, employeeId, cursor, limit));
+    }
+}
@@ -2,14 +2,22 @@ package com.tw.coupang.one_payroll.integration.controller;
 
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
 import com.tw.coupang.one_payroll.integration.service.PayrollBatchStatusService;
+import com.tw.coupang.one_payroll.integration.service.PayrollBatchStatusStreamService;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+@Validated
 @RestController
 @RequestMapping("/integration/payroll")
 @RequiredArgsConstructor
@@ -17,13 +25,34 @@ import org.springframework.web.bind.annotation.RestController;
 public class PayrollBatchStatusController {
 
     private final PayrollBatchStatusService payrollBatchStatusService;
+    private final PayrollBatchStatusStreamService payrollBatchStatusStreamService;
 
 
     @GetMapping("/status/{batchId}")
-    public ResponseEntity<PayrollBatchStatusResponse> getBatchStatus(@PathVariable String batchId) {
+    public ResponseEntity<PayrollBatchStatusResponse> getBatchStatus(@PathVariable String batchId, WebRequest request) {
         log.info("GET request for batch status: {}", batchId);
+        // Pollers that already have the current state get a 304 without the batch being loaded
+        String eTag = payrollBatchStatusService.getBatchStatusETag(batchId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         PayrollBatchStatusResponse response = payrollBatchStatusService.getBatchStatus(batchId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @GetMapping(value = "/status/{batchId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBatchStatus(@PathVariable String batchId) {
+        log.info("Status stream opened for batch: {}", batchId);
+        return payrollBatchStatusStreamService.subscribeToBatch(batchId,
+                () -> payrollBatchStatusService.findBatchStatus(batchId));
+    }
+
+    @GetMapping(value = "/status/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPayPeriodStatus(
+            @RequestParam @Pattern(regexp = "^\\d{4}-(0[1-9]|1[0-2])$", message = "Pay period must be YYYY-MM")
+            String payPeriod) {
+        log.info("Status stream opened for pay period: {}", payPeriod);
+        return payrollBatchStatusStreamService.subscribeToPayPeriod(payPeriod);
     }
 }
 
@@ -2,25 +2,86 @@ package com.tw.coupang.one_payroll.integration.controller;
 
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.InvalidBatchPayloadException;
+import com.tw.coupang.one_payroll.integration.service.DownstreamSimulator;
 import com.tw.coupang.one_payroll.integration.service.MockIntegrationService;
+import com.tw.coupang.one_payroll.integration.transport.PayrollBatchPayloadCodec;
+import com.tw.coupang.one_payroll.integration.transport.PayrollBatchPayloadReader;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.zip.GZIPInputStream;
+
 @RestController
 @RequestMapping("/integration/payroll")
 public class PayrollIntegrationController {
 
+    private static final String PAY_PERIOD_PATTERN = "^\\d{4}-(0[1-9]|1[0-2])$";
+
     private MockIntegrationService integrationService;
+    private DownstreamSimulator downstreamSimulator;
+    private PayrollBatchPayloadCodec payloadCodec;
 
-    public PayrollIntegrationController(MockIntegrationService integrationService) {
+    public PayrollIntegrationController(MockIntegrationService integrationService, DownstreamSimulator downstreamSimulator,
+                                        PayrollBatchPayloadCodec payloadCodec) {
         this.integrationService = integrationService;
+        this.downstreamSimulator = downstreamSimulator;
+        this.payloadCodec = payloadCodec;
     }
 
     @PostMapping("/submit")
     public ResponseEntity<PayrollBatchResponse> submitPayrollBatch(@Valid @RequestBody PayrollBatchRequest request) {
+        // Latency, throttling and timeouts happen outside the transaction, like a gateway in front of SAP
+        downstreamSimulator.simulateTransport();
 
         PayrollBatchResponse response = integrationService.processBatch(request);
         return ResponseEntity.ok(response);
     }
+
+    // Line-item batches are parsed while they are processed, the body is never bound to an object as a whole
+    @PostMapping(value = "/submit", consumes = PayrollBatchPayloadCodec.MEDIA_TYPE)
+    public ResponseEntity<PayrollBatchResponse> submitLineItemBatch(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException {
+        downstreamSimulator.simulateTransport();
+
+        try (PayrollBatchPayloadReader reader = payloadCodec.read(decode(body, contentEncoding))) {
+            validateHeader(reader.header());
+            return ResponseEntity.ok(integrationService.processBatch(reader.header(), reader));
+        }
+    }
+
+    private InputStream decode(InputStream body, String contentEncoding) {
+        if (!"gzip".equalsIgnoreCase(contentEncoding)) {
+            return body;
+        }
+        try {
+            return new GZIPInputStream(body, 8192);
+        } catch (IOException e) {
+            throw new InvalidBatchPayloadException("Body is not gzip encoded: " + e.getMessage(), e);
+        }
+    }
+
+    private void validateHeader(PayrollBatchRequest header) {
+        if (!StringUtils.hasText(header.getBatchRefId())) {
+            throw new InvalidBatchPayloadException("Batch ID is required");
+        }
+        // payroll_batch.pay_period is NOT NULL, a missing period must be refused here rather than fail the insert
+        if (!StringUtils.hasText(header.getPayPeriod())) {
+            throw new InvalidBatchPayloadException("Pay period is required");
+        }
+        if (!header.getPayPeriod().matches(PAY_PERIOD_PATTERN)) {
+            throw new InvalidBatchPayloadException("Pay period must be YYYY-MM");
+        }
+        if (header.getTotalAmount() == null || header.getTotalAmount().compareTo(new BigDecimal("0.01")) < 0) {
+            throw new InvalidBatchPayloadException("Total amount must be greater than 0");
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.tw.coupang.one_payroll.integration.dto;
+
+import java.math.BigDecimal;
+
+// One employee's amounts in a batch, the batch's totalAmount is the sum of their net pay
+public record PayrollBatchLineItem(String employeeId,
+                                   BigDecimal grossPay,
+                                   BigDecimal taxDeduction,
+                                   BigDecimal benefitAddition,
+                                   BigDecimal netPay) {
+
+    // Other deductions are not itemised, so net pay may be below gross minus tax plus benefits but never above it
+    public boolean hasValidAmounts() {
+        return employeeId != null && grossPay != null && taxDeduction != null && benefitAddition != null
+                && netPay != null && grossPay.signum() >= 0 && taxDeduction.signum() >= 0
+                && benefitAddition.signum() >= 0 && netPay.signum() >= 0
+                && netPay.compareTo(grossPay.subtract(taxDeduction).add(benefitAddition)) <= 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.tw.coupang.one_payroll.integration.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass as {@code cursor} to fetch the next page, {@code null} on the last page
+ */
+public record PayrollBatchLogPageResponse(List<PayrollBatchLogResponse> logs, Long nextCursor) {
+}
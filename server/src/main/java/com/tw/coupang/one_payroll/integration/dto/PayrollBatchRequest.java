@@ -1,8 +1,10 @@
 package com.tw.coupang.one_payroll.integration.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -11,13 +13,25 @@ public class PayrollBatchRequest {
     @NotBlank(message = "Batch ID is required")
     private String batchRefId;
 
+    @NotBlank(message = "Pay period is required")
     @Pattern(regexp = "^\\d{4}-(0[1-9]|1[0-2])$", message = "Pay period must be YYYY-MM")
     private String payPeriod;
 
+    // Exact pay period of the runs, weekly and bi-weekly batches of one month share the same payPeriod label
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+
+    // Optional, set when every employee of the batch belongs to the same pay group
+    private Integer payGroupId;
+
     @NotEmpty(message = "Employee list cannot be empty")
     private List<String> employeeIds;
 
     @NotNull(message = "Total amount is required")
     @DecimalMin(value = "0.01", message = "Total amount must be greater than 0")
     private BigDecimal totalAmount;
+
+    // Only sent in the streamed line-item payload, see PayrollBatchPayloadCodec
+    @JsonIgnore
+    private List<PayrollBatchLineItem> lineItems;
 }
@@ -2,8 +2,10 @@ package com.tw.coupang.one_payroll.integration.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class PayrollBatchResponse {
     private String batchRefId;
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -17,5 +18,8 @@ public class PayrollBatchStatusResponse {
     private Integer numberOfEmployees;
     private LocalDateTime processedAt;
     private String logMessage;
+    // Tells apart the batches of one pay period label, e.g. the weeks of a month
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
 }
 
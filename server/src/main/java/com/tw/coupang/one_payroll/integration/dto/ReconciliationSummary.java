@@ -0,0 +1,5 @@
+package com.tw.coupang.one_payroll.integration.dto;
+
+public record ReconciliationSummary(String reconciliationId, String fromPeriod, String toPeriod,
+                                    long groupsCompared, long discrepancies) {
+}
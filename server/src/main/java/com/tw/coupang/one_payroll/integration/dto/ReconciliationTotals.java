@@ -0,0 +1,24 @@
+package com.tw.coupang.one_payroll.integration.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+// Totals of one exact pay period and pay group, payGroupKey is -1 for rows without a pay group. The dates are null
+// for batches submitted with only the YYYY-MM label
+public record ReconciliationTotals(String payPeriod, LocalDate payPeriodStart, LocalDate payPeriodEnd, int payGroupKey,
+                                   BigDecimal amount, long count) implements Comparable<ReconciliationTotals> {
+
+    // Must match the ORDER BY of both streams, pay periods are compared byte-wise like COLLATE "C" and null dates
+    // sort last like they do in PostgreSQL
+    private static final Comparator<ReconciliationTotals> KEY_ORDER = Comparator
+            .comparing(ReconciliationTotals::payPeriod)
+            .thenComparing(ReconciliationTotals::payPeriodStart, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ReconciliationTotals::payPeriodEnd, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(ReconciliationTotals::payGroupKey);
+
+    @Override
+    public int compareTo(ReconciliationTotals other) {
+        return KEY_ORDER.compare(this, other);
+    }
+}
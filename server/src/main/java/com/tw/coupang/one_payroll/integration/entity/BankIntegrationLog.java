@@ -0,0 +1,59 @@
+package com.tw.coupang.one_payroll.integration.entity;
+
+import com.tw.coupang.one_payroll.integration.enums.IntegrationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+
+import java.time.LocalDateTime;
+
+// Bank submission state of one payroll run, doubles as the durable retry schedule
+@Entity
+@Table(
+        name = "bank_integration_log",
+        uniqueConstraints = @UniqueConstraint(name = "uq_bank_integration_log_payroll", columnNames = "payroll_id")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankIntegrationLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "integration_id")
+    private Integer integrationId;
+
+    @Column(name = "payroll_id", nullable = false)
+    private Integer payrollId;
+
+    @Column(name = "employee_id", length = 10)
+    private String employeeId;
+
+    @Column(name = "batch_id", length = 50)
+    private String batchId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Column(name = "status", columnDefinition = "integration_status DEFAULT 'PENDING'")
+    private IntegrationStatus status;
+
+    @Column(name = "retry_count")
+    private int retryCount;
+
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
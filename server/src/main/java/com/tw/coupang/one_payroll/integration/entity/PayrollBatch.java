@@ -3,6 +3,7 @@ package com.tw.coupang.one_payroll.integration.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -20,12 +21,24 @@ public class PayrollBatch {
     private String batchRefId;
 
     private String payPeriod;
+    // Exact pay period, null for batches submitted without it
+    @Column(name = "pay_period_start")
+    private LocalDate payPeriodStart;
+    @Column(name = "pay_period_end")
+    private LocalDate payPeriodEnd;
+    @Column(name = "pay_group_id")
+    private Integer payGroupId;
     private BigDecimal totalAmount;
     private String status; // PENDING, SUCCESS, RETRY, FAILED
     @Column(name = "log_message")
     private String logMessage;
     @Column(name = "employee_count")
     private Integer employeeCount;
+    // Payment file a file-based transport produced for the batch, null for batches sent over HTTP
+    @Column(name = "file_name")
+    private String fileName;
+    @Column(name = "file_size")
+    private Long fileSize;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -5,7 +5,11 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payroll_batch_log")
+@Table(name = "payroll_batch_log",
+        indexes = {
+                @Index(name = "idx_payroll_batch_log_batch", columnList = "batch_ref_id, log_id"),
+                @Index(name = "idx_payroll_batch_log_employee", columnList = "employee_id, log_id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,59 @@
+package com.tw.coupang.one_payroll.integration.entity;
+
+import com.tw.coupang.one_payroll.integration.enums.DiscrepancyType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One pay period and pay group whose accepted batches and SUBMITTED runs disagree
+@Entity
+@Table(name = "reconciliation_discrepancy")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationDiscrepancy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "discrepancy_id")
+    private Long discrepancyId;
+
+    @Column(name = "reconciliation_id", nullable = false, length = 36)
+    private String reconciliationId;
+
+    @Column(name = "pay_period", nullable = false, length = 7)
+    private String payPeriod;
+
+    @Column(name = "pay_period_start")
+    private LocalDate payPeriodStart;
+
+    @Column(name = "pay_period_end")
+    private LocalDate payPeriodEnd;
+
+    @Column(name = "pay_group_id")
+    private Integer payGroupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "discrepancy_type", nullable = false, length = 20)
+    private DiscrepancyType discrepancyType;
+
+    @Column(name = "batch_total_amount", precision = 15, scale = 2)
+    private BigDecimal batchTotalAmount;
+
+    @Column(name = "batch_employee_count")
+    private Long batchEmployeeCount;
+
+    @Column(name = "submitted_net_pay", precision = 15, scale = 2)
+    private BigDecimal submittedNetPay;
+
+    @Column(name = "submitted_run_count")
+    private Long submittedRunCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.tw.coupang.one_payroll.integration.enums;
+
+public enum CircuitState {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+}
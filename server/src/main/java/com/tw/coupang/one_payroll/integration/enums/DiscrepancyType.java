@@ -0,0 +1,10 @@
+package com.tw.coupang.one_payroll.integration.enums;
+
+public enum DiscrepancyType {
+    // Accepted batches with no SUBMITTED runs behind them
+    MISSING_RUNS,
+    // SUBMITTED runs with no accepted batch
+    MISSING_BATCH,
+    // Both sides present, amount or employee count differ
+    TOTAL_MISMATCH
+}
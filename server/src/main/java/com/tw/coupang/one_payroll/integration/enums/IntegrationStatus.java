@@ -0,0 +1,9 @@
+package com.tw.coupang.one_payroll.integration.enums;
+
+public enum IntegrationStatus {
+    PENDING,        // Waiting to be sent, or a retry that is due
+    SUCCESS,        // Accepted by the bank
+    FAILED,         // Rejected by the bank, not sent again until the run is recalculated
+    RETRY,          // Temporary failure, sent again once next_retry_at has passed
+    DEAD_LETTER     // Gave up after the maximum number of attempts, needs manual follow-up
+}
@@ -0,0 +1,10 @@
+package com.tw.coupang.one_payroll.integration.enums;
+
+public enum LatencyDistribution {
+    // Always latency-ms
+    FIXED,
+    // Evenly spread between latency-ms and max-latency-ms
+    UNIFORM,
+    // Log-normal around a median of latency-ms, capped at max-latency-ms
+    LONG_TAIL
+}
@@ -0,0 +1,7 @@
+package com.tw.coupang.one_payroll.integration.event;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
+
+// Published when a batch reaches a new status, delivered to status stream subscribers after commit
+public record PayrollBatchStatusChangedEvent(String payPeriod, PayrollBatchStatusResponse status) {
+}
@@ -0,0 +1,8 @@
+package com.tw.coupang.one_payroll.integration.exception;
+
+public class BatchConflictException extends RuntimeException {
+    public BatchConflictException(String batchRefId) {
+        super("Batch ID " + batchRefId + " was already submitted with a different pay period, pay group, total or "
+                + "employee count.");
+    }
+}
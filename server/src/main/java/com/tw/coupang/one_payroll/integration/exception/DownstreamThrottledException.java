@@ -0,0 +1,13 @@
+package com.tw.coupang.one_payroll.integration.exception;
+
+import lombok.Getter;
+
+@Getter
+public class DownstreamThrottledException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public DownstreamThrottledException(long retryAfterSeconds) {
+        super("Too many batch submissions, retry after " + retryAfterSeconds + " seconds.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
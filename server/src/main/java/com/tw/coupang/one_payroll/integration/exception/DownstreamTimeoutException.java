@@ -0,0 +1,7 @@
+package com.tw.coupang.one_payroll.integration.exception;
+
+public class DownstreamTimeoutException extends RuntimeException {
+    public DownstreamTimeoutException(long elapsedMs) {
+        super("Simulated downstream timeout after " + elapsedMs + " ms.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.tw.coupang.one_payroll.integration.exception;
+
+public class InvalidBatchPayloadException extends RuntimeException {
+    public InvalidBatchPayloadException(String message) {
+        super(message);
+    }
+
+    public InvalidBatchPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
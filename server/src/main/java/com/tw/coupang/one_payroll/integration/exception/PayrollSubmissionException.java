@@ -0,0 +1,11 @@
+package com.tw.coupang.one_payroll.integration.exception;
+
+public class PayrollSubmissionException extends RuntimeException {
+    public PayrollSubmissionException(String message) {
+        super(message);
+    }
+
+    public PayrollSubmissionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.tw.coupang.one_payroll.integration.repository;
+
+import com.tw.coupang.one_payroll.integration.entity.BankIntegrationLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BankIntegrationLogRepository extends JpaRepository<BankIntegrationLog, Integer> {
+
+    List<BankIntegrationLog> findByPayrollIdIn(Collection<Integer> payrollIds);
+
+    /**
+     * Moves up to {@code limit} retries whose backoff has passed back to PENDING, which makes their payroll runs
+     * claimable by the submission scheduler again. Served by the partial index idx_bank_integration_log_due, and
+     * rows another node is releasing are skipped.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+    UPDATE bank_integration_log
+    SET status = 'PENDING',
+        updated_at = now()
+    WHERE integration_id IN (
+        SELECT integration_id FROM bank_integration_log
+        WHERE status = 'RETRY'
+          AND next_retry_at <= now()
+        ORDER BY next_retry_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED)
+    """, nativeQuery = true)
+    int releaseDueRetries(@Param("limit") int limit);
+}
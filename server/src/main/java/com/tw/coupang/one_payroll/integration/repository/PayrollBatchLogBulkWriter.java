@@ -0,0 +1,70 @@
+package com.tw.coupang.one_payroll.integration.repository;
+
+import com.tw.coupang.one_payroll.integration.entity.PayrollBatchLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes batch log rows with multi-row INSERT statements of up to {@code flush-size} rows each.
+ * PayrollBatchLog ids are IDENTITY generated, so saveAll() would issue one INSERT per employee.
+ */
+@Slf4j
+@Repository
+public class PayrollBatchLogBulkWriter {
+
+    private static final int COLUMNS_PER_ROW = 5;
+    // PostgreSQL accepts at most 65535 bind parameters per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 65535 / COLUMNS_PER_ROW;
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO payroll_batch_log (batch_ref_id, employee_id, status, timestamp, log_message)
+            VALUES
+            """;
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int flushSize;
+
+    public PayrollBatchLogBulkWriter(JdbcTemplate jdbcTemplate,
+                                     @Value("${integration.payroll.batch-log.flush-size:1000}") int flushSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushSize = Math.max(1, Math.min(flushSize, MAX_ROWS_PER_STATEMENT));
+    }
+
+    // Rows per INSERT, callers producing rows incrementally can buffer this many before each insert
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public int insert(List<PayrollBatchLog> logs) {
+        int inserted = 0;
+        for (int from = 0; from < logs.size(); from += flushSize) {
+            inserted += insertChunk(logs.subList(from, Math.min(from + flushSize, logs.size())));
+        }
+        log.debug("Inserted {} payroll batch log rows", inserted);
+        return inserted;
+    }
+
+    private int insertChunk(List<PayrollBatchLog> chunk) {
+        final String sql = INSERT_PREFIX + String.join(",\n", Collections.nCopies(chunk.size(), ROW_PLACEHOLDERS));
+        return jdbcTemplate.update(sql, ps -> bindRows(ps, chunk));
+    }
+
+    private void bindRows(PreparedStatement ps, List<PayrollBatchLog> chunk) throws SQLException {
+        int index = 1;
+        for (PayrollBatchLog batchLog : chunk) {
+            ps.setString(index++, batchLog.getBatchRefId());
+            ps.setString(index++, batchLog.getEmployeeId());
+            ps.setString(index++, batchLog.getStatus());
+            ps.setObject(index++, batchLog.getTimestamp());
+            ps.setString(index++, batchLog.getLogMessage());
+        }
+    }
+}
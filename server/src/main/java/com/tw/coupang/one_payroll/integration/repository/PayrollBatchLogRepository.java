@@ -4,8 +4,13 @@ import com.tw.coupang.one_payroll.integration.entity.PayrollBatchLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface PayrollBatchLogRepository extends JpaRepository<PayrollBatchLog, Long> {
 
@@ -14,4 +19,49 @@ public interface PayrollBatchLogRepository extends JpaRepository<PayrollBatchLog
     Page<PayrollBatchLog> findByEmployeeId(String employeeId, Pageable pageable);
 
     Page<PayrollBatchLog> findByBatchRefIdAndEmployeeId(String batchRefId, String employeeId, Pageable pageable);
-}
\ No newline at end of file
+
+    // Keyset pages ordered by logId, served by the (batch_ref_id, log_id) and (employee_id, log_id) indexes
+    @Query("""
+    SELECT l FROM PayrollBatchLog l
+    WHERE l.batchRefId = :batchRefId
+      AND l.logId > :afterLogId
+    ORDER BY l.logId
+    """)
+    List<PayrollBatchLog> findPageByBatchRefId(@Param("batchRefId") String batchRefId,
+                                               @Param("afterLogId") long afterLogId,
+                                               Pageable pageable);
+
+    @Query("""
+    SELECT l FROM PayrollBatchLog l
+    WHERE l.employeeId = :employeeId
+      AND l.logId > :afterLogId
+    ORDER BY l.logId
+    """)
+    List<PayrollBatchLog> findPageByEmployeeId(@Param("employeeId") String employeeId,
+                                               @Param("afterLogId") long afterLogId,
+                                               Pageable pageable);
+
+    @Query("""
+    SELECT l FROM PayrollBatchLog l
+    WHERE l.batchRefId = :batchRefId
+      AND l.employeeId = :employeeId
+      AND l.logId > :afterLogId
+    ORDER BY l.logId
+    """)
+    List<PayrollBatchLog> findPageByBatchRefIdAndEmployeeId(@Param("batchRefId") String batchRefId,
+                                                            @Param("employeeId") String employeeId,
+                                                            @Param("afterLogId") long afterLogId,
+                                                            Pageable pageable);
+
+    // Rows that already have the status keep their own message
+    @Modifying
+    @Query("""
+    UPDATE PayrollBatchLog l
+    SET l.status = :status, l.logMessage = :logMessage
+    WHERE l.batchRefId = :batchRefId
+      AND l.status <> :status
+    """)
+    int updateStatusByBatchRefId(@Param("batchRefId") String batchRefId,
+                                 @Param("status") String status,
+                                 @Param("logMessage") String logMessage);
+}
@@ -2,12 +2,79 @@ package com.tw.coupang.one_payroll.integration.repository;
 
 import com.tw.coupang.one_payroll.integration.entity.PayrollBatch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PayrollBatchRepository extends JpaRepository<PayrollBatch, Long> {
     boolean existsByBatchRefId(String batchId);
     Optional<PayrollBatch> findByBatchRefId(String batchRefId);
-}
\ No newline at end of file
+
+    // Version of a batch for conditional GETs, reads one column instead of the whole row
+    @Query("SELECT b.updatedAt FROM PayrollBatch b WHERE b.batchRefId = :batchRefId")
+    Optional<LocalDateTime> findUpdatedAtByBatchRefId(@Param("batchRefId") String batchRefId);
+
+    /**
+     * Creates the PENDING batch unless its batch_ref_id is already taken and returns the new id, empty for a
+     * duplicate. A concurrent insert of the same id waits for the first transaction instead of failing.
+     */
+    @Query(value = """
+    INSERT INTO payroll_batch (batch_ref_id, pay_period, pay_period_start, pay_period_end, pay_group_id, total_amount,
+                               status, created_at, updated_at)
+    VALUES (:batchRefId, :payPeriod, :payPeriodStart, :payPeriodEnd, :payGroupId, :totalAmount, 'PENDING', now(), now())
+    ON CONFLICT (batch_ref_id) DO NOTHING
+    RETURNING id
+    """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("batchRefId") String batchRefId,
+                                  @Param("payPeriod") String payPeriod,
+                                  @Param("payPeriodStart") LocalDate payPeriodStart,
+                                  @Param("payPeriodEnd") LocalDate payPeriodEnd,
+                                  @Param("payGroupId") Integer payGroupId,
+                                  @Param("totalAmount") BigDecimal totalAmount);
+
+    @Modifying
+    @Query("""
+    UPDATE PayrollBatch b
+    SET b.status = :status,
+        b.logMessage = :logMessage,
+        b.employeeCount = :employeeCount,
+        b.updatedAt = CURRENT_TIMESTAMP
+    WHERE b.id = :id
+    """)
+    int completeBatch(@Param("id") Long id,
+                      @Param("status") String status,
+                      @Param("logMessage") String logMessage,
+                      @Param("employeeCount") Integer employeeCount);
+
+    // Batches handed over as a payment file are accepted once the file is in place, there is no downstream answer
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT INTO payroll_batch (batch_ref_id, pay_period, pay_period_start, pay_period_end, pay_group_id, total_amount,
+                               status, log_message, employee_count, file_name, file_size, created_at, updated_at)
+    VALUES (:batchRefId, :payPeriod, :payPeriodStart, :payPeriodEnd, :payGroupId, :totalAmount, 'SUCCESS', :logMessage,
+            :employeeCount, :fileName, :fileSize, now(), now())
+    ON CONFLICT (batch_ref_id) DO UPDATE
+    SET file_name = EXCLUDED.file_name,
+        file_size = EXCLUDED.file_size,
+        updated_at = now()
+    """, nativeQuery = true)
+    int recordExportedFile(@Param("batchRefId") String batchRefId,
+                           @Param("payPeriod") String payPeriod,
+                           @Param("payPeriodStart") LocalDate payPeriodStart,
+                           @Param("payPeriodEnd") LocalDate payPeriodEnd,
+                           @Param("payGroupId") Integer payGroupId,
+                           @Param("totalAmount") BigDecimal totalAmount,
+                           @Param("logMessage") String logMessage,
+                           @Param("employeeCount") Integer employeeCount,
+                           @Param("fileName") String fileName,
+                           @Param("fileSize") Long fileSize);
+}
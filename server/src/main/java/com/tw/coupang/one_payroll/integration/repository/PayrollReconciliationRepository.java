@@ -0,0 +1,98 @@
+package com.tw.coupang.one_payroll.integration.repository;
+
+import com.tw.coupang.one_payroll.integration.dto.ReconciliationTotals;
+import com.tw.coupang.one_payroll.integration.entity.ReconciliationDiscrepancy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams per exact pay period and pay group totals of both sides of the reconciliation. Results are read through a
+ * server-side cursor {@code fetch-size} rows at a time, which PostgreSQL only does inside a transaction, so callers
+ * must consume the streams within one and close them.
+ */
+@Repository
+public class PayrollReconciliationRepository {
+
+    private static final String BATCH_TOTALS = """
+            SELECT pay_period COLLATE "C" AS pay_period, pay_period_start, pay_period_end,
+                   COALESCE(pay_group_id, -1) AS pay_group_key,
+                   SUM(total_amount) AS amount, SUM(employee_count) AS count
+            FROM payroll_batch
+            WHERE status = 'SUCCESS'
+              AND pay_period BETWEEN ? AND ?
+            GROUP BY pay_period, pay_period_start, pay_period_end, COALESCE(pay_group_id, -1)
+            ORDER BY pay_period, pay_period_start, pay_period_end, pay_group_key
+            """;
+
+    private static final String SUBMITTED_RUN_TOTALS = """
+            SELECT TO_CHAR(pay_period_end, 'YYYY-MM') COLLATE "C" AS pay_period, pay_period_start, pay_period_end,
+                   COALESCE(pay_group_id, -1) AS pay_group_key,
+                   SUM(net_pay) AS amount, COUNT(*) AS count
+            FROM payroll_run
+            WHERE status = 'SUBMITTED'
+              AND pay_period_end >= TO_DATE(?, 'YYYY-MM')
+              AND pay_period_end < TO_DATE(?, 'YYYY-MM') + INTERVAL '1 month'
+            GROUP BY TO_CHAR(pay_period_end, 'YYYY-MM'), pay_period_start, pay_period_end, COALESCE(pay_group_id, -1)
+            ORDER BY pay_period, pay_period_start, pay_period_end, pay_group_key
+            """;
+
+    private static final String INSERT_DISCREPANCY = """
+            INSERT INTO reconciliation_discrepancy (reconciliation_id, pay_period, pay_period_start, pay_period_end,
+                pay_group_id, discrepancy_type, batch_total_amount, batch_employee_count, submitted_net_pay,
+                submitted_run_count, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now())
+            """;
+
+    // Arbitrary key shared by every node, only one reconciliation holds it at a time
+    private static final long RECONCILIATION_LOCK_KEY = 0x7265636f6eL;
+
+    private static final RowMapper<ReconciliationTotals> TOTALS_MAPPER = (rs, rowNum) -> new ReconciliationTotals(
+            rs.getString("pay_period"), rs.getObject("pay_period_start", LocalDate.class),
+            rs.getObject("pay_period_end", LocalDate.class), rs.getInt("pay_group_key"), rs.getBigDecimal("amount"),
+            rs.getLong("count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayrollReconciliationRepository(DataSource dataSource,
+                                           @Value("${integration.reconciliation.fetch-size:500}") int fetchSize) {
+        // Own template, the fetch size applies to every statement it runs
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    // Transaction scoped advisory lock, released on commit or rollback, so a crashed node never keeps it
+    public boolean tryLockReconciliation() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                RECONCILIATION_LOCK_KEY));
+    }
+
+    public Stream<ReconciliationTotals> streamAcceptedBatchTotals(String fromPeriod, String toPeriod) {
+        return jdbcTemplate.queryForStream(BATCH_TOTALS, TOTALS_MAPPER, fromPeriod, toPeriod);
+    }
+
+    public Stream<ReconciliationTotals> streamSubmittedRunTotals(String fromPeriod, String toPeriod) {
+        return jdbcTemplate.queryForStream(SUBMITTED_RUN_TOTALS, TOTALS_MAPPER, fromPeriod, toPeriod);
+    }
+
+    public void insertDiscrepancies(List<ReconciliationDiscrepancy> discrepancies) {
+        jdbcTemplate.batchUpdate(INSERT_DISCREPANCY, discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+            ps.setString(1, discrepancy.getReconciliationId());
+            ps.setString(2, discrepancy.getPayPeriod());
+            ps.setObject(3, discrepancy.getPayPeriodStart());
+            ps.setObject(4, discrepancy.getPayPeriodEnd());
+            ps.setObject(5, discrepancy.getPayGroupId());
+            ps.setString(6, discrepancy.getDiscrepancyType().name());
+            ps.setBigDecimal(7, discrepancy.getBatchTotalAmount());
+            ps.setObject(8, discrepancy.getBatchEmployeeCount());
+            ps.setBigDecimal(9, discrepancy.getSubmittedNetPay());
+            ps.setObject(10, discrepancy.getSubmittedRunCount());
+        });
+    }
+}
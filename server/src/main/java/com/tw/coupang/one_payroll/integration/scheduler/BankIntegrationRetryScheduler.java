@@ -0,0 +1,26 @@
+package com.tw.coupang.one_payroll.integration.scheduler;
+
+import com.tw.coupang.one_payroll.integration.service.BankIntegrationRetryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class BankIntegrationRetryScheduler {
+
+    private final BankIntegrationRetryService bankIntegrationRetryService;
+
+    public BankIntegrationRetryScheduler(BankIntegrationRetryService bankIntegrationRetryService) {
+        this.bankIntegrationRetryService = bankIntegrationRetryService;
+    }
+
+    // Due retries go back to PENDING, the submission scheduler then claims and sends them with the other runs
+    @Scheduled(fixedDelayString = "${integration.payroll.retry.poll-interval-ms:15000}")
+    public void releaseDueRetries() {
+        int released = bankIntegrationRetryService.releaseDueRetries();
+        if (released > 0) {
+            log.info("Released {} payroll records whose retry backoff has passed.", released);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.tw.coupang.one_payroll.integration.scheduler;
+
+import com.tw.coupang.one_payroll.integration.service.PayrollReconciliationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+public class PayrollReconciliationScheduler {
+
+    private final PayrollReconciliationService reconciliationService;
+
+    @Value("${integration.reconciliation.months:12}")
+    private int months = 12;
+
+    public PayrollReconciliationScheduler(PayrollReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    // Re-checks the trailing months every night, late responses can still change recent periods
+    @Scheduled(cron = "${integration.reconciliation.cron:0 30 2 * * *}")
+    public void reconcileRecentPeriods() {
+        YearMonth to = YearMonth.now();
+        reconciliationService.reconcile(to.minusMonths(months - 1L), to);
+    }
+}
@@ -1,81 +1,266 @@
 package com.tw.coupang.one_payroll.integration.scheduler;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
 import com.tw.coupang.one_payroll.integration.service.MockIntegrationService;
+import com.tw.coupang.one_payroll.integration.transport.PayrollSubmissionTransport;
 import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
-import com.tw.coupang.one_payroll.payroll.enums.PayrollStatus;
+import com.tw.coupang.one_payroll.payroll.event.PayrollRunsEnqueuedEvent;
 import com.tw.coupang.one_payroll.payroll.repository.PayrollRunRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.event.TransactionalEventListener;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-public class PayrollSubmissionScheduler {
+public class PayrollSubmissionScheduler implements SchedulingConfigurer {
 
     private PayrollRunRepository payrollRunRepository;
-    private RestTemplate restTemplate;
+    private PayrollSubmissionTransport submissionTransport;
     private MockIntegrationService mockIntegrationService;
+    // Drains run here instead of on the shared scheduler thread, a long drain must not hold up the other schedules
+    private Executor drainExecutor;
 
-    @Value("${integration.payroll.submit-url}")
-    private String mockApiUrl;
+    @Value("${integration.payroll.claim-size:500}")
+    private int claimSize = 500;
 
-    public PayrollSubmissionScheduler(PayrollRunRepository payrollRunRepository, RestTemplate restTemplate, MockIntegrationService mockIntegrationService) {
+    @Value("${integration.payroll.claim-lease-seconds:300}")
+    private long claimLeaseSeconds = 300;
+
+    @Value("${integration.payroll.batch-max-size:100}")
+    private int batchMaxSize = 100;
+
+    // Sends every run's amounts so the downstream can check them, instead of only employee ids and a total
+    @Value("${integration.payroll.payload.line-items:true}")
+    private boolean sendLineItems = true;
+
+    @Value("${integration.payroll.poll.min-interval-ms:5000}")
+    private long minPollIntervalMs = 5000;
+
+    @Value("${integration.payroll.poll.max-interval-ms:300000}")
+    private long maxPollIntervalMs = 300000;
+
+    // Delay before the next safety-net poll, short while polls find work and doubling while they find none
+    private volatile long pollIntervalMs = 5000;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    // Identifies this node's claims, unique per process so a restarted node never reuses an old lease
+    private final String nodeId = "node-" + UUID.randomUUID();
+
+    @Autowired
+    public PayrollSubmissionScheduler(PayrollRunRepository payrollRunRepository, PayrollSubmissionTransport submissionTransport,
+                                      MockIntegrationService mockIntegrationService) {
+        // One thread is enough, a node never runs two drains at once
+        this(payrollRunRepository, submissionTransport, mockIntegrationService,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("payroll-submission-")));
+    }
+
+    PayrollSubmissionScheduler(PayrollRunRepository payrollRunRepository, PayrollSubmissionTransport submissionTransport,
+                               MockIntegrationService mockIntegrationService, Executor drainExecutor) {
         this.payrollRunRepository = payrollRunRepository;
-        this.restTemplate = restTemplate;
+        this.submissionTransport = submissionTransport;
         this.mockIntegrationService = mockIntegrationService;
+        this.drainExecutor = drainExecutor;
+    }
+
+    // Polling is only the safety net for runs whose event was missed, e.g. enqueued by another node or left by a
+    // failed submission, so its delay follows what the previous poll found instead of a fixed rate.
+    // The trigger task only hands the drain over, so the delay counts from when the previous poll was requested
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        pollIntervalMs = minPollIntervalMs;
+        registrar.addTriggerTask(this::requestDrain, context -> {
+            Instant lastCompletion = context.lastCompletion();
+            return (lastCompletion == null ? Instant.now() : lastCompletion).plusMillis(pollIntervalMs);
+        });
+    }
+
+    // Starts submitting as soon as calculated runs commit, a burst of commits is coalesced into one wake-up
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRunsEnqueued(PayrollRunsEnqueuedEvent event) {
+        requestDrain();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (drainExecutor instanceof ExecutorService executorService) {
+            // Runs claimed by an interrupted drain are claimed again once their lease expires
+            executorService.shutdownNow();
+        }
+    }
+
+    // At most one drain waits in the executor, requests arriving meanwhile are served by that one
+    void requestDrain() {
+        if (drainQueued.compareAndSet(false, true)) {
+            drainExecutor.execute(() -> {
+                drainQueued.set(false);
+                submitPendingBatches();
+            });
+        }
     }
 
-    // Runs every minute for the PoC to demonstrate the flow
-    @Scheduled(fixedDelay = 60000)
     public void submitPendingBatches() {
+        // A request arriving while this node is already draining makes that drain go round once more
+        drainRequested.set(true);
+        while (drainRequested.get() && draining.compareAndSet(false, true)) {
+            try {
+                drainRequested.set(false);
+                adaptPollInterval(drainOutbox());
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    private void adaptPollInterval(boolean backlogSeen) {
+        pollIntervalMs = backlogSeen ? minPollIntervalMs : Math.min(pollIntervalMs * 2, maxPollIntervalMs);
+    }
+
+    // Returns whether the outbox had work, either claimed now or left queued because the downstream is suspended
+    private boolean drainOutbox() {
         log.info("Checking for pending payroll records...");
 
-        // 1. Fetch Chunk as bulk rows of 100
-        List<PayrollRun> pendingRuns = payrollRunRepository.findTop5ByStatusNot(PayrollStatus.SUBMITTED);
+        // Every node claims disjoint chunks until nothing is left, so more nodes drain the backlog faster.
+        // Batches are sent asynchronously, the next chunk is claimed and serialized while earlier ones are in flight.
+        int submitted = 0;
+        boolean suspended = false;
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        List<PayrollRun> claimedRuns = List.of();
+        do {
+            // Nothing is claimed while the downstream is failing, the runs stay free for a later poll or another node
+            if (!submissionTransport.acceptsSubmissions()) {
+                log.warn("Downstream submissions are suspended by the circuit breaker, stopping this poll.");
+                suspended = true;
+                break;
+            }
+            // 1. Claim the oldest outbox entries no other node is working on
+            claimedRuns = payrollRunRepository.claimPendingRuns(nodeId, claimLeaseSeconds, claimSize);
+            if (!claimedRuns.isEmpty()) {
+                inFlight.removeIf(CompletableFuture::isDone);
+                submitClaimedRuns(claimedRuns, inFlight);
+                submitted += claimedRuns.size();
+            }
+        } while (claimedRuns.size() == claimSize);
+
+        // The next poll starts only after every response of this one has been recorded
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
 
-        if (pendingRuns.isEmpty()) {
+        if (submitted == 0) {
             log.info("No pending payroll records found.");
-            return;
+        } else {
+            log.info("Node {} submitted {} claimed records.", nodeId, submitted);
         }
+        return submitted > 0 || suspended;
+    }
 
-        log.info("Found {} records. Preparing batch...", pendingRuns.size());
+    private void submitClaimedRuns(List<PayrollRun> claimedRuns, List<CompletableFuture<Void>> inFlight) {
+        // 2. One batch per pay period and pay group, so every batch carries the right period label
+        List<List<PayrollRun>> batches = partition(claimedRuns);
+        log.info("Claimed {} records. Submitting {} batches...", claimedRuns.size(), batches.size());
 
-        try {
-            // 2. Aggregate Data into Request DTO
-            PayrollBatchRequest batchRequest = createBatchRequest(pendingRuns);
+        for (List<PayrollRun> batch : batches) {
+            inFlight.add(submitBatch(batch));
+        }
+    }
 
-            // 3. Call the Mock API
-            log.info("Sending Batch ID: {} to Mock SAP...", batchRequest.getBatchRefId());
-            PayrollBatchResponse response = restTemplate.postForObject(mockApiUrl, batchRequest, PayrollBatchResponse.class);
+    private CompletableFuture<Void> submitBatch(List<PayrollRun> runs) {
+        // 3. Aggregate Data into Request DTO
+        PayrollBatchRequest batchRequest = createBatchRequest(runs);
 
-            // 4. Update Local Database based on Response
-            if (response != null) {
-                log.info("Response received: Status={}, Message={}", response.getStatus(), response.getErrorMessage());
-                mockIntegrationService.updateLocalRecords(pendingRuns, response.getStatus());
+        // 4. Call the Mock API
+        log.info("Sending Batch ID: {} ({} records, period {}, pay group {}) to Mock SAP...",
+                batchRequest.getBatchRefId(), runs.size(), batchRequest.getPayPeriod(), batchRequest.getPayGroupId());
+        CompletableFuture<PayrollBatchResponse> response;
+        try {
+            response = submissionTransport.submit(batchRequest);
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        // 5. Update Local Database based on Response
+        return response.handle((batchResponse, error) -> {
+            if (error != null) {
+                // Retried after a backoff like a RETRY answer, and dead-lettered once the attempts run out
+                log.error("Failed to submit batch {}: {}", batchRequest.getBatchRefId(), error.getMessage());
+                try {
+                    mockIntegrationService.recordSubmissionError(runs, batchRequest.getBatchRefId(),
+                            error.getMessage(), nodeId);
+                } catch (Exception e) {
+                    // The claim then holds until its lease expires
+                    log.error("Failed to record failure of batch {}: {}", batchRequest.getBatchRefId(), e.getMessage());
+                }
+            } else if (batchResponse != null) {
+                log.info("Response received for Batch ID: {}: Status={}, Message={}",
+                        batchRequest.getBatchRefId(), batchResponse.getStatus(), batchResponse.getErrorMessage());
+                try {
+                    mockIntegrationService.updateLocalRecords(runs, batchResponse, nodeId);
+                } catch (Exception e) {
+                    log.error("Failed to record response of batch {}: {}", batchRequest.getBatchRefId(), e.getMessage());
+                }
             }
+            return null;
+        });
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to submit batch: {}", e.getMessage());
+    private List<List<PayrollRun>> partition(List<PayrollRun> runs) {
+        Map<BatchKey, List<PayrollRun>> byPeriodAndPayGroup = runs.stream()
+                .collect(Collectors.groupingBy(
+                        run -> new BatchKey(run.getPayPeriodStart(), run.getPayPeriodEnd(), run.getPayGroupId()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<List<PayrollRun>> batches = new ArrayList<>();
+        for (List<PayrollRun> group : byPeriodAndPayGroup.values()) {
+            for (int from = 0; from < group.size(); from += batchMaxSize) {
+                batches.add(group.subList(from, Math.min(from + batchMaxSize, group.size())));
+            }
         }
+        return batches;
     }
 
     private PayrollBatchRequest createBatchRequest(List<PayrollRun> runs) {
         PayrollBatchRequest request = new PayrollBatchRequest();
 
-        // Generate a unique Batch ID
-        request.setBatchRefId("BATCH-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setBatchRefId(batchRefId(runs));
 
-        // Derive Pay Period from the first record and Format YYYY-MM
+        // All runs of a batch share pay period and pay group. The YYYY-MM label can be shared by several periods,
+        // e.g. the weeks of a month, so the exact period goes along with it
         String payPeriod = runs.get(0).getPayPeriodEnd().format(DateTimeFormatter.ofPattern("yyyy-MM"));
         request.setPayPeriod(payPeriod);
+        request.setPayPeriodStart(runs.get(0).getPayPeriodStart());
+        request.setPayPeriodEnd(runs.get(0).getPayPeriodEnd());
+        request.setPayGroupId(runs.get(0).getPayGroupId());
 
         // Map Employee IDs
         List<String> employeeIds = runs.stream()
@@ -89,6 +274,43 @@ public class PayrollSubmissionScheduler {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         request.setTotalAmount(totalAmount);
 
+        if (sendLineItems) {
+            // A view over the claimed runs, each line is only built when the payload encoder gets to it
+            request.setLineItems(new AbstractList<>() {
+                @Override
+                public PayrollBatchLineItem get(int index) {
+                    PayrollRun run = runs.get(index);
+                    return new PayrollBatchLineItem(run.getEmployeeId(), run.getGrossPay(), run.getTaxDeduction(),
+                            run.getBenefitAddition(), run.getNetPay());
+                }
+
+                @Override
+                public int size() {
+                    return runs.size();
+                }
+            });
+        }
+
         return request;
     }
+
+    // Derived from the runs and what they were calculated from, so resending the same runs after a lost answer or a
+    // RETRY reuses the ref id and the downstream or the payment file recognises the batch instead of paying it twice.
+    // A recalculation that changes any of the runs gets a new ref id
+    private String batchRefId(List<PayrollRun> runs) {
+        StringBuilder key = new StringBuilder();
+        runs.stream()
+                .sorted(Comparator.comparing(PayrollRun::getPayrollId))
+                .forEach(run -> key.append(run.getPayrollId()).append(',')
+                        .append(run.getPayPeriodStart()).append(',').append(run.getPayPeriodEnd()).append(',')
+                        .append(run.getPayGroupId()).append(',').append(run.getGrossPay()).append(',')
+                        .append(run.getTaxDeduction()).append(',').append(run.getBenefitAddition()).append(',')
+                        .append(run.getNetPay()).append(',').append(run.getPayGroupRatesVersion()).append(',')
+                        .append(run.getEmployeeUpdatedAt()).append(',').append(run.getTimesheetUpdatedAt())
+                        .append('\n'));
+        return "BATCH-" + UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record BatchKey(LocalDate payPeriodStart, LocalDate payPeriodEnd, Integer payGroupId) {
+    }
 }
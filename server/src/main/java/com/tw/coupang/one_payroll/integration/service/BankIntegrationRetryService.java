@@ -0,0 +1,128 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.entity.BankIntegrationLog;
+import com.tw.coupang.one_payroll.integration.enums.IntegrationStatus;
+import com.tw.coupang.one_payroll.integration.repository.BankIntegrationLogRepository;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the bank submission state of each payroll run in bank_integration_log. A RETRY outcome schedules the run
+ * again after a jittered exponential backoff, and after the maximum number of attempts the run is dead-lettered.
+ * Runs with a pending retry or in the dead letter state are not claimed for submission.
+ */
+@Slf4j
+@Service
+public class BankIntegrationRetryService {
+
+    private static final int BATCH_ID_LENGTH = 50;
+    private static final int MESSAGE_LENGTH = 255;
+
+    private final BankIntegrationLogRepository bankIntegrationLogRepository;
+
+    @Value("${integration.payroll.retry.base-delay-seconds:30}")
+    private long baseDelaySeconds = 30;
+
+    @Value("${integration.payroll.retry.max-delay-seconds:3600}")
+    private long maxDelaySeconds = 3600;
+
+    @Value("${integration.payroll.retry.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${integration.payroll.retry.release-batch-size:500}")
+    private int releaseBatchSize = 500;
+
+    public BankIntegrationRetryService(BankIntegrationLogRepository bankIntegrationLogRepository) {
+        this.bankIntegrationLogRepository = bankIntegrationLogRepository;
+    }
+
+    @Transactional
+    public void scheduleRetry(List<PayrollRun> runs, String batchRefId, String message) {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<BankIntegrationLog> logs = loadOrCreateLogs(runs, batchRefId, message);
+        int deadLettered = 0;
+        for (BankIntegrationLog integrationLog : logs) {
+            final int attempt = integrationLog.getRetryCount() + 1;
+            integrationLog.setRetryCount(attempt);
+            if (attempt >= maxAttempts) {
+                integrationLog.setStatus(IntegrationStatus.DEAD_LETTER);
+                integrationLog.setNextRetryAt(null);
+                deadLettered++;
+            } else {
+                integrationLog.setStatus(IntegrationStatus.RETRY);
+                integrationLog.setNextRetryAt(now.plus(backoff(attempt)));
+            }
+        }
+        bankIntegrationLogRepository.saveAll(logs);
+
+        log.info("Scheduled {} records of batch {} for retry, {} moved to dead letter after {} attempts",
+                logs.size() - deadLettered, batchRefId, deadLettered, maxAttempts);
+    }
+
+    @Transactional
+    public void recordOutcome(List<PayrollRun> runs, String batchRefId, IntegrationStatus status, String message) {
+        final List<BankIntegrationLog> logs = loadOrCreateLogs(runs, batchRefId, message);
+        logs.forEach(integrationLog -> {
+            integrationLog.setStatus(status);
+            integrationLog.setNextRetryAt(null);
+        });
+        bankIntegrationLogRepository.saveAll(logs);
+    }
+
+    // Called by the retry scheduler, returns how many runs became claimable again
+    public int releaseDueRetries() {
+        int released = 0;
+        int chunk;
+        do {
+            chunk = bankIntegrationLogRepository.releaseDueRetries(releaseBatchSize);
+            released += chunk;
+        } while (chunk == releaseBatchSize);
+        return released;
+    }
+
+    /**
+     * Exponential delay for the given attempt (1-based), capped at the maximum delay. The actual delay is drawn
+     * between half and all of it, so runs that failed together do not all come back at the same moment.
+     */
+    Duration backoff(int attempt) {
+        final int doublings = Math.min(attempt - 1, 30);
+        final long exponential = Math.min(maxDelaySeconds, baseDelaySeconds << doublings);
+        final long half = exponential / 2;
+        return Duration.ofSeconds(half + ThreadLocalRandom.current().nextLong(exponential - half + 1));
+    }
+
+    private List<BankIntegrationLog> loadOrCreateLogs(List<PayrollRun> runs, String batchRefId, String message) {
+        final Map<Integer, BankIntegrationLog> existing = bankIntegrationLogRepository
+                .findByPayrollIdIn(runs.stream().map(PayrollRun::getPayrollId).toList())
+                .stream()
+                .collect(Collectors.toMap(BankIntegrationLog::getPayrollId, Function.identity()));
+
+        return runs.stream()
+                .map(run -> {
+                    final BankIntegrationLog integrationLog = existing.getOrDefault(run.getPayrollId(),
+                            BankIntegrationLog.builder()
+                                    .payrollId(run.getPayrollId())
+                                    .employeeId(run.getEmployeeId())
+                                    .build());
+                    integrationLog.setBatchId(truncate(batchRefId, BATCH_ID_LENGTH));
+                    integrationLog.setMessage(truncate(message, MESSAGE_LENGTH));
+                    return integrationLog;
+                })
+                .toList();
+    }
+
+    private String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+}
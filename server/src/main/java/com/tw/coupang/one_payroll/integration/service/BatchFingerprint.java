@@ -0,0 +1,42 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.entity.PayrollBatch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * What a batch ref id was first submitted with. A resubmission is only a duplicate when its fingerprint matches,
+ * otherwise two different batches happen to share a ref id.
+ */
+record BatchFingerprint(String payPeriod, LocalDate payPeriodStart, LocalDate payPeriodEnd, Integer payGroupId,
+                        BigDecimal totalAmount, Integer employeeCount) {
+
+    static BatchFingerprint of(PayrollBatchRequest request) {
+        // Streamed line-item batches only know their employee count once every line has been read
+        final Integer employeeCount = request.getEmployeeIds() == null ? null : request.getEmployeeIds().size();
+        return new BatchFingerprint(request.getPayPeriod(), request.getPayPeriodStart(), request.getPayPeriodEnd(),
+                request.getPayGroupId(), request.getTotalAmount(), employeeCount);
+    }
+
+    static BatchFingerprint of(PayrollBatch batch) {
+        return new BatchFingerprint(batch.getPayPeriod(), batch.getPayPeriodStart(), batch.getPayPeriodEnd(),
+                batch.getPayGroupId(), batch.getTotalAmount(), batch.getEmployeeCount());
+    }
+
+    boolean matches(BatchFingerprint other) {
+        return Objects.equals(payPeriod, other.payPeriod)
+                && Objects.equals(payPeriodStart, other.payPeriodStart)
+                && Objects.equals(payPeriodEnd, other.payPeriodEnd)
+                && Objects.equals(payGroupId, other.payGroupId)
+                && sameAmount(totalAmount, other.totalAmount)
+                && (employeeCount == null || other.employeeCount == null || employeeCount.equals(other.employeeCount));
+    }
+
+    // Stored amounts come back with the column's scale, so 5000 and 5000.00 are the same total
+    private static boolean sameAmount(BigDecimal left, BigDecimal right) {
+        return left == null ? right == null : right != null && left.compareTo(right) == 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, bounded memory of recent batch responses, so a resubmitted batch is answered without a database
+ * round trip. Only an optimisation: the insert-if-absent on payroll_batch still decides which submission wins.
+ * A response is only replayed to a request with the same fingerprint, anything else goes to the database check.
+ */
+@Component
+public class BatchResponseCache {
+
+    private final Map<String, Entry> responses = new ConcurrentHashMap<>();
+
+    @Value("${integration.payroll.dedupe.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${integration.payroll.dedupe.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    PayrollBatchResponse get(String batchRefId, BatchFingerprint fingerprint) {
+        final Entry entry = responses.get(batchRefId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            responses.remove(batchRefId, entry);
+            return null;
+        }
+        return entry.fingerprint().matches(fingerprint) ? entry.response() : null;
+    }
+
+    void put(String batchRefId, BatchFingerprint fingerprint, PayrollBatchResponse response) {
+        final long now = System.nanoTime();
+        if (responses.size() >= maxEntries) {
+            responses.values().removeIf(entry -> entry.isExpired(now));
+            if (responses.size() >= maxEntries) {
+                // Full of live entries, duplicates of this batch fall back to the database lookup
+                return;
+            }
+        }
+        responses.put(batchRefId, new Entry(fingerprint, response, now + ttlSeconds * 1_000_000_000L));
+    }
+
+    private record Entry(BatchFingerprint fingerprint, PayrollBatchResponse response, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.enums.LatencyDistribution;
+import com.tw.coupang.one_payroll.integration.exception.DownstreamThrottledException;
+import com.tw.coupang.one_payroll.integration.exception.DownstreamTimeoutException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Behaviour of the stand-in SAP endpoint: response latency, throttling, timeouts and the batch outcome.
+ * Everything is configurable under {@code integration.mock.*} so a profile can model a slow or flaky downstream,
+ * and a fixed seed makes a run reproducible. The defaults keep the original instant 80/10/10 split.
+ */
+@Slf4j
+@Getter
+@Setter
+@Component
+public class DownstreamSimulator {
+
+    @Value("${integration.mock.latency.distribution:FIXED}")
+    private LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+
+    // Fixed latency, lower bound of UNIFORM and median of LONG_TAIL
+    @Value("${integration.mock.latency.latency-ms:0}")
+    private long latencyMs = 0;
+
+    // Upper bound of UNIFORM and cap of LONG_TAIL, 0 leaves the LONG_TAIL tail uncapped
+    @Value("${integration.mock.latency.max-latency-ms:0}")
+    private long maxLatencyMs = 0;
+
+    // Spread of LONG_TAIL, 1.0 puts the 99th percentile roughly ten times above the median
+    @Value("${integration.mock.latency.tail-sigma:1.0}")
+    private double tailSigma = 1.0;
+
+    @Value("${integration.mock.outcome.success-rate:0.80}")
+    private double successRate = 0.80;
+
+    // The remainder after success and retry is FAILED
+    @Value("${integration.mock.outcome.retry-rate:0.10}")
+    private double retryRate = 0.10;
+
+    @Value("${integration.mock.throttle.rate:0.0}")
+    private double throttleRate = 0.0;
+
+    @Value("${integration.mock.throttle.retry-after-seconds:1}")
+    private long retryAfterSeconds = 1;
+
+    @Value("${integration.mock.timeout.rate:0.0}")
+    private double timeoutRate = 0.0;
+
+    @Value("${integration.mock.timeout.timeout-ms:30000}")
+    private long timeoutMs = 30000;
+
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    private Random random = new Random();
+
+    @Value("${integration.mock.seed:#{null}}")
+    public void setSeed(Long seed) {
+        // java.util.Random is thread-safe, with concurrent requests the draws still come from one sequence
+        this.random = seed == null ? new Random() : new Random(seed);
+    }
+
+    /**
+     * Runs before the batch is recorded: waits for the simulated latency, then may reject the call the way an
+     * overloaded gateway would. A throttled or timed out call leaves no trace, so it can be resubmitted as is.
+     */
+    public void simulateTransport() {
+        final double chance = random.nextDouble();
+        if (chance < throttleRate) {
+            throw new DownstreamThrottledException(retryAfterSeconds);
+        }
+        if (chance < throttleRate + timeoutRate) {
+            sleep(Duration.ofMillis(timeoutMs));
+            throw new DownstreamTimeoutException(timeoutMs);
+        }
+        sleep(nextLatency());
+    }
+
+    public String nextStatus() {
+        final double chance = random.nextDouble();
+        if (chance < successRate) {
+            return "SUCCESS";
+        } else if (chance < successRate + retryRate) {
+            return "RETRY";            // Temporary Failure
+        } else {
+            return "FAILED";           // Permanent Failure
+        }
+    }
+
+    Duration nextLatency() {
+        final long millis = switch (latencyDistribution) {
+            case FIXED -> latencyMs;
+            case UNIFORM -> latencyMs + (long) (random.nextDouble() * Math.max(0, maxLatencyMs - latencyMs));
+            case LONG_TAIL -> nextLongTailMillis();
+        };
+        return Duration.ofMillis(millis);
+    }
+
+    private long nextLongTailMillis() {
+        final long millis = Math.round(latencyMs * Math.exp(tailSigma * random.nextGaussian()));
+        if (maxLatencyMs <= 0) {
+            return millis;
+        }
+        return Math.min(Math.max(maxLatencyMs, latencyMs), millis);
+    }
+
+    private void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Simulated latency interrupted after less than {} ms", duration.toMillis());
+        }
+    }
+}
@@ -1,19 +1,35 @@
 package com.tw.coupang.one_payroll.integration.service;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
 import com.tw.coupang.one_payroll.integration.entity.PayrollBatch;
 import com.tw.coupang.one_payroll.integration.entity.PayrollBatchLog;
+import com.tw.coupang.one_payroll.integration.enums.IntegrationStatus;
+import com.tw.coupang.one_payroll.integration.event.PayrollBatchStatusChangedEvent;
+import com.tw.coupang.one_payroll.integration.exception.BatchConflictException;
+import com.tw.coupang.one_payroll.integration.repository.PayrollBatchLogBulkWriter;
 import com.tw.coupang.one_payroll.integration.repository.PayrollBatchLogRepository;
 import com.tw.coupang.one_payroll.integration.repository.PayrollBatchRepository;
 import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
-import com.tw.coupang.one_payroll.payroll.enums.PayrollStatus;
 import com.tw.coupang.one_payroll.payroll.repository.PayrollRunRepository;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollSubmissionOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,84 +37,232 @@ import java.util.stream.Collectors;
 public class MockIntegrationService {
 
     private PayrollBatchRepository batchRepo;
-    private PayrollBatchLogRepository logRepo;
+    private PayrollBatchLogBulkWriter logWriter;
+    private PayrollBatchLogRepository logRepository;
     private PayrollRunRepository payrollRunRepository;
+    private BankIntegrationRetryService bankIntegrationRetryService;
+    private PayrollSubmissionOutboxRepository outboxRepository;
+    private BatchResponseCache responseCache;
+    private DownstreamSimulator downstreamSimulator;
+    private ApplicationEventPublisher eventPublisher;
 
-    public MockIntegrationService(PayrollBatchRepository batchRepo, PayrollBatchLogRepository logRepo, PayrollRunRepository payrollRunRepository) {
+    public MockIntegrationService(PayrollBatchRepository batchRepo, PayrollBatchLogBulkWriter logWriter,
+                                  PayrollBatchLogRepository logRepository, PayrollRunRepository payrollRunRepository,
+                                  BankIntegrationRetryService bankIntegrationRetryService,
+                                  PayrollSubmissionOutboxRepository outboxRepository, BatchResponseCache responseCache,
+                                  DownstreamSimulator downstreamSimulator, ApplicationEventPublisher eventPublisher) {
         this.batchRepo = batchRepo;
-        this.logRepo = logRepo;
+        this.logWriter = logWriter;
+        this.logRepository = logRepository;
         this.payrollRunRepository = payrollRunRepository;
+        this.bankIntegrationRetryService = bankIntegrationRetryService;
+        this.outboxRepository = outboxRepository;
+        this.responseCache = responseCache;
+        this.downstreamSimulator = downstreamSimulator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public PayrollBatchResponse processBatch(PayrollBatchRequest request) {
-        // Validation
-        validateBatchUniqueness(request.getBatchRefId());
-
-        // Extract Initial Save
-        PayrollBatch batch = initializeBatch(request);
+        return processOnce(request, batchId -> finalizeBatchProcessing(batchId, request));
+    }
 
-        // Extract Processing and Final Update
-        return finalizeBatchProcessing(batch, request.getEmployeeIds());
+    // Line items are consumed as they are read from the request, only one flush of log rows is held at a time
+    @Transactional
+    public PayrollBatchResponse processBatch(PayrollBatchRequest header, Iterator<PayrollBatchLineItem> lineItems) {
+        return processOnce(header, batchId -> finalizeLineItemBatch(batchId, header, lineItems));
     }
 
-    //Handles Validation
-    private void validateBatchUniqueness(String batchRefId) {
-        if (batchRepo.existsByBatchRefId(batchRefId)) {
-            throw new IllegalArgumentException("Batch ID " + batchRefId + " already exists.");
+    private PayrollBatchResponse processOnce(PayrollBatchRequest request, Function<Long, PayrollBatchResponse> process) {
+        // A recently answered batch is replayed straight from memory
+        BatchFingerprint fingerprint = BatchFingerprint.of(request);
+        PayrollBatchResponse cached = responseCache.get(request.getBatchRefId(), fingerprint);
+        if (cached != null) {
+            log.info("Replaying cached response for duplicate batch {}", request.getBatchRefId());
+            return cached;
+        }
+
+        // Insert-if-absent replaces the check-then-insert that let concurrent duplicates hit the unique constraint
+        Optional<Long> batchId = batchRepo.insertIfAbsent(request.getBatchRefId(), request.getPayPeriod(),
+                request.getPayPeriodStart(), request.getPayPeriodEnd(), request.getPayGroupId(), request.getTotalAmount());
+        if (batchId.isEmpty()) {
+            return replayExistingBatch(request.getBatchRefId(), fingerprint, process);
         }
+
+        // Extract Processing and Final Update
+        PayrollBatchResponse response = process.apply(batchId.get());
+        cacheAfterCommit(fingerprint, response);
+        return response;
     }
 
-    //Handles the Creation of the PENDING state
-    private PayrollBatch initializeBatch(PayrollBatchRequest request) {
-        PayrollBatch batch = PayrollBatch.builder()
-                .batchRefId(request.getBatchRefId())
-                .payPeriod(request.getPayPeriod())
-                .totalAmount(request.getTotalAmount())
-                .status("PENDING")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        return batchRepo.save(batch);
+    //Answers a duplicate with the outcome the original submission stored, a different batch reusing the id is refused.
+    //RETRY asked the sender to come back with the same batch, so that one is processed again instead
+    private PayrollBatchResponse replayExistingBatch(String batchRefId, BatchFingerprint fingerprint,
+                                                     Function<Long, PayrollBatchResponse> process) {
+        PayrollBatch batch = batchRepo.findByBatchRefId(batchRefId)
+                .orElseThrow(() -> new IllegalStateException("Batch ID " + batchRefId + " vanished after conflict."));
+        if (!fingerprint.matches(BatchFingerprint.of(batch))) {
+            log.warn("Batch {} resubmitted with different contents, refusing to replay the stored response",
+                    batchRefId);
+            throw new BatchConflictException(batchRefId);
+        }
+        if ("RETRY".equals(batch.getStatus())) {
+            log.info("Processing retried batch {} again", batchRefId);
+            PayrollBatchResponse response = process.apply(batch.getId());
+            cacheAfterCommit(fingerprint, response);
+            return response;
+        }
+        log.info("Replaying stored response for duplicate batch {}", batchRefId);
+        PayrollBatchResponse response = new PayrollBatchResponse(
+                batch.getBatchRefId(),
+                batch.getStatus(),
+                String.valueOf(batch.getUpdatedAt()),
+                batch.getLogMessage()
+        );
+        responseCache.put(batchRefId, fingerprint, response);
+        return response;
     }
 
     //Handles the Mock Logic, Updates, and Logs
-    private PayrollBatchResponse finalizeBatchProcessing(PayrollBatch batch, List<String> employeeIds) {
+    private PayrollBatchResponse finalizeBatchProcessing(Long batchId, PayrollBatchRequest request) {
+        List<String> employeeIds = request.getEmployeeIds();
+
         //Determine Outcome
-        String finalStatus = determineMockOutcome();
+        String finalStatus = downstreamSimulator.nextStatus();
         String errorMessage = getStatusMessage(finalStatus);
 
         //Update Batch
-        batch.setStatus(finalStatus);
-        batch.setUpdatedAt(LocalDateTime.now());
-        batch.setLogMessage(errorMessage);
-        batch.setEmployeeCount(employeeIds.size());
-        batchRepo.save(batch);
+        batchRepo.completeBatch(batchId, finalStatus, errorMessage, employeeIds.size());
 
         //Save Logs
-        saveBatchLogs(batch.getBatchRefId(), employeeIds, finalStatus, errorMessage);
+        saveBatchLogs(request.getBatchRefId(), employeeIds, finalStatus, errorMessage);
 
         //Return Response
-        return new PayrollBatchResponse(
-                batch.getBatchRefId(),
+        PayrollBatchResponse response = new PayrollBatchResponse(
+                request.getBatchRefId(),
                 finalStatus,
                 LocalDateTime.now().toString(),
                 errorMessage
         );
+        publishStatusChange(request, response, employeeIds.size());
+        return response;
+    }
+
+    private PayrollBatchResponse finalizeLineItemBatch(Long batchId, PayrollBatchRequest header,
+                                                       Iterator<PayrollBatchLineItem> lineItems) {
+        String batchRefId = header.getBatchRefId();
+        String finalStatus = downstreamSimulator.nextStatus();
+        String errorMessage = getStatusMessage(finalStatus);
+
+        //Save Logs as the lines arrive, lines with invalid amounts are logged as failed
+        LocalDateTime timestamp = LocalDateTime.now();
+        int flushSize = Math.max(1, logWriter.getFlushSize());
+        List<PayrollBatchLog> logs = new ArrayList<>(flushSize);
+        int employeeCount = 0;
+        int invalidLines = 0;
+        BigDecimal netTotal = BigDecimal.ZERO;
+        while (lineItems.hasNext()) {
+            PayrollBatchLineItem item = lineItems.next();
+            employeeCount++;
+            boolean valid = item.hasValidAmounts();
+            if (valid) {
+                netTotal = netTotal.add(item.netPay());
+            } else {
+                invalidLines++;
+            }
+            logs.add(PayrollBatchLog.builder()
+                    .batchRefId(batchRefId)
+                    .employeeId(item.employeeId())
+                    .status(valid ? finalStatus : "FAILED")
+                    .timestamp(timestamp)
+                    .logMessage(valid ? errorMessage : "Invalid line item amounts.")
+                    .build());
+            if (logs.size() == flushSize) {
+                logWriter.insert(logs);
+                logs = new ArrayList<>(flushSize);
+            }
+        }
+        if (!logs.isEmpty()) {
+            logWriter.insert(logs);
+        }
+
+        //The whole batch is rejected once any line or the total does not check out
+        String rejection = validateLineItems(header, employeeCount, invalidLines, netTotal);
+        if (rejection != null) {
+            finalStatus = "FAILED";
+            errorMessage = rejection;
+            logRepository.updateStatusByBatchRefId(batchRefId, finalStatus, errorMessage);
+        }
+        batchRepo.completeBatch(batchId, finalStatus, errorMessage, employeeCount);
+
+        PayrollBatchResponse response = new PayrollBatchResponse(
+                batchRefId,
+                finalStatus,
+                LocalDateTime.now().toString(),
+                errorMessage
+        );
+        publishStatusChange(header, response, employeeCount);
+        return response;
+    }
+
+    private String validateLineItems(PayrollBatchRequest header, int employeeCount, int invalidLines, BigDecimal netTotal) {
+        if (employeeCount == 0) {
+            return "Batch has no line items.";
+        }
+        if (invalidLines > 0) {
+            return invalidLines + " of " + employeeCount + " line items have invalid amounts.";
+        }
+        if (netTotal.compareTo(header.getTotalAmount()) != 0) {
+            return "Line items add up to " + netTotal + " but total amount is " + header.getTotalAmount() + ".";
+        }
+        return null;
+    }
+
+    // Delivered to status stream subscribers once the transaction commits
+    private void publishStatusChange(PayrollBatchRequest request, PayrollBatchResponse response, int employeeCount) {
+        eventPublisher.publishEvent(new PayrollBatchStatusChangedEvent(request.getPayPeriod(),
+                PayrollBatchStatusResponse.builder()
+                        .batchId(response.getBatchRefId())
+                        .overallStatus(response.getStatus())
+                        .numberOfEmployees(employeeCount)
+                        .processedAt(LocalDateTime.now())
+                        .logMessage(response.getErrorMessage())
+                        .payPeriodStart(request.getPayPeriodStart())
+                        .payPeriodEnd(request.getPayPeriodEnd())
+                        .build()));
+    }
+
+    // A rolled back batch must not be replayed, so the response is only remembered once it is committed
+    private void cacheAfterCommit(BatchFingerprint fingerprint, PayrollBatchResponse response) {
+        if ("RETRY".equals(response.getStatus())) {
+            // Not an outcome, the resubmission is processed again
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            responseCache.put(response.getBatchRefId(), fingerprint, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responseCache.put(response.getBatchRefId(), fingerprint, response);
+            }
+        });
     }
 
     private void saveBatchLogs(String batchRefId, List<String> employeeIds, String status, String errorMessage) {
+        LocalDateTime timestamp = LocalDateTime.now();
         List<PayrollBatchLog> logs = employeeIds.stream()
                 .map(empId -> PayrollBatchLog.builder()
                         .batchRefId(batchRefId)
                         .employeeId(empId)
                         .status(status)
-                        .timestamp(LocalDateTime.now())
+                        .timestamp(timestamp)
                         .logMessage(errorMessage)
                         .build())
                 .collect(Collectors.toList());
-        logRepo.saveAll(logs);
+        // One multi-row INSERT per flush instead of one INSERT per employee
+        logWriter.insert(logs);
     }
 
     private String getStatusMessage(String status) {
@@ -110,42 +274,51 @@ public class MockIntegrationService {
         };
     }
 
+    // Outcomes are only recorded for the runs whose claim still held, a recalculated run waits for its own batch
     @Transactional
-    public void updateLocalRecords(List<PayrollRun> runs, String responseStatus) {
-        PayrollStatus newStatus;
+    public void updateLocalRecords(List<PayrollRun> runs, PayrollBatchResponse response, String claimOwner) {
+        List<Integer> payrollIds = runs.stream().map(PayrollRun::getPayrollId).toList();
+        List<PayrollRun> updated;
 
         // Map Mock API string status to our internal Enum
-        switch (responseStatus) {
+        switch (response.getStatus()) {
             case "SUCCESS":
-                newStatus = PayrollStatus.SUBMITTED;
+                updated = stillClaimed(runs, payrollRunRepository.markClaimedRunsSubmitted(payrollIds, claimOwner));
+                // Delivered entries leave the outbox, so it only ever holds pending work
+                outboxRepository.deleteSettled(payrollIds);
+                bankIntegrationRetryService.recordOutcome(updated, response.getBatchRefId(), IntegrationStatus.SUCCESS,
+                        response.getErrorMessage());
                 break;
             case "RETRY":
-                // retry mechanism can be implemented here
-                log.info("Batch marked for RETRY. Leaving records as PROCESSED.");
-                return;
-            case "FAILED":
-                newStatus = PayrollStatus.SUBMISSION_FAILED;
+                // Backoff and attempt limit are tracked in bank_integration_log, the claim is no longer needed
+                updated = stillClaimed(runs, payrollRunRepository.releaseClaimedRuns(payrollIds, claimOwner));
+                bankIntegrationRetryService.scheduleRetry(updated, response.getBatchRefId(), response.getErrorMessage());
                 break;
             default:
-                newStatus = PayrollStatus.SUBMISSION_FAILED;
+                // A rejected batch is not sent again, its runs are parked until they are recalculated
+                updated = stillClaimed(runs, payrollRunRepository.markClaimedRunsSubmissionFailed(payrollIds, claimOwner));
+                outboxRepository.deleteSettled(payrollIds);
+                bankIntegrationRetryService.recordOutcome(updated, response.getBatchRefId(), IntegrationStatus.FAILED,
+                        response.getErrorMessage());
         }
 
-        // Update all records in this chunk
-        runs.forEach(run -> run.setStatus(newStatus));
-        payrollRunRepository.saveAll(runs);
-
-        log.info("Updated {} records to status: {}", runs.size(), newStatus);
+        if (updated.size() < runs.size()) {
+            log.warn("{} records were recalculated or their lease expired before the response arrived, left them unchanged",
+                    runs.size() - updated.size());
+        }
+        log.info("Updated {} records for response status: {}", updated.size(), response.getStatus());
     }
 
-    private String determineMockOutcome() {
-        double chance = Math.random(); // Returns 0.0 to 1.0
+    // A batch that never got an answer counts as an attempt, so the retry limit dead-letters runs that keep failing
+    @Transactional
+    public void recordSubmissionError(List<PayrollRun> runs, String batchRefId, String message, String claimOwner) {
+        List<Integer> payrollIds = runs.stream().map(PayrollRun::getPayrollId).toList();
+        List<PayrollRun> released = stillClaimed(runs, payrollRunRepository.releaseClaimedRuns(payrollIds, claimOwner));
+        bankIntegrationRetryService.scheduleRetry(released, batchRefId, message);
+    }
 
-        if (chance < 0.80) {
-            return "SUCCESS";          // 0% - 80%
-        } else if (chance < 0.90) {
-            return "RETRY";            // 80% - 90% (Temporary Failure)
-        } else {
-            return "FAILED";           // 90% - 100% (Permanent Failure)
-        }
+    private List<PayrollRun> stillClaimed(List<PayrollRun> runs, List<Integer> updatedIds) {
+        Set<Integer> ids = new HashSet<>(updatedIds);
+        return runs.stream().filter(run -> ids.contains(run.getPayrollId())).toList();
     }
 }
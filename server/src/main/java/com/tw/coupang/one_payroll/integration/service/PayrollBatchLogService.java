@@ -1,16 +1,21 @@
 package com.tw.coupang.one_payroll.integration.service;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogPageResponse;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogResponse;
 import com.tw.coupang.one_payroll.integration.entity.PayrollBatchLog;
 import com.tw.coupang.one_payroll.integration.exception.MandatoryFieldMissingException;
 import com.tw.coupang.one_payroll.integration.repository.PayrollBatchLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -18,6 +23,12 @@ public class PayrollBatchLogService {
 
     private final PayrollBatchLogRepository payrollBatchLogRepository;
 
+    @Value("${integration.payroll.batch-log.page-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${integration.payroll.batch-log.max-page-size:1000}")
+    private int maxPageSize = 1000;
+
     public Page<PayrollBatchLogResponse> getBatchLogs(String batchId, String employeeId, Pageable pageable) {
         if (!StringUtils.hasText(batchId) && !StringUtils.hasText(employeeId)) {
             throw new MandatoryFieldMissingException("batchId or employeeId");
@@ -38,6 +49,30 @@ public class PayrollBatchLogService {
         return logsPage.map(this::convertToDto);
     }
 
+    // Seeks past the cursor instead of counting and skipping rows, so a deep page costs the same as the first
+    public PayrollBatchLogPageResponse getBatchLogsAfter(String batchId, String employeeId, Long cursor, Integer limit) {
+        if (!StringUtils.hasText(batchId) && !StringUtils.hasText(employeeId)) {
+            throw new MandatoryFieldMissingException("batchId or employeeId");
+        }
+
+        final int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        final long afterLogId = cursor == null ? 0L : cursor;
+        final Pageable pageable = PageRequest.of(0, pageSize);
+
+        List<PayrollBatchLog> logs;
+        if (StringUtils.hasText(batchId) && StringUtils.hasText(employeeId)) {
+            logs = payrollBatchLogRepository.findPageByBatchRefIdAndEmployeeId(batchId, employeeId, afterLogId, pageable);
+        } else if (StringUtils.hasText(batchId)) {
+            logs = payrollBatchLogRepository.findPageByBatchRefId(batchId, afterLogId, pageable);
+        } else {
+            logs = payrollBatchLogRepository.findPageByEmployeeId(employeeId, afterLogId, pageable);
+        }
+        log.info("Fetched {} logs for Batch ID: {}, Employee ID: {} after cursor: {}", logs.size(), batchId, employeeId, cursor);
+
+        final Long nextCursor = logs.size() == pageSize ? logs.get(logs.size() - 1).getLogId() : null;
+        return new PayrollBatchLogPageResponse(logs.stream().map(this::convertToDto).toList(), nextCursor);
+    }
+
     private PayrollBatchLogResponse convertToDto(PayrollBatchLog logEntity) {
         return PayrollBatchLogResponse.builder()
                 .batchRefId(logEntity.getBatchRefId())
@@ -0,0 +1,175 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
+import com.tw.coupang.one_payroll.integration.event.PayrollBatchStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Carries batch status transitions to the status stream subscribers of every node. Each transition is sent with
+ * {@code pg_notify} in the transaction that made it, so PostgreSQL only delivers it once that commits, and every node
+ * LISTENs on the channel over a dedicated connection. A node skips its own notifications, its subscribers already got
+ * the transition locally. Without PostgreSQL, or with {@code cross-node} off, streams only see local transitions.
+ */
+@Slf4j
+@Component
+public class PayrollBatchStatusRelay {
+
+    // PostgreSQL rejects notification payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PayrollBatchStatusStreamService streamService;
+    private final String channel;
+    private final boolean crossNode;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${integration.payroll.status-stream.poll-timeout-ms:1000}")
+    private int pollTimeoutMs = 1000;
+
+    @Value("${integration.payroll.status-stream.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs = 5000;
+
+    private volatile boolean listening;
+    private Thread listener;
+
+    public PayrollBatchStatusRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                   PayrollBatchStatusStreamService streamService,
+                                   @Value("${integration.payroll.status-stream.channel:payroll_batch_status}") String channel,
+                                   @Value("${integration.payroll.status-stream.cross-node:true}") boolean crossNode) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid status stream channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.streamService = streamService;
+        this.channel = channel;
+        this.crossNode = crossNode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!crossNode || listener != null) {
+            return;
+        }
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                log.info("Status streams only see transitions of this node, the database has no LISTEN/NOTIFY");
+                return;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not check for LISTEN/NOTIFY support, status streams only see local transitions", e);
+            return;
+        }
+        listening = true;
+        listener = new Thread(this::listen, "payroll-status-relay");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        listening = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    // Before commit, so the notification is part of the transaction that changed the status
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(PayrollBatchStatusChangedEvent event) {
+        if (!listening) {
+            return;
+        }
+        final String payload = encode(event);
+        if (payload != null) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        }
+    }
+
+    String encode(PayrollBatchStatusChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Notification(nodeId, event.payPeriod(), event.status()));
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                // Only the log message can grow that large, other nodes still learn the status without it
+                final PayrollBatchStatusResponse status = event.status();
+                payload = objectMapper.writeValueAsString(new Notification(nodeId, event.payPeriod(),
+                        new PayrollBatchStatusResponse(status.getBatchId(), status.getOverallStatus(),
+                                status.getNumberOfEmployees(), status.getProcessedAt(), null,
+                                status.getPayPeriodStart(), status.getPayPeriodEnd())));
+            }
+            return payload;
+        } catch (JsonProcessingException e) {
+            log.warn("Could not relay status of batch {} to other nodes", event.status().getBatchId(), e);
+            return null;
+        }
+    }
+
+    void handle(String payload) {
+        try {
+            final Notification notification = objectMapper.readValue(payload, Notification.class);
+            if (!nodeId.equals(notification.origin())) {
+                streamService.deliver(new PayrollBatchStatusChangedEvent(notification.payPeriod(), notification.status()));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable status notification: {}", e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (listening) {
+            try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("LISTEN " + channel);
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for batch status transitions of other nodes on {}", channel);
+                while (listening) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!listening) {
+                    return;
+                }
+                // Transitions sent while reconnecting are missed, subscribers see them again by reopening the stream
+                log.warn("Lost the status notification connection, reconnecting in {} ms", reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    record Notification(String origin, String payPeriod, PayrollBatchStatusResponse status) {
+    }
+}
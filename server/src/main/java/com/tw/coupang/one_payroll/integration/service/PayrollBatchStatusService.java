@@ -15,6 +15,18 @@ public class PayrollBatchStatusService {
 
     private final PayrollBatchRepository payrollBatchRepository;
 
+    // ETag of the batch's current state, derived from updatedAt which every status change bumps
+    public String getBatchStatusETag(String batchId) {
+        return payrollBatchRepository.findUpdatedAtByBatchRefId(batchId)
+                .map(updatedAt -> "\"" + updatedAt + "\"")
+                .orElseThrow(() -> new BatchNotFoundException(batchId));
+    }
+
+    // Current status for a new stream subscriber, null while the batch has not been submitted yet
+    public PayrollBatchStatusResponse findBatchStatus(String batchId) {
+        return payrollBatchRepository.findByBatchRefId(batchId).map(this::toResponse).orElse(null);
+    }
+
     public PayrollBatchStatusResponse getBatchStatus(String batchId) {
         log.info("Fetching status for batch ID: {}", batchId);
 
@@ -26,12 +38,18 @@ public class PayrollBatchStatusService {
 
         log.info("Batch found: {} with status: {}", batchId, batch.getStatus());
 
+        return toResponse(batch);
+    }
+
+    private PayrollBatchStatusResponse toResponse(PayrollBatch batch) {
         return PayrollBatchStatusResponse.builder()
                 .batchId(batch.getBatchRefId())
                 .overallStatus(batch.getStatus())
                 .numberOfEmployees(batch.getEmployeeCount())
                 .processedAt(batch.getUpdatedAt())
                 .logMessage(batch.getLogMessage())
+                .payPeriodStart(batch.getPayPeriodStart())
+                .payPeriodEnd(batch.getPayPeriodEnd())
                 .build();
     }
 }
@@ -0,0 +1,136 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
+import com.tw.coupang.one_payroll.integration.event.PayrollBatchStatusChangedEvent;
+import com.tw.coupang.one_payroll.integration.exception.BatchNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events subscriptions to batch status transitions, either for one batch or for every batch of a pay
+ * period. Subscribers of one batch get its current status right away, and the stream ends once the batch has its
+ * final status, since batches do not change after that. Transitions committed on other nodes arrive through
+ * {@link PayrollBatchStatusRelay}.
+ */
+@Slf4j
+@Service
+public class PayrollBatchStatusStreamService {
+
+    static final String EVENT_NAME = "batch-status";
+
+    private final Map<String, Set<SseEmitter>> batchSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<SseEmitter>> payPeriodSubscribers = new ConcurrentHashMap<>();
+
+    @Value("${integration.payroll.status-stream.timeout-ms:1800000}")
+    private long timeoutMs = 1800000;
+
+    /**
+     * The subscriber is registered before the current status is read, so a transition committed in between is pushed
+     * to it rather than lost. A batch that does not exist is refused instead of being waited for until the timeout.
+     */
+    public SseEmitter subscribeToBatch(String batchId, Supplier<PayrollBatchStatusResponse> currentStatus) {
+        final SseEmitter emitter = register(batchSubscribers, batchId);
+        final PayrollBatchStatusResponse current;
+        try {
+            current = currentStatus.get();
+        } catch (RuntimeException e) {
+            unsubscribe(batchSubscribers, batchId, emitter);
+            throw e;
+        }
+        if (current == null) {
+            unsubscribe(batchSubscribers, batchId, emitter);
+            throw new BatchNotFoundException(batchId);
+        }
+        if (!isFinal(current.getOverallStatus())) {
+            send(emitter, current);
+            return emitter;
+        }
+        // Already final. Unless the final transition reached this subscriber first, answer it here and end the stream
+        if (unsubscribe(batchSubscribers, batchId, emitter) && send(emitter, current)) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public SseEmitter subscribeToPayPeriod(String payPeriod) {
+        return register(payPeriodSubscribers, payPeriod);
+    }
+
+    // Subscribers only ever see committed statuses, the same ones a GET would return
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PayrollBatchStatusChangedEvent event) {
+        deliver(event);
+    }
+
+    public void deliver(PayrollBatchStatusChangedEvent event) {
+        final PayrollBatchStatusResponse status = event.status();
+        final boolean finalStatus = isFinal(status.getOverallStatus());
+
+        final Set<SseEmitter> forBatch = finalStatus
+                ? batchSubscribers.remove(status.getBatchId())
+                : batchSubscribers.get(status.getBatchId());
+        if (forBatch != null) {
+            forBatch.forEach(emitter -> {
+                if (send(emitter, status) && finalStatus) {
+                    emitter.complete();
+                }
+            });
+        }
+
+        final Set<SseEmitter> forPayPeriod = payPeriodSubscribers.get(event.payPeriod());
+        if (forPayPeriod != null) {
+            forPayPeriod.forEach(emitter -> send(emitter, status));
+        }
+    }
+
+    int subscriberCount() {
+        return batchSubscribers.values().stream().mapToInt(Set::size).sum()
+                + payPeriodSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private SseEmitter register(Map<String, Set<SseEmitter>> subscribers, String key) {
+        final SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+        final Runnable unsubscribe = () -> unsubscribe(subscribers, key, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    // True if the emitter was still subscribed, false if a delivery or a completion removed it first
+    private boolean unsubscribe(Map<String, Set<SseEmitter>> subscribers, String key, SseEmitter emitter) {
+        final AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            removed.set(emitters.remove(emitter));
+            return emitters.isEmpty() ? null : emitters;
+        });
+        return removed.get();
+    }
+
+    private boolean send(SseEmitter emitter, PayrollBatchStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).id(status.getBatchId()).data(status));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, completing the emitter also unsubscribes it
+            log.debug("Dropping status stream subscriber of batch {}: {}", status.getBatchId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private boolean isFinal(String status) {
+        return status != null && !"PENDING".equals(status);
+    }
+}
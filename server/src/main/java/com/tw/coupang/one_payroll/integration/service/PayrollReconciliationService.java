@@ -0,0 +1,129 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.ReconciliationSummary;
+import com.tw.coupang.one_payroll.integration.dto.ReconciliationTotals;
+import com.tw.coupang.one_payroll.integration.entity.ReconciliationDiscrepancy;
+import com.tw.coupang.one_payroll.integration.enums.DiscrepancyType;
+import com.tw.coupang.one_payroll.integration.repository.PayrollReconciliationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Checks that accepted batches add up to the runs marked SUBMITTED, per exact pay period and pay group. Both sides are
+ * streamed in the same key order and merged like a sort-merge join, so memory use does not depend on how much
+ * history is reconciled. Discrepancies are written to reconciliation_discrepancy in flushes.
+ */
+@Slf4j
+@Service
+public class PayrollReconciliationService {
+
+    private final PayrollReconciliationRepository reconciliationRepository;
+
+    @Value("${integration.reconciliation.flush-size:500}")
+    private int flushSize = 500;
+
+    public PayrollReconciliationService(PayrollReconciliationRepository reconciliationRepository) {
+        this.reconciliationRepository = reconciliationRepository;
+    }
+
+    // The cursors only stream inside a transaction, it is read-mostly and holds no row locks.
+    // Empty when another node is already reconciling, every node's schedule fires but only one runs
+    @Transactional
+    public Optional<ReconciliationSummary> reconcile(YearMonth from, YearMonth to) {
+        if (!reconciliationRepository.tryLockReconciliation()) {
+            log.info("Reconciliation of pay periods {} to {} skipped, another node is already running one", from, to);
+            return Optional.empty();
+        }
+        final String reconciliationId = UUID.randomUUID().toString();
+        // YYYY-MM, the format payroll_batch.pay_period is stored in
+        final String fromPeriod = from.toString();
+        final String toPeriod = to.toString();
+        log.info("Reconciliation {} started for pay periods {} to {}", reconciliationId, fromPeriod, toPeriod);
+
+        final List<ReconciliationDiscrepancy> pending = new ArrayList<>();
+        long groupsCompared = 0;
+        long discrepancies = 0;
+        try (Stream<ReconciliationTotals> batchStream = reconciliationRepository.streamAcceptedBatchTotals(fromPeriod, toPeriod);
+             Stream<ReconciliationTotals> runStream = reconciliationRepository.streamSubmittedRunTotals(fromPeriod, toPeriod)) {
+            final Iterator<ReconciliationTotals> batches = batchStream.iterator();
+            final Iterator<ReconciliationTotals> runs = runStream.iterator();
+            ReconciliationTotals batch = next(batches);
+            ReconciliationTotals run = next(runs);
+
+            while (batch != null || run != null) {
+                final int order = batch == null ? 1 : run == null ? -1 : batch.compareTo(run);
+                final ReconciliationDiscrepancy discrepancy;
+                if (order < 0) {
+                    discrepancy = discrepancy(reconciliationId, DiscrepancyType.MISSING_RUNS, batch, null);
+                    batch = next(batches);
+                } else if (order > 0) {
+                    discrepancy = discrepancy(reconciliationId, DiscrepancyType.MISSING_BATCH, null, run);
+                    run = next(runs);
+                } else {
+                    discrepancy = matches(batch, run)
+                            ? null
+                            : discrepancy(reconciliationId, DiscrepancyType.TOTAL_MISMATCH, batch, run);
+                    batch = next(batches);
+                    run = next(runs);
+                }
+                groupsCompared++;
+
+                if (discrepancy != null) {
+                    pending.add(discrepancy);
+                    discrepancies++;
+                    if (pending.size() >= flushSize) {
+                        flush(pending);
+                    }
+                }
+            }
+        }
+        flush(pending);
+
+        log.info("Reconciliation {} compared {} pay period and pay group totals, found {} discrepancies",
+                reconciliationId, groupsCompared, discrepancies);
+        return Optional.of(new ReconciliationSummary(reconciliationId, fromPeriod, toPeriod, groupsCompared,
+                discrepancies));
+    }
+
+    private boolean matches(ReconciliationTotals batch, ReconciliationTotals run) {
+        return batch.count() == run.count() && batch.amount().compareTo(run.amount()) == 0;
+    }
+
+    private ReconciliationDiscrepancy discrepancy(String reconciliationId, DiscrepancyType type,
+                                                  ReconciliationTotals batch, ReconciliationTotals run) {
+        final ReconciliationTotals key = batch != null ? batch : run;
+        return ReconciliationDiscrepancy.builder()
+                .reconciliationId(reconciliationId)
+                .payPeriod(key.payPeriod())
+                .payPeriodStart(key.payPeriodStart())
+                .payPeriodEnd(key.payPeriodEnd())
+                .payGroupId(key.payGroupKey() < 0 ? null : key.payGroupKey())
+                .discrepancyType(type)
+                .batchTotalAmount(batch == null ? null : batch.amount())
+                .batchEmployeeCount(batch == null ? null : batch.count())
+                .submittedNetPay(run == null ? null : run.amount())
+                .submittedRunCount(run == null ? null : run.count())
+                .build();
+    }
+
+    private void flush(List<ReconciliationDiscrepancy> pending) {
+        if (!pending.isEmpty()) {
+            reconciliationRepository.insertDiscrepancies(pending);
+            pending.clear();
+        }
+    }
+
+    private static ReconciliationTotals next(Iterator<ReconciliationTotals> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.enums.CircuitState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Opens after {@code failureThreshold} consecutive failed submissions and rejects batches for {@code openDuration}.
+ * It then half-opens and lets up to {@code probeLimit} probe batches through: once that many succeed it closes,
+ * a failed probe opens it again.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int probeLimit;
+    private final LongSupplier nanoClock;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, int probeLimit, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.probeLimit = Math.max(1, probeLimit);
+        this.nanoClock = nanoClock;
+    }
+
+    // Whether a batch may be sent now, a half-open breaker counts the batch as one of its probes
+    public synchronized boolean tryAcquirePermission() {
+        moveToHalfOpenIfDue();
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probesInFlight + probeSuccesses >= probeLimit) {
+                    yield false;
+                }
+                probesInFlight++;
+                yield true;
+            }
+        };
+    }
+
+    // Same as tryAcquirePermission without taking a probe slot
+    public synchronized boolean allowsRequests() {
+        moveToHalfOpenIfDue();
+        return state == CircuitState.CLOSED
+                || state == CircuitState.HALF_OPEN && probesInFlight + probeSuccesses < probeLimit;
+    }
+
+    // Hands back a permission whose batch was never sent
+    public synchronized void releasePermission() {
+        if (state == CircuitState.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == CircuitState.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (++probeSuccesses >= probeLimit) {
+                transitionTo(CircuitState.CLOSED);
+            }
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == CircuitState.HALF_OPEN) {
+            transitionTo(CircuitState.OPEN);
+        } else if (state == CircuitState.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            transitionTo(CircuitState.OPEN);
+        }
+    }
+
+    public synchronized CircuitState getState() {
+        moveToHalfOpenIfDue();
+        return state;
+    }
+
+    private void moveToHalfOpenIfDue() {
+        if (state == CircuitState.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            transitionTo(CircuitState.HALF_OPEN);
+        }
+    }
+
+    private void transitionTo(CircuitState next) {
+        log.warn("Submission circuit breaker {} -> {}", state, next);
+        state = next;
+        consecutiveFailures = 0;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (next == CircuitState.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+}
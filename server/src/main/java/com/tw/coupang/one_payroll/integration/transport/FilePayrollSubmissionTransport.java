@@ -0,0 +1,205 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
+import com.tw.coupang.one_payroll.integration.repository.PayrollBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands batches to banks that only take flat files. Every batch becomes a CSV payment file in the outbound directory:
+ * <pre>
+ * H,batchRefId,payPeriod,payGroupId,recordCount,totalAmount
+ * D,employeeId,grossPay,taxDeduction,benefitAddition,netPay
+ * T,recordCount,totalAmount,sha256
+ * </pre>
+ * The trailer's SHA-256 covers every byte before it. Files are written through a FileChannel from a reused direct
+ * buffer under a {@code .part} name, forced to disk and then atomically renamed, so a pickup job never sees a partial
+ * file. The batch is recorded in payroll_batch before that rename, so every published file has its batch row, and the
+ * part file is removed when the record fails. Files are named after the batch ref id, which the scheduler derives
+ * from the runs, so a retry of the same runs replaces its file instead of adding a second payment. A payment file
+ * needs every employee's amounts, so batches sent without line items are refused.
+ */
+@Slf4j
+@Component
+public class FilePayrollSubmissionTransport implements PayrollSubmissionTransport {
+
+    static final String FILE_SUFFIX = ".csv";
+    static final String PART_SUFFIX = ".part";
+
+    private final PayrollBatchRepository batchRepository;
+    private final Path outboundDir;
+    private final ThreadLocal<ByteBuffer> buffers;
+
+    public FilePayrollSubmissionTransport(PayrollBatchRepository batchRepository,
+                                          @Value("${integration.payroll.file.outbound-dir:${java.io.tmpdir}/payroll-outbound}") String outboundDir,
+                                          @Value("${integration.payroll.file.buffer-size:1048576}") int bufferSize) {
+        this.batchRepository = batchRepository;
+        this.outboundDir = Path.of(outboundDir);
+        // Direct buffers are costly to allocate, each submitting thread keeps one
+        this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(Math.max(bufferSize, 4096)));
+    }
+
+    @Override
+    public CompletableFuture<PayrollBatchResponse> submit(PayrollBatchRequest request) {
+        if (request.getLineItems() == null) {
+            return CompletableFuture.failedFuture(new PayrollSubmissionException("Batch " + request.getBatchRefId()
+                    + " has no line items, payment files need the amounts of every employee"));
+        }
+        try {
+            final Path file = outboundDir.resolve(request.getBatchRefId() + FILE_SUFFIX);
+            final Path part = writePart(request, file);
+            final long size = Files.size(part);
+            final String message = "Payment file " + file.getFileName() + " written.";
+            try {
+                batchRepository.recordExportedFile(request.getBatchRefId(), request.getPayPeriod(),
+                        request.getPayPeriodStart(), request.getPayPeriodEnd(), request.getPayGroupId(),
+                        request.getTotalAmount(), message, recordCount(request), file.getFileName().toString(), size);
+                Files.move(part, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                // Nothing is published, a retry records the batch again under the same ref id and renames its file
+                Files.deleteIfExists(part);
+                throw e;
+            }
+            log.info("Batch {} exported to {} ({} bytes)", request.getBatchRefId(), file, size);
+            return CompletableFuture.completedFuture(new PayrollBatchResponse(
+                    request.getBatchRefId(), "SUCCESS", LocalDateTime.now().toString(), message));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(new PayrollSubmissionException(
+                    "Could not export batch " + request.getBatchRefId() + " to a payment file", e));
+        }
+    }
+
+    // Writes the complete file under its .part name, forced to disk, the caller publishes it
+    private Path writePart(PayrollBatchRequest request, Path target) throws IOException {
+        Files.createDirectories(outboundDir);
+        final Path part = outboundDir.resolve(target.getFileName() + PART_SUFFIX);
+        final int recordCount = recordCount(request);
+        final String total = amount(request.getTotalAmount());
+
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final PaymentFileWriter writer = new PaymentFileWriter(channel, buffers.get());
+            writer.line("H", request.getBatchRefId(), request.getPayPeriod(),
+                    request.getPayGroupId() == null ? "" : request.getPayGroupId().toString(),
+                    Integer.toString(recordCount), total);
+            for (PayrollBatchLineItem item : request.getLineItems()) {
+                writer.line("D", item.employeeId(), amount(item.grossPay()), amount(item.taxDeduction()),
+                        amount(item.benefitAddition()), amount(item.netPay()));
+            }
+            writer.trailer("T", Integer.toString(recordCount), total);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        return part;
+    }
+
+    private int recordCount(PayrollBatchRequest request) {
+        return request.getLineItems().size();
+    }
+
+    private String amount(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    // Encodes lines into the buffer and drains it to the channel whenever the next line does not fit
+    private static final class PaymentFileWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final MessageDigest digest;
+
+        PaymentFileWriter(FileChannel channel, ByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.buffer.clear();
+            this.digest = sha256();
+        }
+
+        void line(String... fields) throws IOException {
+            final byte[] bytes = toCsv(fields);
+            digest.update(bytes);
+            put(bytes);
+        }
+
+        // Appends the checksum of everything written so far, the trailer itself is not part of it
+        void trailer(String... fields) throws IOException {
+            final String[] withChecksum = new String[fields.length + 1];
+            System.arraycopy(fields, 0, withChecksum, 0, fields.length);
+            withChecksum[fields.length] = HexFormat.of().formatHex(digest.digest());
+            put(toCsv(withChecksum));
+            drain();
+        }
+
+        private void put(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.remaining()) {
+                drain();
+            }
+            if (bytes.length > buffer.capacity()) {
+                final ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+                return;
+            }
+            buffer.put(bytes);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private static byte[] toCsv(String... fields) {
+            final StringBuilder line = new StringBuilder(64);
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(escape(fields[i]));
+            }
+            return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static String escape(String field) {
+            if (field == null) {
+                return "";
+            }
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+                return field;
+            }
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits and circuit-breaks batch submissions before they reach the downstream. Limiter saturation and
+ * breaker state are published as {@code payroll.submission.*} metrics.
+ */
+@Component
+public class GuardedPayrollSubmissionTransport implements PayrollSubmissionTransport {
+
+    private final PayrollSubmissionTransport delegate;
+    private final TokenBucket rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer limiterWait;
+    private final Counter rejected;
+
+    @Autowired
+    public GuardedPayrollSubmissionTransport(HttpPayrollSubmissionTransport delegate,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${integration.payroll.rate-limit.batches-per-second:20}") double batchesPerSecond,
+                                             @Value("${integration.payroll.rate-limit.burst:20}") int burst,
+                                             @Value("${integration.payroll.breaker.failure-threshold:5}") int failureThreshold,
+                                             @Value("${integration.payroll.breaker.open-seconds:30}") long openSeconds,
+                                             @Value("${integration.payroll.breaker.half-open-probes:2}") int halfOpenProbes) {
+        this(delegate, meterRegistry, new TokenBucket(batchesPerSecond, burst, System::nanoTime),
+                new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds), halfOpenProbes, System::nanoTime));
+    }
+
+    GuardedPayrollSubmissionTransport(PayrollSubmissionTransport delegate, MeterRegistry meterRegistry,
+                                      TokenBucket rateLimiter, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.limiterWait = Timer.builder("payroll.submission.limiter.wait")
+                .description("Time batches waited for a rate limiter token")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("payroll.submission.breaker.rejected")
+                .description("Batches not sent because the circuit breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("payroll.submission.limiter.available.tokens", rateLimiter, TokenBucket::availableTokens)
+                .description("Rate limiter tokens available, negative while batches wait")
+                .register(meterRegistry);
+        // 0 = closed, 1 = half open, 2 = open
+        Gauge.builder("payroll.submission.breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Submission circuit breaker state")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<PayrollBatchResponse> submit(PayrollBatchRequest request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new PayrollSubmissionException(
+                    "Circuit breaker open, batch " + request.getBatchRefId() + " not sent"));
+        }
+
+        try {
+            limiterWait.record(rateLimiter.acquire(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission();
+            return CompletableFuture.failedFuture(new PayrollSubmissionException(
+                    "Interrupted waiting to send batch " + request.getBatchRefId(), e));
+        }
+
+        final CompletableFuture<PayrollBatchResponse> response;
+        try {
+            response = delegate.submit(request);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((batchResponse, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        });
+    }
+
+    @Override
+    public boolean acceptsSubmissions() {
+        return circuitBreaker.allowsRequests();
+    }
+}
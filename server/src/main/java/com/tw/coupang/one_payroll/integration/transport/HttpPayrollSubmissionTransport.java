@@ -0,0 +1,105 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Posts batches as JSON with the JDK HttpClient. The client keeps connections alive and reuses them across batches,
+ * requests are sent asynchronously and at most {@code max-in-flight} of them are outstanding at once. Batches that
+ * carry line items are sent in the streamed line-item format, optionally gzip compressed. That body is encoded while
+ * the client sends it, in chunks, so no buffer of the whole batch is built.
+ */
+@Slf4j
+@Component
+public class HttpPayrollSubmissionTransport implements PayrollSubmissionTransport {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final PayrollBatchPayloadCodec payloadCodec;
+    private final boolean gzipLineItems;
+    private final URI submitUri;
+    private final Duration requestTimeout;
+    private final Semaphore inFlight;
+
+    public HttpPayrollSubmissionTransport(HttpClient payrollSubmissionHttpClient,
+                                          ObjectMapper objectMapper,
+                                          PayrollBatchPayloadCodec payloadCodec,
+                                          @Value("${integration.payroll.submit-url}") String submitUrl,
+                                          @Value("${integration.payroll.http.read-timeout-ms:10000}") long readTimeoutMs,
+                                          @Value("${integration.payroll.http.max-in-flight:8}") int maxInFlight,
+                                          @Value("${integration.payroll.payload.gzip:true}") boolean gzipLineItems) {
+        this.httpClient = payrollSubmissionHttpClient;
+        this.objectMapper = objectMapper;
+        this.payloadCodec = payloadCodec;
+        this.gzipLineItems = gzipLineItems;
+        this.submitUri = URI.create(submitUrl);
+        this.requestTimeout = Duration.ofMillis(readTimeoutMs);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public CompletableFuture<PayrollBatchResponse> submit(PayrollBatchRequest request) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(submitUri)
+                .timeout(requestTimeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (request.getLineItems() == null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(serialize(request)));
+        } else {
+            builder.header(HttpHeaders.CONTENT_TYPE, PayrollBatchPayloadCodec.MEDIA_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> payloadCodec.encode(request, gzipLineItems)));
+            if (gzipLineItems) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+        final HttpRequest httpRequest = builder.build();
+
+        // Blocks the caller once the limit is reached, which keeps it from claiming more work than can be sent
+        inFlight.acquireUninterruptibly();
+        try {
+            return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> toBatchResponse(request.getBatchRefId(), response))
+                    .whenComplete((response, error) -> inFlight.release());
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private byte[] serialize(PayrollBatchRequest request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new PayrollSubmissionException("Could not serialize batch " + request.getBatchRefId(), e);
+        }
+    }
+
+    private PayrollBatchResponse toBatchResponse(String batchRefId, HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new PayrollSubmissionException(
+                    "Batch " + batchRefId + " rejected with HTTP status " + response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), PayrollBatchResponse.class);
+        } catch (IOException e) {
+            throw new PayrollSubmissionException("Unreadable response for batch " + batchRefId, e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.exception.InvalidBatchPayloadException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Line-item batch payload, written and read token by token so neither side holds the whole document:
+ * <pre>
+ * {"batchRefId": ..., "payPeriod": ..., "payPeriodStart": ..., "payPeriodEnd": ..., "payGroupId": ..., "totalAmount": ...,
+ *  "lineItems": [{"employeeId": ..., "grossPay": ..., "taxDeduction": ..., "benefitAddition": ..., "netPay": ...}, ...]}
+ * </pre>
+ * The header fields come before {@code lineItems}, so a reader knows the batch before its first line.
+ */
+@Component
+public class PayrollBatchPayloadCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.payroll.batch-lines+json";
+
+    static final String LINE_ITEMS = "lineItems";
+
+    private final ObjectMapper objectMapper;
+
+    public PayrollBatchPayloadCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(PayrollBatchRequest request, OutputStream out) throws IOException {
+        try (JsonGenerator generator = startPayload(request, out)) {
+            for (PayrollBatchLineItem item : request.getLineItems()) {
+                writeLineItem(generator, item);
+            }
+            endPayload(generator);
+        }
+    }
+
+    // Encodes as the returned stream is read, only the line being written is held however large the batch is
+    public InputStream encode(PayrollBatchRequest request, boolean gzip) {
+        try {
+            return new PayrollBatchPayloadStream(this, request, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode batch " + request.getBatchRefId(), e);
+        }
+    }
+
+    // Writes the header fields and opens the lineItems array
+    JsonGenerator startPayload(PayrollBatchRequest request, OutputStream out) throws IOException {
+        final JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeStringField("batchRefId", request.getBatchRefId());
+        generator.writeStringField("payPeriod", request.getPayPeriod());
+        if (request.getPayPeriodStart() != null) {
+            generator.writeStringField("payPeriodStart", request.getPayPeriodStart().toString());
+        }
+        if (request.getPayPeriodEnd() != null) {
+            generator.writeStringField("payPeriodEnd", request.getPayPeriodEnd().toString());
+        }
+        if (request.getPayGroupId() != null) {
+            generator.writeNumberField("payGroupId", request.getPayGroupId());
+        }
+        writeAmount(generator, "totalAmount", request.getTotalAmount());
+        generator.writeArrayFieldStart(LINE_ITEMS);
+        return generator;
+    }
+
+    void writeLineItem(JsonGenerator generator, PayrollBatchLineItem item) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("employeeId", item.employeeId());
+        writeAmount(generator, "grossPay", item.grossPay());
+        writeAmount(generator, "taxDeduction", item.taxDeduction());
+        writeAmount(generator, "benefitAddition", item.benefitAddition());
+        writeAmount(generator, "netPay", item.netPay());
+        generator.writeEndObject();
+    }
+
+    void endPayload(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    // Reads the header right away, the line items are read one at a time as the returned reader is iterated
+    public PayrollBatchPayloadReader read(InputStream in) {
+        try {
+            final JsonParser parser = objectMapper.createParser(in);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidBatchPayloadException("Batch payload must be a JSON object");
+            }
+            return new PayrollBatchPayloadReader(parser, readHeader(parser));
+        } catch (IOException e) {
+            throw new InvalidBatchPayloadException("Unreadable batch payload: " + e.getMessage(), e);
+        }
+    }
+
+    private PayrollBatchRequest readHeader(JsonParser parser) throws IOException {
+        final PayrollBatchRequest header = new PayrollBatchRequest();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "batchRefId" -> header.setBatchRefId(parser.getValueAsString());
+                case "payPeriod" -> header.setPayPeriod(parser.getValueAsString());
+                case "payPeriodStart" -> header.setPayPeriodStart(readDate(parser));
+                case "payPeriodEnd" -> header.setPayPeriodEnd(readDate(parser));
+                case "payGroupId" -> header.setPayGroupId(parser.currentToken() == JsonToken.VALUE_NULL
+                        ? null : parser.getIntValue());
+                case "totalAmount" -> header.setTotalAmount(parser.getDecimalValue());
+                case LINE_ITEMS -> {
+                    if (parser.currentToken() != JsonToken.START_ARRAY) {
+                        throw new InvalidBatchPayloadException("lineItems must be an array");
+                    }
+                    return header;
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        throw new InvalidBatchPayloadException("Batch payload has no lineItems");
+    }
+
+    private LocalDate readDate(JsonParser parser) throws IOException {
+        final String value = parser.getValueAsString();
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidBatchPayloadException(parser.currentName() + " must be YYYY-MM-DD");
+        }
+    }
+
+    private void writeAmount(JsonGenerator generator, String field, BigDecimal amount) throws IOException {
+        generator.writeFieldName(field);
+        if (amount == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(amount);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.exception.InvalidBatchPayloadException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A line-item payload positioned after its header. Iterating binds one line item at a time from the parser, so only
+ * the current line is in memory however large the batch is.
+ */
+public class PayrollBatchPayloadReader implements Iterator<PayrollBatchLineItem>, Closeable {
+
+    private final JsonParser parser;
+    private final PayrollBatchRequest header;
+    private JsonToken next;
+
+    PayrollBatchPayloadReader(JsonParser parser, PayrollBatchRequest header) {
+        this.parser = parser;
+        this.header = header;
+    }
+
+    // Batch fields of the payload, its employeeIds and lineItems stay empty
+    public PayrollBatchRequest header() {
+        return header;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = nextToken();
+        }
+        if (next == JsonToken.START_OBJECT) {
+            return true;
+        }
+        if (next != JsonToken.END_ARRAY) {
+            throw new InvalidBatchPayloadException("lineItems must only contain objects");
+        }
+        return false;
+    }
+
+    @Override
+    public PayrollBatchLineItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        next = null;
+        try {
+            return parser.readValueAs(PayrollBatchLineItem.class);
+        } catch (IOException e) {
+            throw new InvalidBatchPayloadException("Unreadable line item: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private JsonToken nextToken() {
+        try {
+            return parser.nextToken();
+        } catch (IOException e) {
+            throw new InvalidBatchPayloadException("Unreadable batch payload: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A line-item payload encoded while it is read. Whenever the reader has taken every encoded byte, the next line item
+ * is written through the generator, and gzip if enabled, so only one line and its bytes are in memory however large
+ * the batch is. The counterpart of {@link PayrollBatchPayloadReader} on the sending side.
+ */
+class PayrollBatchPayloadStream extends InputStream {
+
+    private final PayrollBatchPayloadCodec codec;
+    private final Iterator<PayrollBatchLineItem> lineItems;
+    private final PendingBytes pending = new PendingBytes();
+    private final JsonGenerator generator;
+    private boolean finished;
+
+    PayrollBatchPayloadStream(PayrollBatchPayloadCodec codec, PayrollBatchRequest request, boolean gzip)
+            throws IOException {
+        this.codec = codec;
+        this.lineItems = request.getLineItems().iterator();
+        final OutputStream sink = gzip ? new GZIPOutputStream(pending, 8192) : pending;
+        this.generator = codec.startPayload(request, sink);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        // gzip may hold back the bytes of a short line, so it can take several lines to have something to return
+        while (pending.available() == 0 && !finished) {
+            encodeNext();
+        }
+        return pending.available() == 0 ? -1 : pending.drainTo(buffer, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        generator.close();
+    }
+
+    private void encodeNext() throws IOException {
+        if (lineItems.hasNext()) {
+            codec.writeLineItem(generator, lineItems.next());
+            generator.flush();
+        } else {
+            // Closing also finishes the gzip stream, which writes out what it held back and its trailer
+            codec.endPayload(generator);
+            generator.close();
+            finished = true;
+        }
+    }
+
+    // Encoded bytes not read yet, the buffer is reused once everything in it has been read
+    private static final class PendingBytes extends ByteArrayOutputStream {
+
+        private int position;
+
+        int available() {
+            return count - position;
+        }
+
+        int drainTo(byte[] buffer, int offset, int length) {
+            final int drained = Math.min(length, available());
+            System.arraycopy(buf, position, buffer, offset, drained);
+            position += drained;
+            if (position == count) {
+                reset();
+                position = 0;
+            }
+            return drained;
+        }
+    }
+}
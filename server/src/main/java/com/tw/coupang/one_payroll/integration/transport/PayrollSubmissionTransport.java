@@ -0,0 +1,20 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends one payroll batch downstream. Implementations may block the caller to limit how many batches are in flight,
+ * and complete the returned future once the downstream has answered.
+ */
+public interface PayrollSubmissionTransport {
+
+    CompletableFuture<PayrollBatchResponse> submit(PayrollBatchRequest request);
+
+    // False while the downstream is known to be unavailable, callers then leave work for a later attempt
+    default boolean acceptsSubmissions() {
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Picks the transport by pay group: groups listed in {@code integration.payroll.file.pay-group-ids} are exported as
+ * payment files, every other batch goes through the rate limited, circuit broken HTTP transport.
+ */
+@Primary
+@Component
+public class RoutingPayrollSubmissionTransport implements PayrollSubmissionTransport {
+
+    private final PayrollSubmissionTransport httpTransport;
+    private final PayrollSubmissionTransport fileTransport;
+    private final Set<Integer> filePayGroupIds;
+
+    @Autowired
+    public RoutingPayrollSubmissionTransport(GuardedPayrollSubmissionTransport httpTransport,
+                                             FilePayrollSubmissionTransport fileTransport,
+                                             @Value("${integration.payroll.file.pay-group-ids:}") Set<Integer> filePayGroupIds) {
+        this((PayrollSubmissionTransport) httpTransport, fileTransport, filePayGroupIds);
+    }
+
+    RoutingPayrollSubmissionTransport(PayrollSubmissionTransport httpTransport, PayrollSubmissionTransport fileTransport,
+                                      Set<Integer> filePayGroupIds) {
+        this.httpTransport = httpTransport;
+        this.fileTransport = fileTransport;
+        this.filePayGroupIds = Set.copyOf(filePayGroupIds);
+    }
+
+    @Override
+    public CompletableFuture<PayrollBatchResponse> submit(PayrollBatchRequest request) {
+        return request.getPayGroupId() != null && filePayGroupIds.contains(request.getPayGroupId())
+                ? fileTransport.submit(request)
+                : httpTransport.submit(request);
+    }
+
+    // Claims are not made per pay group, so all submission stops while the HTTP downstream is suspended
+    @Override
+    public boolean acceptsSubmissions() {
+        return httpTransport.acceptsSubmissions();
+    }
+}
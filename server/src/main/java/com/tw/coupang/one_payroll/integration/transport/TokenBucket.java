@@ -0,0 +1,55 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled at {@code permitsPerSecond} and holding at most {@code burst} tokens. A caller that finds
+ * the bucket empty reserves the next token and sleeps until it is due, so waiting callers are served in order.
+ */
+public class TokenBucket {
+
+    private final double nanosPerPermit;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one token, sleeping until it is available. Returns how long the caller had to wait, in nanoseconds.
+     */
+    public long acquire() throws InterruptedException {
+        final long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    // Tokens available right now, negative while callers are waiting on reserved tokens
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens * nanosPerPermit);
+    }
+
+    private void refill() {
+        final long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerPermit);
+        refilledAt = now;
+    }
+}
@@ -46,6 +46,11 @@ public class PayGroup {
     @Builder.Default
     private BigDecimal deductionRate = BigDecimal.valueOf(2.50);
 
+    // Bumped whenever rates or the payment cycle change, payroll runs record the version they were calculated from
+    @Column(name = "rates_version", nullable = false, columnDefinition = "INT DEFAULT 1")
+    @Builder.Default
+    private Integer ratesVersion = 1;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
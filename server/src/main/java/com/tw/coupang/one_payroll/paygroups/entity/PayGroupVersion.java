@@ -0,0 +1,29 @@
+package com.tw.coupang.one_payroll.paygroups.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row bumped on every pay group change, polled by each node's PayGroupCache to detect stale snapshots.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "pay_group_version")
+public class PayGroupVersion {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
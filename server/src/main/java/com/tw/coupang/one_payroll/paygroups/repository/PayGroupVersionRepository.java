@@ -0,0 +1,19 @@
+package com.tw.coupang.one_payroll.paygroups.repository;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroupVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PayGroupVersionRepository extends JpaRepository<PayGroupVersion, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM PayGroupVersion v WHERE v.id = :id")
+    Optional<PayGroupVersion> findByIdForUpdate(@Param("id") Integer id);
+}
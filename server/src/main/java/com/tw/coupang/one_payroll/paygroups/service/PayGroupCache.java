@@ -0,0 +1,164 @@
+package com.tw.coupang.one_payroll.paygroups.service;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroupVersion;
+import com.tw.coupang.one_payroll.paygroups.repository.PayGroupRepository;
+import com.tw.coupang.one_payroll.paygroups.repository.PayGroupVersionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of pay groups. Lookups read an immutable snapshot, so calculation paths do not go to the
+ * database once a pay group has been loaded. Cached pay groups are detached copies and must be treated as read-only.
+ *
+ * <p>Every create or update bumps the pay_group_version row. Each node polls that row and reloads its snapshot when
+ * the stored version is ahead of its own.</p>
+ */
+@Slf4j
+@Component
+public class PayGroupCache {
+
+    private static final long UNLOADED = -1L;
+
+    private final PayGroupRepository payGroupRepository;
+    private final PayGroupVersionRepository payGroupVersionRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(UNLOADED, Map.of()));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PayGroupCache(PayGroupRepository payGroupRepository, PayGroupVersionRepository payGroupVersionRepository,
+                         MeterRegistry meterRegistry) {
+        this.payGroupRepository = payGroupRepository;
+        this.payGroupVersionRepository = payGroupVersionRepository;
+        FunctionCounter.builder("payroll.pay-group.cache.gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Pay group lookups served from the snapshot")
+                .register(meterRegistry);
+        FunctionCounter.builder("payroll.pay-group.cache.gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Pay group lookups that went to the database")
+                .register(meterRegistry);
+    }
+
+    public Optional<PayGroup> get(Integer id) {
+        final PayGroup cached = snapshot.get().payGroups().get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        log.debug("Pay group cache miss for ID: {}", id);
+        final Optional<PayGroup> loaded = payGroupRepository.findById(id).map(PayGroupCache::detachedCopy);
+        // A save that committed after our read has already put a newer copy in, never overwrite it with this one
+        loaded.ifPresent(payGroup -> snapshot.updateAndGet(current -> current.withIfAbsent(payGroup)));
+        return loaded;
+    }
+
+    /**
+     * Records a created or updated pay group. Must run inside the writing transaction: the shared version is bumped
+     * there, and the local snapshot only changes once the transaction commits.
+     */
+    public void onPayGroupSaved(PayGroup payGroup) {
+        final long version = bumpVersion();
+        final PayGroup copy = detachedCopy(payGroup);
+        final Runnable apply = () -> {
+            // Only adopt the new version if no other node's change sits between it and ours, else the next poll reloads
+            snapshot.updateAndGet(current -> current.with(copy,
+                    current.version() == version - 1 ? version : current.version()));
+            log.debug("Pay group cache refreshed for ID: {} at version {}", copy.getId(), version);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payroll.pay-group-cache.poll-interval-ms:30000}")
+    public void refreshIfStale() {
+        try {
+            final long storedVersion = payGroupVersionRepository.findById(PayGroupVersion.SINGLETON_ID)
+                    .map(PayGroupVersion::getVersion)
+                    .orElse(0L);
+            if (storedVersion != snapshot.get().version()) {
+                reload(storedVersion);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Pay group cache version check failed, keeping current snapshot: {}", e.getMessage());
+        }
+    }
+
+    public void reload() {
+        reload(payGroupVersionRepository.findById(PayGroupVersion.SINGLETON_ID)
+                .map(PayGroupVersion::getVersion)
+                .orElse(0L));
+    }
+
+    public long getVersion() {
+        return snapshot.get().version();
+    }
+
+    private void reload(long version) {
+        final Map<Integer, PayGroup> payGroups = payGroupRepository.findAll().stream()
+                .map(PayGroupCache::detachedCopy)
+                .collect(Collectors.toUnmodifiableMap(PayGroup::getId, Function.identity()));
+        snapshot.set(new Snapshot(version, payGroups));
+        log.info("Pay group cache reloaded with {} pay groups at version {} (hits={}, misses={})",
+                payGroups.size(), version, hits.sum(), misses.sum());
+    }
+
+    private long bumpVersion() {
+        final PayGroupVersion row = payGroupVersionRepository.findByIdForUpdate(PayGroupVersion.SINGLETON_ID)
+                .orElseGet(() -> new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 0L));
+        row.setVersion(row.getVersion() + 1);
+        payGroupVersionRepository.save(row);
+        return row.getVersion();
+    }
+
+    private static PayGroup detachedCopy(PayGroup payGroup) {
+        return PayGroup.builder()
+                .id(payGroup.getId())
+                .groupName(payGroup.getGroupName())
+                .paymentCycle(payGroup.getPaymentCycle())
+                .baseTaxRate(payGroup.getBaseTaxRate())
+                .benefitRate(payGroup.getBenefitRate())
+                .deductionRate(payGroup.getDeductionRate())
+                .ratesVersion(payGroup.getRatesVersion())
+                .createdAt(payGroup.getCreatedAt())
+                .build();
+    }
+
+    private record Snapshot(long version, Map<Integer, PayGroup> payGroups) {
+
+        Snapshot with(PayGroup payGroup, long newVersion) {
+            final Map<Integer, PayGroup> copy = new HashMap<>(payGroups);
+            copy.put(payGroup.getId(), payGroup);
+            return new Snapshot(newVersion, Map.copyOf(copy));
+        }
+
+        Snapshot withIfAbsent(PayGroup payGroup) {
+            return payGroups.containsKey(payGroup.getId()) ? this : with(payGroup, version);
+        }
+    }
+}
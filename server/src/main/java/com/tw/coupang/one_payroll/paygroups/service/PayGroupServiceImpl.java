@@ -6,12 +6,14 @@ import com.tw.coupang.one_payroll.paygroups.dto.response.PayGroupDetailsResponse
 import com.tw.coupang.one_payroll.paygroups.dto.response.PayGroupResponse;
 import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
 import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
+import com.tw.coupang.one_payroll.paygroups.exception.PayGroupNotFoundException;
 import com.tw.coupang.one_payroll.paygroups.repository.PayGroupRepository;
 import com.tw.coupang.one_payroll.paygroups.validator.PayGroupValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Slf4j
@@ -20,10 +22,14 @@ public class PayGroupServiceImpl implements PayGroupService {
 
     private final PayGroupRepository payGroupRepository;
     private final PayGroupValidator payGroupValidator;
+    private final PayGroupCache payGroupCache;
 
-    public PayGroupServiceImpl(PayGroupRepository payGroupRepository, PayGroupValidator payGroupValidator) {
+    public PayGroupServiceImpl(PayGroupRepository payGroupRepository,
+                               PayGroupValidator payGroupValidator,
+                               PayGroupCache payGroupCache) {
         this.payGroupRepository = payGroupRepository;
         this.payGroupValidator = payGroupValidator;
+        this.payGroupCache = payGroupCache;
     }
 
     @Transactional
@@ -37,6 +43,7 @@ public class PayGroupServiceImpl implements PayGroupService {
 
         PayGroup payGroup = buildPayGroup(request, name);
         PayGroup savedPayGroup = payGroupRepository.save(payGroup);
+        payGroupCache.onPayGroupSaved(savedPayGroup);
 
         log.info("Pay group '{}' created successfully with ID: {}", name, savedPayGroup.getId());
         return buildPayGroupResponse(savedPayGroup.getId());
@@ -47,7 +54,9 @@ public class PayGroupServiceImpl implements PayGroupService {
     public PayGroupResponse update(Integer id, PayGroupUpdateRequest request) {
         log.info("Updating pay group with ID: {}", id);
 
-        PayGroup existing = payGroupValidator.validatePayGroupExists(id);
+        // Read from the database, the cached copy may lag behind changes made on another node
+        PayGroup existing = payGroupRepository.findById(id)
+                .orElseThrow(() -> new PayGroupNotFoundException("Pay group with ID '" + id + "' not found!"));
         log.debug("Existing pay group retrieved: {}", existing);
 
         String newName = request.getGroupName() != null ? request.getGroupName().trim() : null;
@@ -65,8 +74,12 @@ public class PayGroupServiceImpl implements PayGroupService {
                 .deductionRate(resolve(request.getDeductionRate(), existing.getDeductionRate()))
                 .createdAt(existing.getCreatedAt())
                 .build();
+        updated.setRatesVersion(ratesChanged(existing, updated)
+                ? existing.getRatesVersion() + 1
+                : existing.getRatesVersion());
 
         updated = payGroupRepository.save(updated);
+        payGroupCache.onPayGroupSaved(updated);
         log.info("Pay group ID {} updated successfully", updated.getId());
 
         return buildPayGroupResponse(updated.getId());
@@ -120,6 +133,17 @@ public class PayGroupServiceImpl implements PayGroupService {
                 .build();
     }
 
+    private boolean ratesChanged(PayGroup existing, PayGroup updated) {
+        return existing.getPaymentCycle() != updated.getPaymentCycle()
+                || !sameRate(existing.getBaseTaxRate(), updated.getBaseTaxRate())
+                || !sameRate(existing.getBenefitRate(), updated.getBenefitRate())
+                || !sameRate(existing.getDeductionRate(), updated.getDeductionRate());
+    }
+
+    private boolean sameRate(BigDecimal oldRate, BigDecimal newRate) {
+        return oldRate == null ? newRate == null : newRate != null && oldRate.compareTo(newRate) == 0;
+    }
+
     private <T> T resolve(T newValue, T oldValue) {
         return newValue != null ? newValue : oldValue;
     }
@@ -4,6 +4,7 @@ import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
 import com.tw.coupang.one_payroll.paygroups.exception.DuplicatePayGroupException;
 import com.tw.coupang.one_payroll.paygroups.exception.PayGroupNotFoundException;
 import com.tw.coupang.one_payroll.paygroups.repository.PayGroupRepository;
+import com.tw.coupang.one_payroll.paygroups.service.PayGroupCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -11,9 +12,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class PayGroupValidator {
     private final PayGroupRepository repository;
+    private final PayGroupCache payGroupCache;
 
-    public PayGroupValidator(PayGroupRepository repository) {
+    public PayGroupValidator(PayGroupRepository repository, PayGroupCache payGroupCache) {
         this.repository = repository;
+        this.payGroupCache = payGroupCache;
     }
 
     public void validateDuplicateName(String name) {
@@ -30,7 +33,7 @@ public class PayGroupValidator {
     public PayGroup validatePayGroupExists(Integer id) {
         log.debug("Validating existence of pay group with ID: {}", id);
 
-        return repository.findById(id)
+        return payGroupCache.get(id)
                 .orElseThrow(() -> new PayGroupNotFoundException("Pay group with ID '" + id + "' not found!"));
     }
 }
@@ -6,9 +6,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 public interface PayPeriodRepository extends JpaRepository<PayPeriod, Integer> {
 
+    Optional<PayPeriod> findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(Integer payGroupId,
+                                                                           LocalDate periodStartDate,
+                                                                           LocalDate periodEndDate);
+
     @Query("""
         select case when count(p) > 0 then true else false end
         from PayPeriod p
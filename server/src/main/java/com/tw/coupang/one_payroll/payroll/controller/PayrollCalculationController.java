@@ -1,17 +1,28 @@
 package com.tw.coupang.one_payroll.payroll.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.request.PayrollCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollSimulationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.response.ApiResponse;
-import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunCursor;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunPageResponse;
 import com.tw.coupang.one_payroll.payroll.service.PayrollCalculationService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDate;
-import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
@@ -21,9 +32,12 @@ import static java.util.Objects.nonNull;
 public class PayrollCalculationController {
 
     private final PayrollCalculationService payrollCalculationService;
+    private final ObjectMapper objectMapper;
 
-    public PayrollCalculationController(PayrollCalculationService payrollCalculationService) {
+    public PayrollCalculationController(PayrollCalculationService payrollCalculationService,
+                                        ObjectMapper objectMapper) {
         this.payrollCalculationService = payrollCalculationService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/calculate")
@@ -34,24 +48,105 @@ public class PayrollCalculationController {
                 "PAYROLL_CALCULATION_SUCCESS", "Payroll calculation completed successfully", payrollResponse));
     }
 
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<ApiResponse> calculatePayrollBatch(@Valid @RequestBody PayrollBatchCalculationRequest request) {
+        log.info("Received batch payroll calculation request for payGroupIds={}", request.getPayGroupIds());
+        final var batchResponse = payrollCalculationService.calculateBatch(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                "PAYROLL_BATCH_CALCULATION_SUCCESS", "Batch payroll calculation completed successfully", batchResponse));
+    }
+
+    @PostMapping("/recalculate")
+    public ResponseEntity<ApiResponse> recalculatePayroll(@Valid @RequestBody PayrollBatchCalculationRequest request) {
+        log.info("Received incremental payroll recalculation request for payGroupIds={}", request.getPayGroupIds());
+        final var recalculationResponse = payrollCalculationService.recalculateBatch(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                "PAYROLL_RECALCULATION_SUCCESS", "Incremental payroll recalculation completed successfully",
+                recalculationResponse));
+    }
+
+    @PostMapping(value = "/simulate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulatePayroll(@Valid @RequestBody PayrollSimulationRequest request) {
+        log.info("Received payroll simulation request for payGroupId={}", request.getPayGroupId());
+        // Validated before streaming starts so an unknown pay group or bad period still gets a proper error status
+        final var simulation = payrollCalculationService.prepareSimulation(request);
+
+        final StreamingResponseBody body = outputStream -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+            final var summary = payrollCalculationService.simulate(simulation, diff -> writeLine(writer, diff));
+            writeLine(writer, summary);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse> getPayroll(@RequestParam(required = false) final String employeeId,
                                                   @RequestParam(required = false) final LocalDate periodStart,
-                                                  @RequestParam(required = false) final LocalDate periodEnd) {
+                                                  @RequestParam(required = false) final LocalDate periodEnd,
+                                                  @RequestParam(required = false) final String cursor,
+                                                  @RequestParam(required = false) final Integer limit) {
+        final ApiResponse invalidQuery = validatePayrollQuery(employeeId, periodStart, periodEnd);
+        if (nonNull(invalidQuery)) {
+            return ResponseEntity.badRequest().body(invalidQuery);
+        }
+        if (nonNull(limit) && limit < 1) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("INVALID_LIMIT",
+                    "limit must be greater than 0"));
+        }
+        final PayrollRunCursor after;
+        try {
+            after = isNull(cursor) ? null : PayrollRunCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("INVALID_CURSOR",
+                    "cursor must be a nextCursor value returned by a previous page"));
+        }
+        PayrollRunPageResponse payrollRuns = payrollCalculationService.getPayroll(employeeId, periodStart, periodEnd,
+                after, limit);
+        return ResponseEntity.ok(ApiResponse.success(
+                "PAYROLL_FETCH_SUCCESS", "Payroll records fetched successfully", payrollRuns));
+    }
+
+    // Selected with ?stream=true, writes every matching run as one NDJSON line instead of a page
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<?> streamPayroll(@RequestParam(required = false) final String employeeId,
+                                           @RequestParam(required = false) final LocalDate periodStart,
+                                           @RequestParam(required = false) final LocalDate periodEnd) {
+        final ApiResponse invalidQuery = validatePayrollQuery(employeeId, periodStart, periodEnd);
+        if (nonNull(invalidQuery)) {
+            return ResponseEntity.badRequest().body(invalidQuery);
+        }
+        final StreamingResponseBody body = outputStream -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+            payrollCalculationService.streamPayroll(employeeId, periodStart, periodEnd,
+                    payrollRun -> writeLine(writer, payrollRun));
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private ApiResponse validatePayrollQuery(final String employeeId,
+                                             final LocalDate periodStart,
+                                             final LocalDate periodEnd) {
         if (isNull(employeeId) && isNull(periodStart) && isNull(periodEnd)) {
-            return ResponseEntity.badRequest().body(ApiResponse.error("INVALID_REQUEST",
-                    "At least one parameter (employeeId, periodStart, periodEnd) must be provided"));
+            return ApiResponse.error("INVALID_REQUEST",
+                    "At least one parameter (employeeId, periodStart, periodEnd) must be provided");
         }
         if ((isNull(periodStart) && nonNull(periodEnd)) || (nonNull(periodStart) && isNull(periodEnd))) {
-            return ResponseEntity.badRequest().body(ApiResponse.error("MISSING_PARAMETER",
-                    "periodStart is required when periodEnd is provided"));
+            return ApiResponse.error("MISSING_PARAMETER", "periodStart is required when periodEnd is provided");
         }
         if (nonNull(periodStart) && nonNull(periodEnd) && periodEnd.isBefore(periodStart)) {
-            return ResponseEntity.badRequest().body(ApiResponse.error("INVALID_DATE_RANGE",
-                    "periodEnd cannot be before periodStart"));
+            return ApiResponse.error("INVALID_DATE_RANGE", "periodEnd cannot be before periodStart");
+        }
+        return null;
+    }
+
+    private void writeLine(final Writer writer, final Object line) {
+        try {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        List<PayrollRunResponse> payrollRuns = payrollCalculationService.getPayroll(employeeId, periodStart, periodEnd);
-        return ResponseEntity.ok(ApiResponse.success(
-                "PAYROLL_FETCH_SUCCESS", "Payroll records fetched successfully", payrollRuns));
     }
 }
@@ -0,0 +1,50 @@
+package com.tw.coupang.one_payroll.payroll.controller;
+
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.ApiResponse;
+import com.tw.coupang.one_payroll.payroll.service.PayrollJobService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/payroll/jobs")
+public class PayrollJobController {
+
+    private final PayrollJobService payrollJobService;
+
+    public PayrollJobController(PayrollJobService payrollJobService) {
+        this.payrollJobService = payrollJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse> submitJob(@Valid @RequestBody PayrollBatchCalculationRequest request) {
+        log.info("Received payroll job request for payGroupIds={}", request.getPayGroupIds());
+        final var job = payrollJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                "PAYROLL_JOB_ACCEPTED", "Payroll job accepted", job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse> getJob(@PathVariable String jobId) {
+        final var job = payrollJobService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(
+                "PAYROLL_JOB_FETCH_SUCCESS", "Payroll job fetched successfully", job));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<ApiResponse> cancelJob(@PathVariable String jobId) {
+        log.info("Received cancellation request for payroll job {}", jobId);
+        final var job = payrollJobService.cancel(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                "PAYROLL_JOB_CANCEL_REQUESTED", "Payroll job cancellation requested", job));
+    }
+}
@@ -0,0 +1,33 @@
+package com.tw.coupang.one_payroll.payroll.dto.request;
+
+import com.tw.coupang.one_payroll.common.validator.HasPayPeriod;
+import com.tw.coupang.one_payroll.common.validator.ValidPayPeriod;
+import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@ValidPayPeriod
+public class PayrollBatchCalculationRequest implements HasPayPeriod {
+
+    @NotEmpty(message = "payGroupIds is required")
+    private List<@NotNull(message = "payGroupIds must not contain empty values") Integer> payGroupIds;
+
+    @NotNull(message = "payPeriod is required")
+    @Valid
+    private PayPeriod payPeriod;
+
+    // Optional, defaults to payroll.calculation.engine
+    private CalculationEngine calculationEngine;
+}
@@ -3,6 +3,7 @@ package com.tw.coupang.one_payroll.payroll.dto.request;
 import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
 import com.tw.coupang.one_payroll.common.validator.HasPayPeriod;
 import com.tw.coupang.one_payroll.common.validator.ValidPayPeriod;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -24,4 +25,7 @@ public class PayrollCalculationRequest implements HasPayPeriod {
     @NotNull(message = "payPeriod is required")
     @Valid
     private PayPeriod payPeriod;
+
+    // Optional, defaults to payroll.calculation.engine
+    private CalculationEngine calculationEngine;
 }
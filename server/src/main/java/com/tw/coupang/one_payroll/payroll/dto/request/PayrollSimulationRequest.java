@@ -0,0 +1,47 @@
+package com.tw.coupang.one_payroll.payroll.dto.request;
+
+import com.tw.coupang.one_payroll.common.validator.HasPayPeriod;
+import com.tw.coupang.one_payroll.common.validator.ValidPayPeriod;
+import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@ValidPayPeriod
+public class PayrollSimulationRequest implements HasPayPeriod {
+
+    @NotNull(message = "payGroupId is required")
+    private Integer payGroupId;
+
+    @NotNull(message = "payPeriod is required")
+    @Valid
+    private PayPeriod payPeriod;
+
+    // Proposed rates, a missing rate keeps the pay group's current one
+    @DecimalMin(value = "0.0", inclusive = true, message = "baseTaxRate must be >= 0.0")
+    @DecimalMax(value = "60.0", inclusive = true, message = "baseTaxRate must be <= 60.0")
+    private BigDecimal baseTaxRate;
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "benefitRate must be >= 0.0")
+    @DecimalMax(value = "100.0", inclusive = true, message = "benefitRate must be <= 100.0")
+    private BigDecimal benefitRate;
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "deductionRate must be >= 0.0")
+    @DecimalMax(value = "100.0", inclusive = true, message = "deductionRate must be <= 100.0")
+    private BigDecimal deductionRate;
+
+    // Optional, defaults to payroll.calculation.engine
+    private CalculationEngine calculationEngine;
+}
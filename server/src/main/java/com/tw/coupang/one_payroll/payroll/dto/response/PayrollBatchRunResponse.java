@@ -0,0 +1,16 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record PayrollBatchRunResponse(List<Integer> payGroupIds, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                                      int employeesProcessed, int employeesFailed, int runsInserted, int runsUpdated,
+                                      int runsSkippedSubmitted, BigDecimal totalGrossPay, BigDecimal totalNetPay,
+                                      CalculationEngine calculationEngine) {
+
+}
@@ -0,0 +1,29 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import java.math.BigDecimal;
+
+public record PayrollChunkResult(int employeesRead, int employeesFailed, int runsInserted, int runsUpdated,
+                                 int runsUnchanged, int runsSkippedSubmitted, String lastEmployeeId,
+                                 BigDecimal totalGrossPay, BigDecimal totalNetPay) {
+
+    public static PayrollChunkResult empty(final String lastEmployeeId) {
+        return new PayrollChunkResult(0, 0, 0, 0, 0, 0, lastEmployeeId, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public int runsWritten() {
+        return runsInserted + runsUpdated;
+    }
+
+    public PayrollChunkResult add(final PayrollChunkResult other) {
+        return new PayrollChunkResult(
+                employeesRead + other.employeesRead,
+                employeesFailed + other.employeesFailed,
+                runsInserted + other.runsInserted,
+                runsUpdated + other.runsUpdated,
+                runsUnchanged + other.runsUnchanged,
+                runsSkippedSubmitted + other.runsSkippedSubmitted,
+                other.lastEmployeeId,
+                totalGrossPay.add(other.totalGrossPay),
+                totalNetPay.add(other.totalNetPay));
+    }
+}
@@ -0,0 +1,20 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+public record PayrollJobResponse(String jobId, PayrollJobStatus status, List<Integer> payGroupIds,
+                                 LocalDate payPeriodStart, LocalDate payPeriodEnd, CalculationEngine calculationEngine,
+                                 int totalEmployees, int processedEmployees, int failedEmployees,
+                                 int remainingEmployees, BigDecimal employeesPerSecond, boolean cancelRequested,
+                                 String errorMessage, LocalDateTime createdAt, LocalDateTime startedAt,
+                                 LocalDateTime finishedAt) {
+
+}
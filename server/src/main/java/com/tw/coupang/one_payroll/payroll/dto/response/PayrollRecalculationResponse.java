@@ -0,0 +1,15 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record PayrollRecalculationResponse(List<Integer> payGroupIds, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                                           int employeesChecked, int employeesFailed, int runsRecalculated,
+                                           int runsUnchanged, int runsSkippedSubmitted,
+                                           CalculationEngine calculationEngine) {
+
+}
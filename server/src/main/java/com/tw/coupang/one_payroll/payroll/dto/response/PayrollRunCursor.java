@@ -0,0 +1,37 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in a payroll listing, the sort key of the last run of a page. Sent to clients as an opaque
+ * {@code start_end_payrollId} token.
+ */
+public record PayrollRunCursor(LocalDate payPeriodStart, LocalDate payPeriodEnd, int payrollId) {
+
+    // Sorts before every stored run, used for the first page
+    public static final PayrollRunCursor START = new PayrollRunCursor(LocalDate.EPOCH, LocalDate.EPOCH, 0);
+
+    private static final String SEPARATOR = "_";
+
+    public static PayrollRunCursor after(PayrollRunView payrollRun) {
+        return new PayrollRunCursor(payrollRun.payPeriodStart(), payrollRun.payPeriodEnd(), payrollRun.payrollId());
+    }
+
+    public static PayrollRunCursor parse(String token) {
+        final String[] parts = token.split(SEPARATOR, -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+        try {
+            return new PayrollRunCursor(LocalDate.parse(parts[0]), LocalDate.parse(parts[1]),
+                    Integer.parseInt(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        return payPeriodStart + SEPARATOR + payPeriodEnd + SEPARATOR + payrollId;
+    }
+}
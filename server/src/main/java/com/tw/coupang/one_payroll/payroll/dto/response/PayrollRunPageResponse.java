@@ -0,0 +1,9 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass as {@code cursor} to fetch the next page, {@code null} on the last page
+ */
+public record PayrollRunPageResponse(List<PayrollRunResponse> payrollRuns, String nextCursor) {
+}
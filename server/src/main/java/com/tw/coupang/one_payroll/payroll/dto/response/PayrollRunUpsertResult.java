@@ -0,0 +1,22 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// payrollIds holds every inserted or updated run, skipped submitted runs are not included
+public record PayrollRunUpsertResult(int inserted, int updated, int skippedSubmitted, List<Integer> payrollIds) {
+
+    public PayrollRunUpsertResult(final int inserted, final int updated, final int skippedSubmitted) {
+        this(inserted, updated, skippedSubmitted, List.of());
+    }
+
+    public static PayrollRunUpsertResult empty() {
+        return new PayrollRunUpsertResult(0, 0, 0);
+    }
+
+    public PayrollRunUpsertResult add(final PayrollRunUpsertResult other) {
+        return new PayrollRunUpsertResult(inserted + other.inserted, updated + other.updated,
+                skippedSubmitted + other.skippedSubmitted,
+                Stream.concat(payrollIds.stream(), other.payrollIds.stream()).toList());
+    }
+}
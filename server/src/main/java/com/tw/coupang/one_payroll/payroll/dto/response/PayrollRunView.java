@@ -0,0 +1,12 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a payroll run, selected column by column so listing runs never loads entities.
+ */
+public record PayrollRunView(Integer payrollId, String employeeId, Integer payGroupId, LocalDate payPeriodStart,
+                             LocalDate payPeriodEnd, BigDecimal grossPay, BigDecimal netPay, BigDecimal taxDeduction,
+                             BigDecimal benefitAddition) {
+}
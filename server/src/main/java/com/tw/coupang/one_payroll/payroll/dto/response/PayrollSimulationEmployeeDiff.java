@@ -0,0 +1,19 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record PayrollSimulationEmployeeDiff(String employeeId, BigDecimal grossPay,
+                                            BigDecimal currentNetPay, BigDecimal proposedNetPay, BigDecimal netPayChange,
+                                            BigDecimal currentTaxAmount, BigDecimal proposedTaxAmount,
+                                            BigDecimal currentBenefitsAmount, BigDecimal proposedBenefitsAmount) {
+
+    // Tells employee lines apart from the closing summary line in the NDJSON stream
+    @JsonProperty("type")
+    public String type() {
+        return "EMPLOYEE";
+    }
+}
@@ -0,0 +1,24 @@
+package com.tw.coupang.one_payroll.payroll.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record PayrollSimulationSummary(Integer payGroupId, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                                       BigDecimal proposedBaseTaxRate, BigDecimal proposedBenefitRate,
+                                       BigDecimal proposedDeductionRate, int employeesSimulated,
+                                       BigDecimal totalGrossPay, BigDecimal totalCurrentNetPay,
+                                       BigDecimal totalProposedNetPay, BigDecimal totalNetPayChange,
+                                       BigDecimal totalCurrentTaxAmount, BigDecimal totalProposedTaxAmount,
+                                       BigDecimal totalCurrentBenefitsAmount, BigDecimal totalProposedBenefitsAmount,
+                                       CalculationEngine calculationEngine) {
+
+    @JsonProperty("type")
+    public String type() {
+        return "SUMMARY";
+    }
+}
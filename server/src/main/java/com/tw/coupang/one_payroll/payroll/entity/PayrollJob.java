@@ -0,0 +1,105 @@
+package com.tw.coupang.one_payroll.payroll.entity;
+
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payroll_job", indexes = @Index(name = "idx_payroll_job_status", columnList = "status"))
+public class PayrollJob {
+
+    @Id
+    @Column(name = "job_id", length = 36, nullable = false, updatable = false)
+    private String jobId;
+
+    // Comma separated, in processing order
+    @Column(name = "pay_group_ids", nullable = false)
+    private String payGroupIds;
+
+    @Column(name = "pay_period_start", nullable = false)
+    private LocalDate payPeriodStart;
+
+    @Column(name = "pay_period_end", nullable = false)
+    private LocalDate payPeriodEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "calculation_engine", length = 20, nullable = false)
+    private CalculationEngine calculationEngine;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private PayrollJobStatus status;
+
+    @Column(name = "total_employees", nullable = false)
+    private int totalEmployees;
+
+    @Column(name = "processed_employees", nullable = false)
+    private int processedEmployees;
+
+    @Column(name = "failed_employees", nullable = false)
+    private int failedEmployees;
+
+    // Resume point: index into payGroupIds and the last employee id of the last completed chunk
+    @Column(name = "checkpoint_pay_group_index", nullable = false)
+    private int checkpointPayGroupIndex;
+
+    @Column(name = "checkpoint_employee_id", length = 10)
+    private String checkpointEmployeeId;
+
+    // Only ever set through PayrollJobRepository.requestCancel, so progress saves never overwrite a cancellation
+    @Column(name = "cancel_requested", nullable = false, updatable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    // Node running the job and until when its lease holds. Only ever set through PayrollJobRepository.acquireLease
+    // and claimExpiredJobs, so progress saves never overwrite another node's lease
+    @Column(name = "lease_owner", length = 64, insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at", insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public List<Integer> getPayGroupIdList() {
+        return Arrays.stream(payGroupIds.split(","))
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    public static String joinPayGroupIds(List<Integer> payGroupIds) {
+        return payGroupIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -26,9 +26,13 @@ import static java.math.RoundingMode.HALF_UP;
 @Entity
 @Table(
         name = "payroll_run",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_payroll_run_emp_period",
+                columnNames = {"employee_id", "pay_period_start", "pay_period_end"}
+        ),
         indexes = {
                 @Index(name = "idx_payroll_emp", columnList = "employee_id"),
-                @Index(name = "idx_payroll_period", columnList = "pay_period_start, pay_period_end")
+                @Index(name = "idx_payroll_run_period_keyset", columnList = "pay_period_start, pay_period_end, payroll_id")
         }
 )
 public class PayrollRun {
@@ -76,6 +80,26 @@ public class PayrollRun {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Inputs the run was calculated from, compared by incremental recalculation
+    @Column(name = "pay_group_id")
+    private Integer payGroupId;
+
+    @Column(name = "pay_group_rates_version")
+    private Integer payGroupRatesVersion;
+
+    @Column(name = "employee_updated_at")
+    private LocalDateTime employeeUpdatedAt;
+
+    @Column(name = "timesheet_updated_at")
+    private LocalDateTime timesheetUpdatedAt;
+
+    // Submission lease: the node that claimed the run for submission and until when the claim holds
+    @Column(name = "claim_owner", length = 64)
+    private String claimOwner;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
     @PrePersist
     @PreUpdate
     public void validatePayroll() {
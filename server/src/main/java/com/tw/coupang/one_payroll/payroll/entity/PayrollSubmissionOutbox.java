@@ -0,0 +1,31 @@
+package com.tw.coupang.one_payroll.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// A payroll run waiting to be submitted downstream, deleted once the submission succeeds
+@Entity
+@Table(
+        name = "payroll_submission_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uq_payroll_submission_outbox_payroll", columnNames = "payroll_id")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSubmissionOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "payroll_id", nullable = false)
+    private Integer payrollId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.tw.coupang.one_payroll.payroll.enums;
+
+public enum CalculationEngine {
+    BIG_DECIMAL,    // BigDecimal arithmetic via MathsUtils.percentOf
+    FIXED_POINT     // long cents and basis points, falls back to BIG_DECIMAL when amounts do not fit
+}
@@ -0,0 +1,13 @@
+package com.tw.coupang.one_payroll.payroll.enums;
+
+public enum PayrollJobStatus {
+    QUEUED,     // Accepted, waiting for a worker
+    RUNNING,    // Chunks being calculated
+    COMPLETED,  // All pay groups processed
+    FAILED,     // Stopped by an error, checkpoint kept
+    CANCELLED;  // Stopped on request, completed chunks kept
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
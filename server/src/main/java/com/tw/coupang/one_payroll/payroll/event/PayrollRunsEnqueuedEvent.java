@@ -0,0 +1,5 @@
+package com.tw.coupang.one_payroll.payroll.event;
+
+// Published when calculated runs are added to the submission outbox, inside the transaction that adds them
+public record PayrollRunsEnqueuedEvent(int runCount) {
+}
@@ -0,0 +1,7 @@
+package com.tw.coupang.one_payroll.payroll.exception;
+
+public class PayrollJobNotFoundException extends RuntimeException {
+    public PayrollJobNotFoundException(String jobId) {
+        super("Payroll job not found with ID: " + jobId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tw.coupang.one_payroll.payroll.repository;
+
+import com.tw.coupang.one_payroll.payroll.entity.PayrollJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PayrollJobRepository extends JpaRepository<PayrollJob, String> {
+
+    /**
+     * Leases every unfinished job whose lease is missing or expired to {@code leaseOwner}. Jobs another node is still
+     * renewing are left alone, and rows locked by a concurrent claim are skipped rather than waited on. Lease times
+     * use the database clock so nodes with drifting clocks agree on expiry.
+     */
+    @Transactional
+    @Query(value = """
+    UPDATE payroll_job
+    SET lease_owner = :leaseOwner,
+        lease_expires_at = now() + make_interval(secs => :leaseSeconds)
+    WHERE job_id IN (
+        SELECT j.job_id FROM payroll_job j
+        WHERE j.status IN ('QUEUED', 'RUNNING')
+          AND (j.lease_expires_at IS NULL OR j.lease_expires_at < now())
+        FOR UPDATE SKIP LOCKED)
+    RETURNING *
+    """, nativeQuery = true)
+    List<PayrollJob> claimExpiredJobs(@Param("leaseOwner") String leaseOwner,
+                                      @Param("leaseSeconds") long leaseSeconds);
+
+    // Takes or renews the lease on one job, fails while another node holds an unexpired lease on it
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+    UPDATE payroll_job
+    SET lease_owner = :leaseOwner,
+        lease_expires_at = now() + make_interval(secs => :leaseSeconds)
+    WHERE job_id = :jobId
+      AND (lease_owner = :leaseOwner OR lease_expires_at IS NULL OR lease_expires_at < now())
+    """, nativeQuery = true)
+    int acquireLease(@Param("jobId") String jobId,
+                     @Param("leaseOwner") String leaseOwner,
+                     @Param("leaseSeconds") long leaseSeconds);
+
+    @Query("SELECT j.cancelRequested FROM PayrollJob j WHERE j.jobId = :jobId")
+    boolean isCancelRequested(@Param("jobId") String jobId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PayrollJob j SET j.cancelRequested = true WHERE j.jobId = :jobId")
+    int requestCancel(@Param("jobId") String jobId);
+}
@@ -0,0 +1,125 @@
+package com.tw.coupang.one_payroll.payroll.repository;
+
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunUpsertResult;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes payroll runs with multi-row INSERT ... ON CONFLICT statements.
+ * PayrollRun ids are IDENTITY generated, which stops Hibernate from batching inserts, and save() cannot
+ * replace a run for the same employee and pay period. SUBMITTED runs are never overwritten.
+ * Rewriting a run also drops its submission claim: a batch still in flight carries the old amounts, so its response
+ * must no longer match the run, and the recalculated run is claimed and sent again.
+ */
+@Slf4j
+@Repository
+public class PayrollRunBulkWriter {
+
+    private static final int COLUMNS_PER_ROW = 12;
+    // PostgreSQL accepts at most 65535 bind parameters per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 65535 / COLUMNS_PER_ROW;
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO payroll_run (employee_id, pay_period_start, pay_period_end, gross_pay, tax_deduction,
+                benefit_addition, net_pay, status, pay_group_id, pay_group_rates_version, employee_updated_at,
+                timesheet_updated_at)
+            VALUES
+            """;
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, CAST(? AS payroll_status), ?, ?, ?, ?)";
+    private static final String ON_CONFLICT_SUFFIX = """
+
+            ON CONFLICT (employee_id, pay_period_start, pay_period_end) DO UPDATE SET
+                gross_pay = EXCLUDED.gross_pay,
+                tax_deduction = EXCLUDED.tax_deduction,
+                benefit_addition = EXCLUDED.benefit_addition,
+                net_pay = EXCLUDED.net_pay,
+                status = EXCLUDED.status,
+                pay_group_id = EXCLUDED.pay_group_id,
+                pay_group_rates_version = EXCLUDED.pay_group_rates_version,
+                employee_updated_at = EXCLUDED.employee_updated_at,
+                timesheet_updated_at = EXCLUDED.timesheet_updated_at,
+                claim_owner = NULL,
+                claim_expires_at = NULL
+            WHERE payroll_run.status <> 'SUBMITTED'
+            RETURNING payroll_id, (xmax = 0) AS inserted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final int batchSize;
+
+    public PayrollRunBulkWriter(JdbcTemplate jdbcTemplate,
+                                Validator validator,
+                                @Value("${payroll.persistence.upsert-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_ROWS_PER_STATEMENT));
+    }
+
+    public PayrollRunUpsertResult upsert(List<PayrollRun> payrollRuns) {
+        PayrollRunUpsertResult result = PayrollRunUpsertResult.empty();
+        for (int from = 0; from < payrollRuns.size(); from += batchSize) {
+            result = result.add(upsertBatch(payrollRuns.subList(from, Math.min(from + batchSize, payrollRuns.size()))));
+        }
+        log.debug("Upserted {} payroll runs: inserted={}, updated={}, skippedSubmitted={}",
+                payrollRuns.size(), result.inserted(), result.updated(), result.skippedSubmitted());
+        return result;
+    }
+
+    private PayrollRunUpsertResult upsertBatch(List<PayrollRun> batch) {
+        batch.forEach(this::validate);
+
+        final String sql = INSERT_PREFIX + String.join(",\n", Collections.nCopies(batch.size(), ROW_PLACEHOLDERS))
+                + ON_CONFLICT_SUFFIX;
+        final List<WrittenRun> written = jdbcTemplate.query(sql, ps -> bindRows(ps, batch),
+                (rs, rowNum) -> new WrittenRun(rs.getInt("payroll_id"), rs.getBoolean("inserted")));
+
+        final int inserted = (int) written.stream().filter(WrittenRun::inserted).count();
+        final int updated = written.size() - inserted;
+        return new PayrollRunUpsertResult(inserted, updated, batch.size() - written.size(),
+                written.stream().map(WrittenRun::payrollId).toList());
+    }
+
+    private void validate(PayrollRun payrollRun) {
+        // Same checks JPA would run on persist
+        payrollRun.validatePayroll();
+        final Set<ConstraintViolation<PayrollRun>> violations = validator.validate(payrollRun);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(new HashSet<>(violations));
+        }
+    }
+
+    private void bindRows(PreparedStatement ps, List<PayrollRun> batch) throws SQLException {
+        int index = 1;
+        for (PayrollRun run : batch) {
+            ps.setString(index++, run.getEmployeeId());
+            ps.setObject(index++, run.getPayPeriodStart());
+            ps.setObject(index++, run.getPayPeriodEnd());
+            ps.setBigDecimal(index++, run.getGrossPay());
+            ps.setBigDecimal(index++, run.getTaxDeduction());
+            ps.setBigDecimal(index++, run.getBenefitAddition());
+            ps.setBigDecimal(index++, run.getNetPay());
+            ps.setString(index++, run.getStatus().name());
+            ps.setObject(index++, run.getPayGroupId());
+            ps.setObject(index++, run.getPayGroupRatesVersion());
+            ps.setObject(index++, run.getEmployeeUpdatedAt());
+            ps.setObject(index++, run.getTimesheetUpdatedAt());
+        }
+    }
+
+    record WrittenRun(int payrollId, boolean inserted) {
+    }
+}
@@ -1,30 +1,72 @@
 package com.tw.coupang.one_payroll.payroll.repository;
 
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunView;
 import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
 import com.tw.coupang.one_payroll.payroll.enums.PayrollStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PayrollRunRepository extends JpaRepository<PayrollRun, Integer> {
 
+    // Keyset pages ordered by (payPeriodStart, payPeriodEnd, payrollId), one query per filter combination. The order
+    // matches idx_payroll_run_period_keyset and uq_payroll_run_emp_period, so every page is an index range scan of its own size
     @Query("""
-    SELECT p FROM PayrollRun p
-    WHERE (:employeeId IS NULL OR p.employeeId = :employeeId)
-      AND p.payPeriodStart >= COALESCE(:startDate, p.payPeriodStart)
-      AND p.payPeriodEnd <= COALESCE(:endDate, p.payPeriodEnd)
+    SELECT new com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunView(p.payrollId, p.employeeId,
+           p.payGroupId, p.payPeriodStart, p.payPeriodEnd, p.grossPay, p.netPay, p.taxDeduction, p.benefitAddition)
+    FROM PayrollRun p
+    WHERE p.employeeId = :employeeId
+      AND (p.payPeriodStart, p.payPeriodEnd, p.payrollId) > (:afterStart, :afterEnd, :afterPayrollId)
+    ORDER BY p.payPeriodStart, p.payPeriodEnd, p.payrollId
     """)
-    List<PayrollRun> findByEmployeeIdOrPayPeriodStartAndPayPeriodEnd(
-            @Param("employeeId") String employeeId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
+    List<PayrollRunView> findPageByEmployeeId(@Param("employeeId") String employeeId,
+                                              @Param("afterStart") LocalDate afterStart,
+                                              @Param("afterEnd") LocalDate afterEnd,
+                                              @Param("afterPayrollId") Integer afterPayrollId,
+                                              Pageable pageable);
+
+    @Query("""
+    SELECT new com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunView(p.payrollId, p.employeeId,
+           p.payGroupId, p.payPeriodStart, p.payPeriodEnd, p.grossPay, p.netPay, p.taxDeduction, p.benefitAddition)
+    FROM PayrollRun p
+    WHERE p.payPeriodStart >= :startDate
+      AND p.payPeriodEnd <= :endDate
+      AND (p.payPeriodStart, p.payPeriodEnd, p.payrollId) > (:afterStart, :afterEnd, :afterPayrollId)
+    ORDER BY p.payPeriodStart, p.payPeriodEnd, p.payrollId
+    """)
+    List<PayrollRunView> findPageByPayPeriod(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             @Param("afterStart") LocalDate afterStart,
+                                             @Param("afterEnd") LocalDate afterEnd,
+                                             @Param("afterPayrollId") Integer afterPayrollId,
+                                             Pageable pageable);
+
+    @Query("""
+    SELECT new com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunView(p.payrollId, p.employeeId,
+           p.payGroupId, p.payPeriodStart, p.payPeriodEnd, p.grossPay, p.netPay, p.taxDeduction, p.benefitAddition)
+    FROM PayrollRun p
+    WHERE p.employeeId = :employeeId
+      AND p.payPeriodStart >= :startDate
+      AND p.payPeriodEnd <= :endDate
+      AND (p.payPeriodStart, p.payPeriodEnd, p.payrollId) > (:afterStart, :afterEnd, :afterPayrollId)
+    ORDER BY p.payPeriodStart, p.payPeriodEnd, p.payrollId
+    """)
+    List<PayrollRunView> findPageByEmployeeIdAndPayPeriod(@Param("employeeId") String employeeId,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate,
+                                                          @Param("afterStart") LocalDate afterStart,
+                                                          @Param("afterEnd") LocalDate afterEnd,
+                                                          @Param("afterPayrollId") Integer afterPayrollId,
+                                                          Pageable pageable);
 
     @Query(value = "SELECT * FROM public.payroll_run pr WHERE pr.employee_id = :employeeId " +
             "AND TO_CHAR(pr.pay_period_end, 'YYYY-MM') = :yearMonth " +
@@ -35,9 +77,82 @@ public interface PayrollRunRepository extends JpaRepository<PayrollRun, Integer>
             @Param("yearMonth") String yearMonth
     );
 
+    List<PayrollRun> findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(Collection<String> employeeIds,
+                                                                        LocalDate payPeriodStart,
+                                                                        LocalDate payPeriodEnd);
+
     // Fetch the next 100 records that need to be sent
     List<PayrollRun> findTop5ByStatus(PayrollStatus status);
 
-    List<PayrollRun> findTop5ByStatusNot(PayrollStatus status);
+    /**
+     * Atomically leases up to {@code limit} runs waiting in payroll_submission_outbox to {@code claimOwner},
+     * oldest entries first. Rows locked by another node's claim are skipped rather than waited on, and runs whose
+     * lease has expired are claimable again. Runs the bank rejected, waiting out a retry backoff or dead-lettered in
+     * bank_integration_log are left alone. Lease times use the database clock so nodes with drifting clocks agree
+     * on expiry.
+     */
+    @Transactional
+    @Query(value = """
+    UPDATE payroll_run
+    SET claim_owner = :claimOwner,
+        claim_expires_at = now() + make_interval(secs => :leaseSeconds)
+    WHERE payroll_id IN (
+        SELECT r.payroll_id FROM payroll_submission_outbox o
+        JOIN payroll_run r ON r.payroll_id = o.payroll_id
+        WHERE r.status NOT IN ('SUBMITTED', 'SUBMISSION_FAILED')
+          AND (r.claim_expires_at IS NULL OR r.claim_expires_at < now())
+          AND NOT EXISTS (
+              SELECT 1 FROM bank_integration_log b
+              WHERE b.payroll_id = o.payroll_id
+                AND b.status IN ('RETRY', 'DEAD_LETTER'))
+        ORDER BY o.outbox_id
+        LIMIT :limit
+        FOR UPDATE OF r SKIP LOCKED)
+    RETURNING *
+    """, nativeQuery = true)
+    List<PayrollRun> claimPendingRuns(@Param("claimOwner") String claimOwner,
+                                      @Param("leaseSeconds") long leaseSeconds,
+                                      @Param("limit") int limit);
+
+    // Only touches runs still leased to claimOwner, a node whose lease expired cannot overwrite a newer claim.
+    // Returns the ids of the runs it updated, runs recalculated since the claim are left out
+    @Transactional
+    @Query(value = """
+    UPDATE payroll_run
+    SET status = 'SUBMITTED',
+        claim_owner = NULL,
+        claim_expires_at = NULL
+    WHERE payroll_id IN (:payrollIds)
+      AND claim_owner = :claimOwner
+    RETURNING payroll_id
+    """, nativeQuery = true)
+    List<Integer> markClaimedRunsSubmitted(@Param("payrollIds") Collection<Integer> payrollIds,
+                                           @Param("claimOwner") String claimOwner);
+
+    // Retried runs are gated by bank_integration_log instead of the lease
+    @Transactional
+    @Query(value = """
+    UPDATE payroll_run
+    SET claim_owner = NULL,
+        claim_expires_at = NULL
+    WHERE payroll_id IN (:payrollIds)
+      AND claim_owner = :claimOwner
+    RETURNING payroll_id
+    """, nativeQuery = true)
+    List<Integer> releaseClaimedRuns(@Param("payrollIds") Collection<Integer> payrollIds,
+                                     @Param("claimOwner") String claimOwner);
 
+    // A rejection is final, the run is not claimed again until a recalculation makes it PROCESSED
+    @Transactional
+    @Query(value = """
+    UPDATE payroll_run
+    SET status = 'SUBMISSION_FAILED',
+        claim_owner = NULL,
+        claim_expires_at = NULL
+    WHERE payroll_id IN (:payrollIds)
+      AND claim_owner = :claimOwner
+    RETURNING payroll_id
+    """, nativeQuery = true)
+    List<Integer> markClaimedRunsSubmissionFailed(@Param("payrollIds") Collection<Integer> payrollIds,
+                                                  @Param("claimOwner") String claimOwner);
 }
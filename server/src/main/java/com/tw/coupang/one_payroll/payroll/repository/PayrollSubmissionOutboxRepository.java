@@ -0,0 +1,40 @@
+package com.tw.coupang.one_payroll.payroll.repository;
+
+import com.tw.coupang.one_payroll.payroll.entity.PayrollSubmissionOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Repository
+public interface PayrollSubmissionOutboxRepository extends JpaRepository<PayrollSubmissionOutbox, Long> {
+
+    // A run already waiting keeps its original place in the queue
+    @Modifying
+    @Query(value = """
+    INSERT INTO payroll_submission_outbox (payroll_id)
+    SELECT payroll_id FROM payroll_run
+    WHERE payroll_id IN (:payrollIds)
+      AND status <> 'SUBMITTED'
+    ORDER BY payroll_id
+    ON CONFLICT (payroll_id) DO NOTHING
+    """, nativeQuery = true)
+    int enqueue(@Param("payrollIds") Collection<Integer> payrollIds);
+
+    // Entries are settled once their run is SUBMITTED or rejected for good, anything else stays queued for the next
+    // attempt. A run recalculated in the meantime is PROCESSED again and keeps its entry
+    @Transactional
+    @Modifying
+    @Query(value = """
+    DELETE FROM payroll_submission_outbox o
+    USING payroll_run r
+    WHERE o.payroll_id = r.payroll_id
+      AND r.payroll_id IN (:payrollIds)
+      AND r.status IN ('SUBMITTED', 'SUBMISSION_FAILED')
+    """, nativeQuery = true)
+    int deleteSettled(@Param("payrollIds") Collection<Integer> payrollIds);
+}
@@ -0,0 +1,39 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+import static java.math.RoundingMode.HALF_UP;
+
+@Component
+public class GrossPayCalculator {
+
+    private static final BigDecimal WEEKLY_STANDARD_HOURS = BigDecimal.valueOf(40);
+    private static final BigDecimal BIWEEKLY_STANDARD_HOURS = BigDecimal.valueOf(80);
+    private static final BigDecimal MONTHLY_STANDARD_HOURS = BigDecimal.valueOf(160);
+
+    private final BigDecimal hourlyRate;
+
+    public GrossPayCalculator(@Value("${payroll.gross-pay.hourly-rate:312.50}") BigDecimal hourlyRate) {
+        this.hourlyRate = hourlyRate;
+    }
+
+    /**
+     * Gross pay for the payable hours of a pay period, or for the cycle's standard hours when there is no timesheet.
+     */
+    public BigDecimal calculateGrossPay(PaymentCycle paymentCycle, BigDecimal payableHours) {
+        final BigDecimal hours = payableHours != null ? payableHours : standardHours(paymentCycle);
+        return hourlyRate.multiply(hours).setScale(2, HALF_UP);
+    }
+
+    public BigDecimal standardHours(PaymentCycle paymentCycle) {
+        return switch (paymentCycle) {
+            case WEEKLY -> WEEKLY_STANDARD_HOURS;
+            case BIWEEKLY -> BIWEEKLY_STANDARD_HOURS;
+            case MONTHLY -> MONTHLY_STANDARD_HOURS;
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import com.tw.coupang.one_payroll.timesheet.service.TimesheetHoursIndex;
+
+import java.time.LocalDate;
+
+/**
+ * Everything a batch run resolves once per pay group and shares across all chunks of that pay group.
+ */
+public record PayrollBatchContext(PayGroup payGroup, LocalDate payPeriodStart, LocalDate payPeriodEnd,
+                                  CalculationEngine calculationEngine, TimesheetHoursIndex timesheetHours) {
+}
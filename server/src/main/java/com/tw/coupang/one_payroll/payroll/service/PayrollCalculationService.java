@@ -1,13 +1,33 @@
 package com.tw.coupang.one_payroll.payroll.service;
 
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.request.PayrollCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollSimulationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollBatchRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRecalculationResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunCursor;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunPageResponse;
 import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationEmployeeDiff;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationSummary;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface PayrollCalculationService {
     PayrollRunResponse calculate(PayrollCalculationRequest request);
 
-    List<PayrollRunResponse> getPayroll(String employeeId, LocalDate periodStart, LocalDate periodEnd);
+    PayrollBatchRunResponse calculateBatch(PayrollBatchCalculationRequest request);
+
+    PayrollRecalculationResponse recalculateBatch(PayrollBatchCalculationRequest request);
+
+    PayrollSimulation prepareSimulation(PayrollSimulationRequest request);
+
+    PayrollSimulationSummary simulate(PayrollSimulation simulation, Consumer<PayrollSimulationEmployeeDiff> sink);
+
+    PayrollRunPageResponse getPayroll(String employeeId, LocalDate periodStart, LocalDate periodEnd,
+                                      PayrollRunCursor cursor, Integer limit);
+
+    long streamPayroll(String employeeId, LocalDate periodStart, LocalDate periodEnd,
+                       Consumer<PayrollRunResponse> sink);
 }
@@ -7,31 +7,86 @@ import com.tw.coupang.one_payroll.employee_master.service.EmployeeMasterService;
 import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
 import com.tw.coupang.one_payroll.paygroups.validator.PayGroupValidator;
 import com.tw.coupang.one_payroll.payperiod.validator.PayPeriodCycleValidator;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.request.PayrollCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollSimulationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollBatchRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollChunkResult;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRecalculationResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunCursor;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunPageResponse;
 import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunUpsertResult;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunView;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationEmployeeDiff;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationSummary;
 import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+import com.tw.coupang.one_payroll.payroll.event.PayrollRunsEnqueuedEvent;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollRunBulkWriter;
 import com.tw.coupang.one_payroll.payroll.repository.PayrollRunRepository;
-import lombok.AllArgsConstructor;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollSubmissionOutboxRepository;
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+import com.tw.coupang.one_payroll.timesheet.service.TimesheetHoursIndex;
+import com.tw.coupang.one_payroll.timesheet.service.TimesheetService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.tw.coupang.one_payroll.common.utils.FixedPointMathsUtils.fromCents;
+import static com.tw.coupang.one_payroll.common.utils.FixedPointMathsUtils.percentOfCents;
+import static com.tw.coupang.one_payroll.common.utils.FixedPointMathsUtils.toBasisPoints;
+import static com.tw.coupang.one_payroll.common.utils.FixedPointMathsUtils.toCents;
 import static com.tw.coupang.one_payroll.common.utils.MathsUtils.percentOf;
 import static com.tw.coupang.one_payroll.payroll.enums.PayrollStatus.PROCESSED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollStatus.SUBMITTED;
 import static java.math.RoundingMode.HALF_UP;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class PayrollCalculationServiceImpl implements PayrollCalculationService {
 
     private final EmployeeMasterService employeeMasterService;
     private final PayGroupValidator payGroupValidator;
     private final PayrollRunRepository payrollRunRepository;
+    private final PayrollRunBulkWriter payrollRunBulkWriter;
+    private final PayrollSubmissionOutboxRepository payrollSubmissionOutboxRepository;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
     private final PayPeriodCycleValidator payPeriodCycleValidator;
+    private final TimesheetService timesheetService;
+    private final GrossPayCalculator grossPayCalculator;
+
+    @Value("${payroll.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${payroll.calculation.engine:BIG_DECIMAL}")
+    private CalculationEngine defaultCalculationEngine = CalculationEngine.BIG_DECIMAL;
+
+    @Value("${payroll.query.page-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${payroll.query.max-page-size:1000}")
+    private int maxPageSize = 1000;
 
     @Override
     public PayrollRunResponse calculate(PayrollCalculationRequest request) {
@@ -56,35 +111,424 @@ public class PayrollCalculationServiceImpl implements PayrollCalculationService
 
         log.info("Pay period validated for employeeId={} ({} → {})", employeeId, startDate, endDate);
 
-        final var payrollRun = PayrollRun.builder();
-        payrollRun.employeeId(employee.getEmployeeId())
-                .payPeriodStart(request.getPayPeriod().getStartDate())
-                .payPeriodEnd(request.getPayPeriod().getEndDate());
-
-        //TODO: Use hours worked and pay group payment cycle to calculate gross pay
-        payrollGrossToNetPayCalculation(BigDecimal.valueOf(50000), payGroup, payrollRun);
-        final var payrollRunFinal = payrollRun.build();
-        payrollRunRepository.save(payrollRunFinal);
+        final Optional<TimesheetHours> timesheet = timesheetService
+                .getTimesheetHours(employeeId, payGroupId, startDate, endDate);
+        final var payrollRunFinal = buildPayrollRun(employee, payGroup, startDate, endDate,
+                timesheet.map(TimesheetHours::payableHours).orElse(null),
+                timesheet.map(TimesheetHours::updatedAt).orElse(null),
+                resolveCalculationEngine(request.getCalculationEngine()));
+        final PayrollRunUpsertResult written = persistRuns(List.of(payrollRunFinal));
+        // A submitted run is never overwritten, the response then shows what was submitted rather than the new amounts
+        final PayrollRun payrollRun = written.skippedSubmitted() > 0
+                ? findSubmittedRun(employeeId, startDate, endDate)
+                : payrollRunFinal;
         //TODO: Send payrollRun data to Payslip, deductions, benefits tables.
 
         log.info("Payroll calculation completed for Employee ID: {}, Pay Period: {} to {}",
                 request.getEmployeeId(), request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate());
 
         return PayrollRunResponse.builder()
-                .employeeId(payrollRunFinal.getEmployeeId())
+                .employeeId(payrollRun.getEmployeeId())
+                .payGroupId(payrollRun.getPayGroupId())
+                .payPeriodStart(payrollRun.getPayPeriodStart())
+                .payPeriodEnd(payrollRun.getPayPeriodEnd())
+                .grossPay(payrollRun.getGrossPay())
+                .netPay(payrollRun.getNetPay())
+                .benefitsAmount(payrollRun.getBenefitAddition())
+                .taxAmount(payrollRun.getTaxDeduction())
+                .build();
+    }
+
+    private PayrollRun findSubmittedRun(final String employeeId, final LocalDate startDate, final LocalDate endDate) {
+        log.warn("Payroll run already submitted, stored run left unchanged. employeeId={}", employeeId);
+        return payrollRunRepository
+                .findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(List.of(employeeId), startDate, endDate)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Payroll run of employee " + employeeId
+                        + " was skipped as submitted but could not be found"));
+    }
+
+    @Override
+    public PayrollBatchRunResponse calculateBatch(PayrollBatchCalculationRequest request) {
+        final LocalDate startDate = request.getPayPeriod().getStartDate();
+        final LocalDate endDate = request.getPayPeriod().getEndDate();
+        final List<Integer> payGroupIds = request.getPayGroupIds().stream().distinct().toList();
+        final CalculationEngine calculationEngine = resolveCalculationEngine(request.getCalculationEngine());
+        log.info("Initiating batch payroll calculation for payGroupIds={} ({} → {}) using {}",
+                payGroupIds, startDate, endDate, calculationEngine);
+
+        // Pay groups and the pay period are validated once up front instead of once per employee
+        final List<PayrollBatchContext> contexts = payGroupIds.stream()
+                .map(payGroupId -> createBatchContext(payGroupId, startDate, endDate, calculationEngine))
+                .toList();
+
+        final PayrollChunkResult total = processInChunks(contexts, this::calculateChunk);
+
+        log.info("Batch payroll calculation completed for payGroupIds={}, employeesProcessed={}, inserted={}, "
+                        + "updated={}, skippedSubmitted={}", payGroupIds, total.runsWritten(), total.runsInserted(),
+                total.runsUpdated(), total.runsSkippedSubmitted());
+
+        return PayrollBatchRunResponse.builder()
+                .payGroupIds(payGroupIds)
+                .payPeriodStart(startDate)
+                .payPeriodEnd(endDate)
+                .employeesProcessed(total.runsWritten())
+                .employeesFailed(total.employeesFailed())
+                .runsInserted(total.runsInserted())
+                .runsUpdated(total.runsUpdated())
+                .runsSkippedSubmitted(total.runsSkippedSubmitted())
+                .totalGrossPay(total.totalGrossPay())
+                .totalNetPay(total.totalNetPay())
+                .calculationEngine(calculationEngine)
+                .build();
+    }
+
+    @Override
+    public PayrollRecalculationResponse recalculateBatch(PayrollBatchCalculationRequest request) {
+        final LocalDate startDate = request.getPayPeriod().getStartDate();
+        final LocalDate endDate = request.getPayPeriod().getEndDate();
+        final List<Integer> payGroupIds = request.getPayGroupIds().stream().distinct().toList();
+        final CalculationEngine calculationEngine = resolveCalculationEngine(request.getCalculationEngine());
+        log.info("Initiating incremental payroll recalculation for payGroupIds={} ({} → {}) using {}",
+                payGroupIds, startDate, endDate, calculationEngine);
+
+        final List<PayrollBatchContext> contexts = payGroupIds.stream()
+                .map(payGroupId -> createBatchContext(payGroupId, startDate, endDate, calculationEngine))
+                .toList();
+
+        final PayrollChunkResult total = processInChunks(contexts, this::recalculateChunk);
+
+        log.info("Incremental payroll recalculation completed for payGroupIds={}: recalculated={}, unchanged={}, "
+                        + "skippedSubmitted={}, failed={}", payGroupIds, total.runsWritten(), total.runsUnchanged(),
+                total.runsSkippedSubmitted(), total.employeesFailed());
+
+        return PayrollRecalculationResponse.builder()
+                .payGroupIds(payGroupIds)
+                .payPeriodStart(startDate)
+                .payPeriodEnd(endDate)
+                .employeesChecked(total.employeesRead())
+                .employeesFailed(total.employeesFailed())
+                .runsRecalculated(total.runsWritten())
+                .runsUnchanged(total.runsUnchanged())
+                .runsSkippedSubmitted(total.runsSkippedSubmitted())
+                .calculationEngine(calculationEngine)
+                .build();
+    }
+
+    @Override
+    public PayrollSimulation prepareSimulation(PayrollSimulationRequest request) {
+        final LocalDate startDate = request.getPayPeriod().getStartDate();
+        final LocalDate endDate = request.getPayPeriod().getEndDate();
+        final PayGroup payGroup = payGroupValidator.validatePayGroupExists(request.getPayGroupId());
+        payPeriodCycleValidator.validatePayPeriodAgainstPayGroup(startDate, endDate, payGroup);
+
+        // A separate instance so the cached pay group is never modified
+        final PayGroup proposedPayGroup = PayGroup.builder()
+                .id(payGroup.getId())
+                .groupName(payGroup.getGroupName())
+                .paymentCycle(payGroup.getPaymentCycle())
+                .baseTaxRate(request.getBaseTaxRate() != null ? request.getBaseTaxRate() : payGroup.getBaseTaxRate())
+                .benefitRate(request.getBenefitRate() != null ? request.getBenefitRate() : payGroup.getBenefitRate())
+                .deductionRate(request.getDeductionRate() != null ? request.getDeductionRate() : payGroup.getDeductionRate())
+                .ratesVersion(payGroup.getRatesVersion())
+                .build();
+        return new PayrollSimulation(payGroup, proposedPayGroup, startDate, endDate,
+                resolveCalculationEngine(request.getCalculationEngine()));
+    }
+
+    @Override
+    public PayrollSimulationSummary simulate(final PayrollSimulation simulation,
+                                             final Consumer<PayrollSimulationEmployeeDiff> sink) {
+        final PayGroup payGroup = simulation.currentPayGroup();
+        log.info("Simulating payroll for payGroupId={} ({} → {}) with proposed rates tax={}, benefit={}, deduction={}",
+                payGroup.getId(), simulation.payPeriodStart(), simulation.payPeriodEnd(),
+                simulation.proposedPayGroup().getBaseTaxRate(), simulation.proposedPayGroup().getBenefitRate(),
+                simulation.proposedPayGroup().getDeductionRate());
+
+        // Employees and timesheets are read one chunk at a time and each diff is handed to the sink straight away,
+        // so memory stays flat however large the pay group is
+        int employeesSimulated = 0;
+        BigDecimal totalGrossPay = BigDecimal.ZERO;
+        BigDecimal totalCurrentNetPay = BigDecimal.ZERO;
+        BigDecimal totalProposedNetPay = BigDecimal.ZERO;
+        BigDecimal totalCurrentTax = BigDecimal.ZERO;
+        BigDecimal totalProposedTax = BigDecimal.ZERO;
+        BigDecimal totalCurrentBenefits = BigDecimal.ZERO;
+        BigDecimal totalProposedBenefits = BigDecimal.ZERO;
+        String afterEmployeeId = "";
+        List<EmployeeMaster> employees;
+        do {
+            employees = employeeMasterService.getActiveEmployeesByPayGroup(payGroup.getId(), afterEmployeeId,
+                    batchChunkSize);
+            final TimesheetHoursIndex timesheetHours = timesheetService.loadHoursIndex(payGroup.getId(),
+                    simulation.payPeriodStart(), simulation.payPeriodEnd(),
+                    employees.stream().map(EmployeeMaster::getEmployeeId).toList());
+
+            for (EmployeeMaster employee : employees) {
+                final BigDecimal grossPay = grossPayCalculator.calculateGrossPay(payGroup.getPaymentCycle(),
+                        timesheetHours.payableHours(employee.getEmployeeId()));
+                final PayrollRun current = simulateRun(grossPay, payGroup, simulation.calculationEngine());
+                final PayrollRun proposed = simulateRun(grossPay, simulation.proposedPayGroup(),
+                        simulation.calculationEngine());
+                sink.accept(PayrollSimulationEmployeeDiff.builder()
+                        .employeeId(employee.getEmployeeId())
+                        .grossPay(grossPay)
+                        .currentNetPay(current.getNetPay())
+                        .proposedNetPay(proposed.getNetPay())
+                        .netPayChange(proposed.getNetPay().subtract(current.getNetPay()))
+                        .currentTaxAmount(current.getTaxDeduction())
+                        .proposedTaxAmount(proposed.getTaxDeduction())
+                        .currentBenefitsAmount(current.getBenefitAddition())
+                        .proposedBenefitsAmount(proposed.getBenefitAddition())
+                        .build());
+
+                totalGrossPay = totalGrossPay.add(grossPay);
+                totalCurrentNetPay = totalCurrentNetPay.add(current.getNetPay());
+                totalProposedNetPay = totalProposedNetPay.add(proposed.getNetPay());
+                totalCurrentTax = totalCurrentTax.add(current.getTaxDeduction());
+                totalProposedTax = totalProposedTax.add(proposed.getTaxDeduction());
+                totalCurrentBenefits = totalCurrentBenefits.add(current.getBenefitAddition());
+                totalProposedBenefits = totalProposedBenefits.add(proposed.getBenefitAddition());
+            }
+
+            employeesSimulated += employees.size();
+            if (!employees.isEmpty()) {
+                afterEmployeeId = employees.get(employees.size() - 1).getEmployeeId();
+            }
+        } while (employees.size() == batchChunkSize);
+
+        log.info("Payroll simulation completed for payGroupId={}, employeesSimulated={}",
+                payGroup.getId(), employeesSimulated);
+
+        return PayrollSimulationSummary.builder()
                 .payGroupId(payGroup.getId())
-                .payPeriodStart(payrollRunFinal.getPayPeriodStart())
-                .payPeriodEnd(payrollRunFinal.getPayPeriodEnd())
-                .grossPay(payrollRunFinal.getGrossPay())
-                .netPay(payrollRunFinal.getNetPay())
-                .benefitsAmount(payrollRunFinal.getBenefitAddition())
-                .taxAmount(payrollRunFinal.getTaxDeduction())
+                .payPeriodStart(simulation.payPeriodStart())
+                .payPeriodEnd(simulation.payPeriodEnd())
+                .proposedBaseTaxRate(simulation.proposedPayGroup().getBaseTaxRate())
+                .proposedBenefitRate(simulation.proposedPayGroup().getBenefitRate())
+                .proposedDeductionRate(simulation.proposedPayGroup().getDeductionRate())
+                .employeesSimulated(employeesSimulated)
+                .totalGrossPay(totalGrossPay)
+                .totalCurrentNetPay(totalCurrentNetPay)
+                .totalProposedNetPay(totalProposedNetPay)
+                .totalNetPayChange(totalProposedNetPay.subtract(totalCurrentNetPay))
+                .totalCurrentTaxAmount(totalCurrentTax)
+                .totalProposedTaxAmount(totalProposedTax)
+                .totalCurrentBenefitsAmount(totalCurrentBenefits)
+                .totalProposedBenefitsAmount(totalProposedBenefits)
+                .calculationEngine(simulation.calculationEngine())
                 .build();
     }
 
+    private PayrollRun simulateRun(final BigDecimal grossPay,
+                                   final PayGroup payGroup,
+                                   final CalculationEngine calculationEngine) {
+        final var payrollRun = PayrollRun.builder();
+        payrollGrossToNetPayCalculation(grossPay, payGroup, payrollRun, calculationEngine);
+        return payrollRun.build();
+    }
+
+    private PayrollChunkResult processInChunks(final List<PayrollBatchContext> contexts,
+                                               final BiFunction<PayrollBatchContext, String, PayrollChunkResult> chunkProcessor) {
+        PayrollChunkResult total = PayrollChunkResult.empty("");
+        for (PayrollBatchContext context : contexts) {
+            String afterEmployeeId = "";
+            PayrollChunkResult chunk;
+            do {
+                chunk = chunkProcessor.apply(context, afterEmployeeId);
+                total = total.add(chunk);
+                afterEmployeeId = chunk.lastEmployeeId();
+            } while (chunk.employeesRead() == batchChunkSize);
+
+            log.info("Payroll chunks completed for payGroupId={}", context.payGroup().getId());
+        }
+        return total;
+    }
+
+    CalculationEngine resolveCalculationEngine(final CalculationEngine requested) {
+        return requested != null ? requested : defaultCalculationEngine;
+    }
+
+    int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    PayrollBatchContext createBatchContext(final Integer payGroupId,
+                                                   final LocalDate startDate,
+                                                   final LocalDate endDate,
+                                                   final CalculationEngine calculationEngine) {
+        final PayGroup payGroup = payGroupValidator.validatePayGroupExists(payGroupId);
+        payPeriodCycleValidator.validatePayPeriodAgainstPayGroup(startDate, endDate, payGroup);
+        // All timesheets of the pay period in one query, so chunks never look hours up per employee
+        final TimesheetHoursIndex timesheetHours = timesheetService.loadHoursIndex(payGroupId, startDate, endDate);
+        return new PayrollBatchContext(payGroup, startDate, endDate, calculationEngine, timesheetHours);
+    }
+
+    PayrollChunkResult calculateChunk(final PayrollBatchContext context, final String afterEmployeeId) {
+        final List<EmployeeMaster> employees = employeeMasterService.getActiveEmployeesByPayGroup(
+                context.payGroup().getId(), afterEmployeeId, batchChunkSize);
+        if (employees.isEmpty()) {
+            return PayrollChunkResult.empty(afterEmployeeId);
+        }
+
+        final List<PayrollRun> payrollRuns = new ArrayList<>(employees.size());
+        int failed = 0;
+        BigDecimal totalGrossPay = BigDecimal.ZERO;
+        BigDecimal totalNetPay = BigDecimal.ZERO;
+        for (EmployeeMaster employee : employees) {
+            final PayrollRun payrollRun;
+            try {
+                payrollRun = buildPayrollRun(employee, context);
+            } catch (RuntimeException e) {
+                // One employee with bad data must not fail the rest of the pay group
+                log.error("Payroll calculation failed for employeeId={}, payGroupId={}",
+                        employee.getEmployeeId(), context.payGroup().getId(), e);
+                failed++;
+                continue;
+            }
+            totalGrossPay = totalGrossPay.add(payrollRun.getGrossPay());
+            totalNetPay = totalNetPay.add(payrollRun.getNetPay());
+            payrollRuns.add(payrollRun);
+        }
+
+        // One upsert per chunk rather than one insert per employee
+        final PayrollRunUpsertResult written = payrollRuns.isEmpty()
+                ? PayrollRunUpsertResult.empty()
+                : persistRuns(payrollRuns);
+
+        final String lastEmployeeId = employees.get(employees.size() - 1).getEmployeeId();
+        log.debug("Persisted payroll chunk of {} runs for payGroupId={}, lastEmployeeId={}",
+                payrollRuns.size(), context.payGroup().getId(), lastEmployeeId);
+        return new PayrollChunkResult(employees.size(), failed, written.inserted(), written.updated(), 0,
+                written.skippedSubmitted(), lastEmployeeId, totalGrossPay, totalNetPay);
+    }
+
+    private PayrollChunkResult recalculateChunk(final PayrollBatchContext context, final String afterEmployeeId) {
+        final List<EmployeeMaster> employees = employeeMasterService.getActiveEmployeesByPayGroup(
+                context.payGroup().getId(), afterEmployeeId, batchChunkSize);
+        if (employees.isEmpty()) {
+            return PayrollChunkResult.empty(afterEmployeeId);
+        }
+
+        final Map<String, PayrollRun> existingRuns = payrollRunRepository
+                .findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(
+                        employees.stream().map(EmployeeMaster::getEmployeeId).toList(),
+                        context.payPeriodStart(), context.payPeriodEnd())
+                .stream()
+                .collect(Collectors.toMap(PayrollRun::getEmployeeId, Function.identity()));
+
+        final List<PayrollRun> payrollRuns = new ArrayList<>();
+        int unchanged = 0;
+        int skippedSubmitted = 0;
+        int failed = 0;
+        BigDecimal totalGrossPay = BigDecimal.ZERO;
+        BigDecimal totalNetPay = BigDecimal.ZERO;
+        for (EmployeeMaster employee : employees) {
+            final PayrollRun existing = existingRuns.get(employee.getEmployeeId());
+            if (existing != null && existing.getStatus() == SUBMITTED) {
+                skippedSubmitted++;
+                continue;
+            }
+            final PayrollRun payrollRun;
+            try {
+                if (existing != null && inputsUnchanged(existing, employee, context)) {
+                    unchanged++;
+                    continue;
+                }
+                payrollRun = buildPayrollRun(employee, context);
+            } catch (RuntimeException e) {
+                // Same isolation as calculateChunk, one employee with bad data must not fail the rest of the chunk
+                log.error("Payroll recalculation failed for employeeId={}, payGroupId={}",
+                        employee.getEmployeeId(), context.payGroup().getId(), e);
+                failed++;
+                continue;
+            }
+            totalGrossPay = totalGrossPay.add(payrollRun.getGrossPay());
+            totalNetPay = totalNetPay.add(payrollRun.getNetPay());
+            payrollRuns.add(payrollRun);
+        }
+
+        // A run submitted after the lookup above is still protected by the upsert itself
+        final PayrollRunUpsertResult written = payrollRuns.isEmpty()
+                ? PayrollRunUpsertResult.empty()
+                : persistRuns(payrollRuns);
+
+        final String lastEmployeeId = employees.get(employees.size() - 1).getEmployeeId();
+        log.debug("Recalculated {} of {} payroll runs for payGroupId={}, lastEmployeeId={}",
+                payrollRuns.size(), employees.size(), context.payGroup().getId(), lastEmployeeId);
+        return new PayrollChunkResult(employees.size(), failed, written.inserted(), written.updated(), unchanged,
+                skippedSubmitted + written.skippedSubmitted(), lastEmployeeId, totalGrossPay, totalNetPay);
+    }
+
+    // Runs and their outbox entries commit together, so a written run is never missed by the submission relay
+    private PayrollRunUpsertResult persistRuns(final List<PayrollRun> payrollRuns) {
+        return transactionOperations.execute(status -> {
+            final PayrollRunUpsertResult written = payrollRunBulkWriter.upsert(payrollRuns);
+            if (!written.payrollIds().isEmpty()) {
+                payrollSubmissionOutboxRepository.enqueue(written.payrollIds());
+                eventPublisher.publishEvent(new PayrollRunsEnqueuedEvent(written.payrollIds().size()));
+            }
+            return written;
+        });
+    }
+
+    private boolean inputsUnchanged(final PayrollRun existing,
+                                    final EmployeeMaster employee,
+                                    final PayrollBatchContext context) {
+        return Objects.equals(existing.getPayGroupId(), context.payGroup().getId())
+                && Objects.equals(existing.getPayGroupRatesVersion(), context.payGroup().getRatesVersion())
+                && Objects.equals(existing.getEmployeeUpdatedAt(), employee.getUpdatedAt())
+                && Objects.equals(existing.getTimesheetUpdatedAt(),
+                        context.timesheetHours().updatedAt(employee.getEmployeeId()));
+    }
+
+    private PayrollRun buildPayrollRun(final EmployeeMaster employee, final PayrollBatchContext context) {
+        final String employeeId = employee.getEmployeeId();
+        return buildPayrollRun(employee, context.payGroup(), context.payPeriodStart(), context.payPeriodEnd(),
+                context.timesheetHours().payableHours(employeeId), context.timesheetHours().updatedAt(employeeId),
+                context.calculationEngine());
+    }
+
+    private PayrollRun buildPayrollRun(final EmployeeMaster employee,
+                                       final PayGroup payGroup,
+                                       final LocalDate startDate,
+                                       final LocalDate endDate,
+                                       final BigDecimal payableHours,
+                                       final LocalDateTime timesheetUpdatedAt,
+                                       final CalculationEngine calculationEngine) {
+        final var payrollRun = PayrollRun.builder();
+        payrollRun.employeeId(employee.getEmployeeId())
+                .payPeriodStart(startDate)
+                .payPeriodEnd(endDate)
+                .payGroupId(payGroup.getId())
+                .payGroupRatesVersion(payGroup.getRatesVersion())
+                .employeeUpdatedAt(employee.getUpdatedAt())
+                .timesheetUpdatedAt(timesheetUpdatedAt);
+
+        final BigDecimal grossPay = grossPayCalculator.calculateGrossPay(payGroup.getPaymentCycle(), payableHours);
+        payrollGrossToNetPayCalculation(grossPay, payGroup, payrollRun, calculationEngine);
+        return payrollRun.build();
+    }
+
     public BigDecimal payrollGrossToNetPayCalculation(final BigDecimal grossPay,
                                                       final PayGroup payGroup,
                                                       final PayrollRun.PayrollRunBuilder payrollRun) {
+        return payrollGrossToNetPayCalculation(grossPay, payGroup, payrollRun, CalculationEngine.BIG_DECIMAL);
+    }
+
+    public BigDecimal payrollGrossToNetPayCalculation(final BigDecimal grossPay,
+                                                      final PayGroup payGroup,
+                                                      final PayrollRun.PayrollRunBuilder payrollRun,
+                                                      final CalculationEngine calculationEngine) {
+        if (calculationEngine == CalculationEngine.FIXED_POINT) {
+            final BigDecimal netPay = fixedPointGrossToNetPayCalculation(grossPay, payGroup, payrollRun);
+            if (netPay != null) {
+                return netPay;
+            }
+            log.debug("Gross pay {} or pay group {} rates not representable in cents, using BigDecimal engine",
+                    grossPay, payGroup.getId());
+        }
         final var tax = percentOf(payGroup.getBaseTaxRate(), grossPay);
         final var benefits = percentOf(payGroup.getBenefitRate(), grossPay);
         final var otherDeductions = percentOf(payGroup.getDeductionRate(), grossPay);
@@ -97,21 +541,98 @@ public class PayrollCalculationServiceImpl implements PayrollCalculationService
         return netPay;
     }
 
+    private BigDecimal fixedPointGrossToNetPayCalculation(final BigDecimal grossPay,
+                                                          final PayGroup payGroup,
+                                                          final PayrollRun.PayrollRunBuilder payrollRun) {
+        final long taxCents;
+        final long benefitCents;
+        final long deductionCents;
+        final long netCents;
+        try {
+            final long grossCents = toCents(grossPay);
+            taxCents = percentOfCents(toBasisPoints(payGroup.getBaseTaxRate()), grossCents);
+            benefitCents = percentOfCents(toBasisPoints(payGroup.getBenefitRate()), grossCents);
+            deductionCents = percentOfCents(toBasisPoints(payGroup.getDeductionRate()), grossCents);
+            netCents = Math.addExact(Math.subtractExact(Math.subtractExact(grossCents, taxCents), deductionCents),
+                    benefitCents);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        final var netPay = fromCents(netCents);
+        payrollRun.grossPay(grossPay)
+                .netPay(netPay)
+                .taxDeduction(payGroup.getBaseTaxRate() == null ? BigDecimal.ZERO : fromCents(taxCents))
+                .benefitAddition(payGroup.getBenefitRate() == null ? BigDecimal.ZERO : fromCents(benefitCents))
+                .status(PROCESSED);
+        return netPay;
+    }
+
     @Override
-    public List<PayrollRunResponse> getPayroll(final String employeeId,
-                                               final LocalDate periodStart,
-                                               final LocalDate periodEnd) {
-        final var payrollRuns = payrollRunRepository.findByEmployeeIdOrPayPeriodStartAndPayPeriodEnd(
-                employeeId, periodStart, periodEnd);
-        log.info("Fetched {} payroll records for Employee ID: {}, Period Start: {}, Period End: {}",
-                payrollRuns.size(), employeeId, periodStart, periodEnd);
-        return payrollRuns.stream().map(payrollRun -> PayrollRunResponse.builder()
-                        .employeeId(payrollRun.getEmployeeId()).payPeriodStart(payrollRun.getPayPeriodStart())
-                        .payPeriodEnd(payrollRun.getPayPeriodEnd())
-                        .netPay(payrollRun.getNetPay()).grossPay(payrollRun.getGrossPay())
-                        .benefitsAmount(payrollRun.getBenefitAddition()).taxAmount(payrollRun.getTaxDeduction())
-                        .build())
-                .toList();
+    public PayrollRunPageResponse getPayroll(final String employeeId,
+                                             final LocalDate periodStart,
+                                             final LocalDate periodEnd,
+                                             final PayrollRunCursor cursor,
+                                             final Integer limit) {
+        final int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        final List<PayrollRunView> page = findPayrollPage(employeeId, periodStart, periodEnd,
+                cursor == null ? PayrollRunCursor.START : cursor, pageSize);
+        log.info("Fetched {} payroll records for Employee ID: {}, Period Start: {}, Period End: {}, cursor: {}",
+                page.size(), employeeId, periodStart, periodEnd, cursor);
+
+        final String nextCursor = page.size() == pageSize
+                ? PayrollRunCursor.after(page.get(page.size() - 1)).encode()
+                : null;
+        return new PayrollRunPageResponse(page.stream().map(this::toPayrollRunResponse).toList(), nextCursor);
+    }
+
+    @Override
+    public long streamPayroll(final String employeeId,
+                              final LocalDate periodStart,
+                              final LocalDate periodEnd,
+                              final Consumer<PayrollRunResponse> sink) {
+        // Walks the same keyset pages as getPayroll, so only one page is held in memory at a time
+        PayrollRunCursor after = PayrollRunCursor.START;
+        long streamed = 0;
+        List<PayrollRunView> page;
+        do {
+            page = findPayrollPage(employeeId, periodStart, periodEnd, after, maxPageSize);
+            page.forEach(view -> sink.accept(toPayrollRunResponse(view)));
+            streamed += page.size();
+            if (!page.isEmpty()) {
+                after = PayrollRunCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == maxPageSize);
+
+        log.info("Streamed {} payroll records for Employee ID: {}, Period Start: {}, Period End: {}",
+                streamed, employeeId, periodStart, periodEnd);
+        return streamed;
+    }
+
+    private List<PayrollRunView> findPayrollPage(final String employeeId,
+                                                 final LocalDate periodStart,
+                                                 final LocalDate periodEnd,
+                                                 final PayrollRunCursor after,
+                                                 final int pageSize) {
+        final Pageable pageable = PageRequest.of(0, pageSize);
+        if (employeeId == null) {
+            return payrollRunRepository.findPageByPayPeriod(periodStart, periodEnd,
+                    after.payPeriodStart(), after.payPeriodEnd(), after.payrollId(), pageable);
+        }
+        if (periodStart == null) {
+            return payrollRunRepository.findPageByEmployeeId(employeeId,
+                    after.payPeriodStart(), after.payPeriodEnd(), after.payrollId(), pageable);
+        }
+        return payrollRunRepository.findPageByEmployeeIdAndPayPeriod(employeeId, periodStart, periodEnd,
+                after.payPeriodStart(), after.payPeriodEnd(), after.payrollId(), pageable);
+    }
+
+    private PayrollRunResponse toPayrollRunResponse(final PayrollRunView payrollRun) {
+        return PayrollRunResponse.builder()
+                .employeeId(payrollRun.employeeId()).payGroupId(payrollRun.payGroupId())
+                .payPeriodStart(payrollRun.payPeriodStart()).payPeriodEnd(payrollRun.payPeriodEnd())
+                .netPay(payrollRun.netPay()).grossPay(payrollRun.grossPay())
+                .benefitsAmount(payrollRun.benefitAddition()).taxAmount(payrollRun.taxDeduction())
+                .build();
     }
 
 }
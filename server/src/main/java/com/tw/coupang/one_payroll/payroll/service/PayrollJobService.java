@@ -0,0 +1,12 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollJobResponse;
+
+public interface PayrollJobService {
+    PayrollJobResponse submit(PayrollBatchCalculationRequest request);
+
+    PayrollJobResponse getJob(String jobId);
+
+    PayrollJobResponse cancel(String jobId);
+}
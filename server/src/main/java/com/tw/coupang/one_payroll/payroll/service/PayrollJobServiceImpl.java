@@ -0,0 +1,295 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.employee_master.service.EmployeeMasterService;
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.paygroups.validator.PayGroupValidator;
+import com.tw.coupang.one_payroll.payperiod.validator.PayPeriodCycleValidator;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollChunkResult;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollJobResponse;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollJob;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus;
+import com.tw.coupang.one_payroll.payroll.exception.PayrollJobNotFoundException;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.CANCELLED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.COMPLETED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.FAILED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.QUEUED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.RUNNING;
+import static java.math.RoundingMode.HALF_UP;
+
+/**
+ * Runs pay-group-wide payroll calculations in the background, one chunk at a time.
+ * Progress and a checkpoint are saved after every chunk. Because payroll runs are upserted, a job interrupted by a
+ * restart continues from its checkpoint, and at most the last unfinished chunk is calculated again.
+ * A job is leased to the node running it and the lease is renewed before every chunk. Jobs whose lease expired,
+ * because their node stopped or died, are claimed and resumed by whichever node checks first.
+ */
+@Slf4j
+@Service
+public class PayrollJobServiceImpl implements PayrollJobService {
+
+    private static final int ERROR_MESSAGE_LENGTH = 255;
+
+    private final PayrollJobRepository payrollJobRepository;
+    private final PayrollCalculationServiceImpl payrollCalculationService;
+    private final PayGroupValidator payGroupValidator;
+    private final PayPeriodCycleValidator payPeriodCycleValidator;
+    private final EmployeeMasterService employeeMasterService;
+    private final Executor jobExecutor;
+    private final String nodeId = "node-" + UUID.randomUUID();
+
+    // Must outlast the slowest chunk, the lease is only renewed between chunks
+    @Value("${payroll.jobs.lease-seconds:120}")
+    private long leaseSeconds = 120;
+
+    @Autowired
+    public PayrollJobServiceImpl(PayrollJobRepository payrollJobRepository,
+                                 PayrollCalculationServiceImpl payrollCalculationService,
+                                 PayGroupValidator payGroupValidator,
+                                 PayPeriodCycleValidator payPeriodCycleValidator,
+                                 EmployeeMasterService employeeMasterService,
+                                 @Value("${payroll.jobs.pool-size:2}") int poolSize,
+                                 @Value("${payroll.jobs.queue-capacity:20}") int queueCapacity) {
+        // Bounded threads and queue, a burst of submissions is rejected rather than piling up on the node
+        this(payrollJobRepository, payrollCalculationService, payGroupValidator, payPeriodCycleValidator,
+                employeeMasterService, new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("payroll-job-")));
+    }
+
+    PayrollJobServiceImpl(PayrollJobRepository payrollJobRepository,
+                          PayrollCalculationServiceImpl payrollCalculationService,
+                          PayGroupValidator payGroupValidator,
+                          PayPeriodCycleValidator payPeriodCycleValidator,
+                          EmployeeMasterService employeeMasterService,
+                          Executor jobExecutor) {
+        this.payrollJobRepository = payrollJobRepository;
+        this.payrollCalculationService = payrollCalculationService;
+        this.payGroupValidator = payGroupValidator;
+        this.payPeriodCycleValidator = payPeriodCycleValidator;
+        this.employeeMasterService = employeeMasterService;
+        this.jobExecutor = jobExecutor;
+    }
+
+    @Override
+    public PayrollJobResponse submit(PayrollBatchCalculationRequest request) {
+        final LocalDate startDate = request.getPayPeriod().getStartDate();
+        final LocalDate endDate = request.getPayPeriod().getEndDate();
+        final List<Integer> payGroupIds = request.getPayGroupIds().stream().distinct().toList();
+
+        // Validated up front so a bad request fails with the usual error response instead of a FAILED job
+        int totalEmployees = 0;
+        for (Integer payGroupId : payGroupIds) {
+            final PayGroup payGroup = payGroupValidator.validatePayGroupExists(payGroupId);
+            payPeriodCycleValidator.validatePayPeriodAgainstPayGroup(startDate, endDate, payGroup);
+            totalEmployees += (int) employeeMasterService.countActiveEmployeesByPayGroup(payGroupId);
+        }
+
+        final PayrollJob job = payrollJobRepository.save(PayrollJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .payGroupIds(PayrollJob.joinPayGroupIds(payGroupIds))
+                .payPeriodStart(startDate)
+                .payPeriodEnd(endDate)
+                .calculationEngine(payrollCalculationService.resolveCalculationEngine(request.getCalculationEngine()))
+                .status(QUEUED)
+                .totalEmployees(totalEmployees)
+                .build());
+        log.info("Payroll job {} queued for payGroupIds={} ({} → {}), totalEmployees={}",
+                job.getJobId(), payGroupIds, startDate, endDate, totalEmployees);
+
+        // Another node may already have picked the job up on its lease check, then it runs there
+        if (acquireLease(job.getJobId())) {
+            dispatch(job.getJobId());
+        }
+        return getJob(job.getJobId());
+    }
+
+    @Override
+    public PayrollJobResponse getJob(String jobId) {
+        return payrollJobRepository.findById(jobId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new PayrollJobNotFoundException(jobId));
+    }
+
+    @Override
+    public PayrollJobResponse cancel(String jobId) {
+        final PayrollJob job = payrollJobRepository.findById(jobId)
+                .orElseThrow(() -> new PayrollJobNotFoundException(jobId));
+        if (!job.getStatus().isTerminal()) {
+            // The worker checks the flag before every chunk, chunks already written are kept
+            payrollJobRepository.requestCancel(jobId);
+            log.info("Cancellation requested for payroll job {}", jobId);
+        }
+        return getJob(jobId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${payroll.jobs.lease-check-interval-ms:60000}",
+            initialDelayString = "${payroll.jobs.lease-check-interval-ms:60000}")
+    public void resumeInterruptedJobs() {
+        // Only jobs whose lease expired, jobs another node is still running keep renewing theirs
+        final List<PayrollJob> interrupted = payrollJobRepository.claimExpiredJobs(nodeId, leaseSeconds);
+        interrupted.forEach(job -> {
+            log.info("Resuming payroll job {} from payGroupIndex={}, afterEmployeeId={}",
+                    job.getJobId(), job.getCheckpointPayGroupIndex(), job.getCheckpointEmployeeId());
+            dispatch(job.getJobId());
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (jobExecutor instanceof ExecutorService executorService) {
+            // Interrupted jobs stay RUNNING and are resumed from their checkpoint once their lease expires
+            executorService.shutdownNow();
+        }
+    }
+
+    void run(String jobId) {
+        PayrollJob job = payrollJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus().isTerminal() || !holdsLease(jobId)) {
+            return;
+        }
+
+        try {
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            job.setStatus(RUNNING);
+            job = payrollJobRepository.save(job);
+
+            final List<Integer> payGroupIds = job.getPayGroupIdList();
+            for (int index = job.getCheckpointPayGroupIndex(); index < payGroupIds.size(); index++) {
+                final PayrollBatchContext context = payrollCalculationService.createBatchContext(payGroupIds.get(index),
+                        job.getPayPeriodStart(), job.getPayPeriodEnd(), job.getCalculationEngine());
+                String afterEmployeeId = job.getCheckpointEmployeeId() == null ? "" : job.getCheckpointEmployeeId();
+                PayrollChunkResult chunk;
+                do {
+                    if (Thread.currentThread().isInterrupted()) {
+                        log.info("Payroll job {} interrupted, will resume from its checkpoint", jobId);
+                        return;
+                    }
+                    if (!holdsLease(jobId)) {
+                        return;
+                    }
+                    if (payrollJobRepository.isCancelRequested(jobId)) {
+                        finish(job, CANCELLED, null);
+                        return;
+                    }
+
+                    chunk = payrollCalculationService.calculateChunk(context, afterEmployeeId);
+                    afterEmployeeId = chunk.lastEmployeeId();
+                    job.setProcessedEmployees(job.getProcessedEmployees() + chunk.employeesRead() - chunk.employeesFailed());
+                    job.setFailedEmployees(job.getFailedEmployees() + chunk.employeesFailed());
+                    job.setCheckpointEmployeeId(afterEmployeeId);
+                    job = payrollJobRepository.save(job);
+                } while (chunk.employeesRead() == payrollCalculationService.getBatchChunkSize());
+
+                job.setCheckpointPayGroupIndex(index + 1);
+                job.setCheckpointEmployeeId(null);
+                job = payrollJobRepository.save(job);
+            }
+            finish(job, COMPLETED, null);
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Payroll job {} interrupted during shutdown, will resume from its checkpoint", jobId);
+                return;
+            }
+            log.error("Payroll job {} failed", jobId, e);
+            finish(job, FAILED, e.getMessage());
+        }
+    }
+
+    private boolean acquireLease(String jobId) {
+        return payrollJobRepository.acquireLease(jobId, nodeId, leaseSeconds) > 0;
+    }
+
+    // Renews the lease, a node that lost it stops so two nodes never write the same job's checkpoint
+    private boolean holdsLease(String jobId) {
+        if (acquireLease(jobId)) {
+            return true;
+        }
+        log.warn("Payroll job {} is leased to another node, {} stops running it", jobId, nodeId);
+        return false;
+    }
+
+    private void dispatch(String jobId) {
+        try {
+            jobExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Payroll job {} rejected, job queue is full", jobId);
+            payrollJobRepository.findById(jobId)
+                    .ifPresent(job -> finish(job, FAILED, "Job queue is full, submit the job again later"));
+        }
+    }
+
+    private void finish(PayrollJob job, PayrollJobStatus status, String errorMessage) {
+        job.setStatus(status);
+        job.setFinishedAt(LocalDateTime.now());
+        if (errorMessage != null) {
+            job.setErrorMessage(errorMessage.length() > ERROR_MESSAGE_LENGTH
+                    ? errorMessage.substring(0, ERROR_MESSAGE_LENGTH)
+                    : errorMessage);
+        }
+        payrollJobRepository.save(job);
+        log.info("Payroll job {} finished with status={}, processed={}, failed={}",
+                job.getJobId(), status, job.getProcessedEmployees(), job.getFailedEmployees());
+    }
+
+    private PayrollJobResponse toResponse(PayrollJob job) {
+        return PayrollJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus())
+                .payGroupIds(job.getPayGroupIdList())
+                .payPeriodStart(job.getPayPeriodStart())
+                .payPeriodEnd(job.getPayPeriodEnd())
+                .calculationEngine(job.getCalculationEngine())
+                .totalEmployees(job.getTotalEmployees())
+                .processedEmployees(job.getProcessedEmployees())
+                .failedEmployees(job.getFailedEmployees())
+                .remainingEmployees(Math.max(0,
+                        job.getTotalEmployees() - job.getProcessedEmployees() - job.getFailedEmployees()))
+                .employeesPerSecond(throughput(job))
+                .cancelRequested(job.isCancelRequested())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private BigDecimal throughput(PayrollJob job) {
+        if (job.getStartedAt() == null) {
+            return BigDecimal.ZERO;
+        }
+        final LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        final long elapsedMillis = Duration.between(job.getStartedAt(), end).toMillis();
+        if (elapsedMillis <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(job.getProcessedEmployees() * 1000L)
+                .divide(BigDecimal.valueOf(elapsedMillis), 2, HALF_UP);
+    }
+}
@@ -0,0 +1,13 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.payroll.enums.CalculationEngine;
+
+import java.time.LocalDate;
+
+/**
+ * A validated what-if run. The proposed pay group is a standalone copy carrying the proposed rates and is never saved.
+ */
+public record PayrollSimulation(PayGroup currentPayGroup, PayGroup proposedPayGroup, LocalDate payPeriodStart,
+                                LocalDate payPeriodEnd, CalculationEngine calculationEngine) {
+}
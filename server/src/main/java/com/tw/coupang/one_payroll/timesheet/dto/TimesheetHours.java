@@ -0,0 +1,13 @@
+package com.tw.coupang.one_payroll.timesheet.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TimesheetHours(String employeeId, BigDecimal hoursWorked, BigDecimal holidayHours,
+                             LocalDateTime updatedAt) {
+
+    public BigDecimal payableHours() {
+        final BigDecimal worked = hoursWorked == null ? BigDecimal.ZERO : hoursWorked;
+        return holidayHours == null ? worked : worked.add(holidayHours);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tw.coupang.one_payroll.timesheet.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "timesheet_summary",
+    indexes = {
+        @Index(name = "idx_timesheet_employee", columnList = "employee_id"),
+        @Index(name = "idx_timesheet_period", columnList = "pay_period_id")
+    }
+)
+public class TimesheetSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false, length = 10)
+    private String employeeId;
+
+    @Column(name = "pay_period_id", nullable = false)
+    private Integer payPeriodId;
+
+    @Column(name = "no_of_days_worked")
+    private Integer noOfDaysWorked;
+
+    @Column(name = "hours_worked", precision = 6, scale = 2)
+    private BigDecimal hoursWorked;
+
+    @Column(name = "holiday_hours", precision = 6, scale = 2)
+    @Builder.Default
+    private BigDecimal holidayHours = BigDecimal.ZERO;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.tw.coupang.one_payroll.timesheet.repository;
+
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+import com.tw.coupang.one_payroll.timesheet.entity.TimesheetSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TimesheetSummaryRepository extends JpaRepository<TimesheetSummary, Long> {
+
+    @Query("""
+        select new com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours(
+            t.employeeId, t.hoursWorked, t.holidayHours, t.updatedAt)
+        from TimesheetSummary t
+        where t.employeeId = :employeeId
+          and t.payPeriodId = :payPeriodId
+    """)
+    Optional<TimesheetHours> findHoursByEmployeeIdAndPayPeriodId(@Param("employeeId") String employeeId,
+                                                                @Param("payPeriodId") Integer payPeriodId);
+
+    @Query("""
+        select new com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours(
+            t.employeeId, t.hoursWorked, t.holidayHours, t.updatedAt)
+        from TimesheetSummary t
+        where t.payPeriodId = :payPeriodId
+    """)
+    List<TimesheetHours> findHoursByPayPeriodId(@Param("payPeriodId") Integer payPeriodId);
+
+    @Query("""
+        select new com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours(
+            t.employeeId, t.hoursWorked, t.holidayHours, t.updatedAt)
+        from TimesheetSummary t
+        where t.payPeriodId = :payPeriodId
+          and t.employeeId in :employeeIds
+    """)
+    List<TimesheetHours> findHoursByPayPeriodIdAndEmployeeIdIn(@Param("payPeriodId") Integer payPeriodId,
+                                                               @Param("employeeIds") Collection<String> employeeIds);
+}
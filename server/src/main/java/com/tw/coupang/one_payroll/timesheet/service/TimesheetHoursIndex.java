@@ -0,0 +1,76 @@
+package com.tw.coupang.one_payroll.timesheet.service;
+
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only payable hours (hours worked + holiday hours) of one pay period, keyed by employee id.
+ * Held as a sorted id array plus hundredths of hours so a batch run can keep a whole pay period in memory.
+ */
+public final class TimesheetHoursIndex {
+
+    private static final TimesheetHoursIndex EMPTY =
+            new TimesheetHoursIndex(new String[0], new long[0], new LocalDateTime[0]);
+
+    private final String[] employeeIds;
+    private final long[] payableHundredths;
+    private final LocalDateTime[] updatedAt;
+
+    private TimesheetHoursIndex(String[] employeeIds, long[] payableHundredths, LocalDateTime[] updatedAt) {
+        this.employeeIds = employeeIds;
+        this.payableHundredths = payableHundredths;
+        this.updatedAt = updatedAt;
+    }
+
+    public static TimesheetHoursIndex empty() {
+        return EMPTY;
+    }
+
+    public static TimesheetHoursIndex of(List<TimesheetHours> timesheets) {
+        if (timesheets.isEmpty()) {
+            return EMPTY;
+        }
+        // Sorted here rather than in SQL, database collation order may differ from String.compareTo
+        final TimesheetHours[] sorted = timesheets.toArray(new TimesheetHours[0]);
+        Arrays.sort(sorted, Comparator.comparing(TimesheetHours::employeeId));
+
+        final String[] ids = new String[sorted.length];
+        final long[] hundredths = new long[sorted.length];
+        final LocalDateTime[] updated = new LocalDateTime[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].employeeId();
+            hundredths[i] = toHundredths(sorted[i].hoursWorked()) + toHundredths(sorted[i].holidayHours());
+            updated[i] = sorted[i].updatedAt();
+        }
+        return new TimesheetHoursIndex(ids, hundredths, updated);
+    }
+
+    /**
+     * @return payable hours of the employee, or {@code null} when the employee has no timesheet in this period
+     */
+    public BigDecimal payableHours(String employeeId) {
+        final int position = Arrays.binarySearch(employeeIds, employeeId);
+        return position < 0 ? null : BigDecimal.valueOf(payableHundredths[position], 2);
+    }
+
+    /**
+     * @return last update of the employee's timesheet, or {@code null} when the employee has no timesheet in this period
+     */
+    public LocalDateTime updatedAt(String employeeId) {
+        final int position = Arrays.binarySearch(employeeIds, employeeId);
+        return position < 0 ? null : updatedAt[position];
+    }
+
+    public int size() {
+        return employeeIds.length;
+    }
+
+    private static long toHundredths(BigDecimal hours) {
+        return hours == null ? 0L : hours.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,16 @@
+package com.tw.coupang.one_payroll.timesheet.service;
+
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface TimesheetService {
+    Optional<TimesheetHours> getTimesheetHours(String employeeId, Integer payGroupId, LocalDate periodStart, LocalDate periodEnd);
+
+    TimesheetHoursIndex loadHoursIndex(Integer payGroupId, LocalDate periodStart, LocalDate periodEnd);
+
+    TimesheetHoursIndex loadHoursIndex(Integer payGroupId, LocalDate periodStart, LocalDate periodEnd,
+                                       Collection<String> employeeIds);
+}
@@ -0,0 +1,60 @@
+package com.tw.coupang.one_payroll.timesheet.service;
+
+import com.tw.coupang.one_payroll.payperiod.entity.PayPeriod;
+import com.tw.coupang.one_payroll.payperiod.repository.PayPeriodRepository;
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+import com.tw.coupang.one_payroll.timesheet.repository.TimesheetSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimesheetServiceImpl implements TimesheetService {
+
+    private final PayPeriodRepository payPeriodRepository;
+    private final TimesheetSummaryRepository timesheetSummaryRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TimesheetHours> getTimesheetHours(String employeeId, Integer payGroupId,
+                                                      LocalDate periodStart, LocalDate periodEnd) {
+        return payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(payGroupId, periodStart, periodEnd)
+                .flatMap(payPeriod -> timesheetSummaryRepository
+                        .findHoursByEmployeeIdAndPayPeriodId(employeeId, payPeriod.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimesheetHoursIndex loadHoursIndex(Integer payGroupId, LocalDate periodStart, LocalDate periodEnd) {
+        final Optional<PayPeriod> payPeriod = payPeriodRepository
+                .findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(payGroupId, periodStart, periodEnd);
+        if (payPeriod.isEmpty()) {
+            log.info("No pay period found for payGroupId={} ({} → {}), using standard hours", payGroupId, periodStart, periodEnd);
+            return TimesheetHoursIndex.empty();
+        }
+        final TimesheetHoursIndex index = TimesheetHoursIndex.of(
+                timesheetSummaryRepository.findHoursByPayPeriodId(payPeriod.get().getId()));
+        log.info("Loaded {} timesheets for payPeriodId={}", index.size(), payPeriod.get().getId());
+        return index;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimesheetHoursIndex loadHoursIndex(Integer payGroupId, LocalDate periodStart, LocalDate periodEnd,
+                                              Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return TimesheetHoursIndex.empty();
+        }
+        return payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(payGroupId, periodStart, periodEnd)
+                .map(payPeriod -> TimesheetHoursIndex.of(timesheetSummaryRepository
+                        .findHoursByPayPeriodIdAndEmployeeIdIn(payPeriod.getId(), employeeIds)))
+                .orElseGet(TimesheetHoursIndex::empty);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tw.coupang.one_payroll.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FixedPointMathsUtilsTest {
+
+    @Test
+    void toCentsConvertsAmountsWithAtMostTwoDecimals() {
+        assertEquals(5000000L, FixedPointMathsUtils.toCents(BigDecimal.valueOf(50000)));
+        assertEquals(1234L, FixedPointMathsUtils.toCents(new BigDecimal("12.34")));
+        assertEquals(1230L, FixedPointMathsUtils.toCents(new BigDecimal("12.300")));
+    }
+
+    @Test
+    void toCentsRejectsSubCentAmounts() {
+        assertThrows(ArithmeticException.class, () -> FixedPointMathsUtils.toCents(new BigDecimal("12.345")));
+    }
+
+    @Test
+    void toBasisPointsTreatsNullAsZero() {
+        assertEquals(0L, FixedPointMathsUtils.toBasisPoints(null));
+        assertEquals(250L, FixedPointMathsUtils.toBasisPoints(BigDecimal.valueOf(2.50)));
+    }
+
+    @Test
+    void percentOfCentsRoundsHalfUpAwayFromZero() {
+        // 0.05 * 10% = 0.005 -> 0.01
+        assertEquals(1L, FixedPointMathsUtils.percentOfCents(1000L, 5L));
+        assertEquals(-1L, FixedPointMathsUtils.percentOfCents(1000L, -5L));
+        // 0.04 * 10% = 0.004 -> 0.00
+        assertEquals(0L, FixedPointMathsUtils.percentOfCents(1000L, 4L));
+    }
+
+    @Test
+    void percentOfCentsThrowsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> FixedPointMathsUtils.percentOfCents(10000L, Long.MAX_VALUE));
+    }
+}
@@ -12,9 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -215,4 +217,27 @@ class EmployeeMasterServiceImplTest {
         verify(repository, never()).save(any(EmployeeMaster.class));
     }
 
+    @Test
+    void getActiveEmployeesByPayGroupUsesKeysetFromStartWhenCursorMissing() {
+        EmployeeMaster employee = EmployeeMaster.builder()
+                .employeeId("E001")
+                .payGroupId(1)
+                .status(EmployeeStatus.ACTIVE)
+                .build();
+        when(repository.findChunkByPayGroupIdAndStatus(1, EmployeeStatus.ACTIVE, "", PageRequest.of(0, 50)))
+                .thenReturn(List.of(employee));
+
+        List<EmployeeMaster> result = service.getActiveEmployeesByPayGroup(1, null, 50);
+
+        assertEquals(1, result.size());
+        verify(repository).findChunkByPayGroupIdAndStatus(1, EmployeeStatus.ACTIVE, "", PageRequest.of(0, 50));
+    }
+
+    @Test
+    void countActiveEmployeesByPayGroupDelegatesToRepository() {
+        when(repository.countByPayGroupIdAndStatus(1, EmployeeStatus.ACTIVE)).thenReturn(42L);
+
+        assertEquals(42L, service.countActiveEmployeesByPayGroup(1));
+    }
+
 }
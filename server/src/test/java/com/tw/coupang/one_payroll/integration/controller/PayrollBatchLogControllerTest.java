@@ -1,5 +1,6 @@
 package com.tw.coupang.one_payroll.integration.controller;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogPageResponse;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogResponse;
 import com.tw.coupang.one_payroll.integration.service.PayrollBatchLogService;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +24,7 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any; // Import for any(Class<T>) and any()
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -119,4 +121,30 @@ class PayrollBatchLogControllerTest {
 
         verify(payrollBatchLogService, times(1)).getBatchLogs(eq("BATCH-202512"), eq("E001"), any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return a keyset page with the next cursor")
+    void testScrollBatchLogsShouldReturnNextCursor() throws Exception {
+        when(payrollBatchLogService.getBatchLogsAfter("BATCH-202512", null, 40L, 1))
+                .thenReturn(new PayrollBatchLogPageResponse(List.of(mockResponse), 41L));
+
+        mockMvc.perform(get("/integration/payroll/logs/scroll")
+                        .param("batchId", "BATCH-202512")
+                        .param("cursor", "40")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.logs[0].employeeId", is("E001")))
+                .andExpect(jsonPath("$.nextCursor", is(41)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a keyset page limit below 1")
+    void testScrollBatchLogsWithInvalidLimitShouldReturn400() throws Exception {
+        mockMvc.perform(get("/integration/payroll/logs/scroll")
+                        .param("employeeId", "E001")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(payrollBatchLogService, never()).getBatchLogsAfter(any(), any(), any(), any());
+    }
+}
@@ -4,19 +4,25 @@ import com.tw.coupang.one_payroll.common.exception.GlobalExceptionHandler;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
 import com.tw.coupang.one_payroll.integration.exception.BatchNotFoundException;
 import com.tw.coupang.one_payroll.integration.service.PayrollBatchStatusService;
+import com.tw.coupang.one_payroll.integration.service.PayrollBatchStatusStreamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,9 +36,14 @@ class PayrollBatchStatusControllerTest {
     @Mock
     private PayrollBatchStatusService payrollBatchStatusService;
 
+    @Mock
+    private PayrollBatchStatusStreamService payrollBatchStatusStreamService;
+
     @InjectMocks
     private PayrollBatchStatusController payrollBatchStatusController;
 
+    private static final String ETAG = "\"2025-11-28T10:15:30\"";
+
     private PayrollBatchStatusResponse testResponse;
 
     @BeforeEach
@@ -48,6 +59,8 @@ class PayrollBatchStatusControllerTest {
                 .processedAt(LocalDateTime.now())
                 .logMessage("Batch processed successfully")
                 .build();
+
+        lenient().when(payrollBatchStatusService.getBatchStatusETag(anyString())).thenReturn(ETAG);
     }
 
     @Test
@@ -72,7 +85,7 @@ class PayrollBatchStatusControllerTest {
     void testGetBatchStatusWhenBatchDoesNotExistShouldReturn404() throws Exception {
 
         String batchId = "BATCH-99999999-999";
-        when(payrollBatchStatusService.getBatchStatus(batchId))
+        when(payrollBatchStatusService.getBatchStatusETag(batchId))
                 .thenThrow(new BatchNotFoundException(batchId));
 
 
@@ -82,7 +95,77 @@ class PayrollBatchStatusControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Batch not found")))
                 .andExpect(jsonPath("$.timestamp", notNullValue()));
 
-        verify(payrollBatchStatusService, times(1)).getBatchStatus(batchId);
+        verify(payrollBatchStatusService, never()).getBatchStatus(batchId);
+    }
+
+    @Test
+    @DisplayName("Should return the batch's ETag with its status")
+    void testGetBatchStatusShouldReturnETagHeader() throws Exception {
+        when(payrollBatchStatusService.getBatchStatus("BATCH-20251128-001")).thenReturn(testResponse);
+
+        mockMvc.perform(get("/integration/payroll/status/{batchId}", "BATCH-20251128-001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    @DisplayName("Should return 304 without loading the batch when the ETag still matches")
+    void testGetBatchStatusWithMatchingETagShouldReturn304() throws Exception {
+        mockMvc.perform(get("/integration/payroll/status/{batchId}", "BATCH-20251128-001")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(payrollBatchStatusService, never()).getBatchStatus(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 200 when the ETag no longer matches")
+    void testGetBatchStatusWithStaleETagShouldReturn200() throws Exception {
+        when(payrollBatchStatusService.getBatchStatus("BATCH-20251128-001")).thenReturn(testResponse);
+
+        mockMvc.perform(get("/integration/payroll/status/{batchId}", "BATCH-20251128-001")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2025-11-28T09:00\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overallStatus", is("SUCCESS")));
+    }
+
+    @Test
+    @DisplayName("Should open a status stream for the batch with its current status")
+    void testStreamBatchStatusShouldSubscribeWithCurrentStatus() throws Exception {
+        when(payrollBatchStatusService.findBatchStatus("BATCH-20251128-001")).thenReturn(testResponse);
+        when(payrollBatchStatusStreamService.subscribeToBatch(eq("BATCH-20251128-001"), any()))
+                .thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/integration/payroll/status/{batchId}/events", "BATCH-20251128-001"))
+                .andExpect(request().asyncStarted());
+
+        ArgumentCaptor<Supplier<PayrollBatchStatusResponse>> currentStatus = ArgumentCaptor.forClass(Supplier.class);
+        verify(payrollBatchStatusStreamService).subscribeToBatch(eq("BATCH-20251128-001"), currentStatus.capture());
+        assertSame(testResponse, currentStatus.getValue().get());
+    }
+
+    @Test
+    @DisplayName("Should return 404 instead of a status stream for an unknown batch")
+    void testStreamBatchStatusNotFoundShouldReturn404() throws Exception {
+        String batchId = "BATCH-INVALID-ID";
+        when(payrollBatchStatusStreamService.subscribeToBatch(eq(batchId), any()))
+                .thenThrow(new BatchNotFoundException(batchId));
+
+        mockMvc.perform(get("/integration/payroll/status/{batchId}/events", batchId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString(batchId)));
+    }
+
+    @Test
+    @DisplayName("Should open a status stream for a pay period")
+    void testStreamPayPeriodStatusShouldSubscribe() throws Exception {
+        when(payrollBatchStatusStreamService.subscribeToPayPeriod("2025-11")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/integration/payroll/status/events").param("payPeriod", "2025-11"))
+                .andExpect(request().asyncStarted());
+
+        verify(payrollBatchStatusStreamService).subscribeToPayPeriod("2025-11");
     }
 
     @Test
@@ -122,7 +205,7 @@ class PayrollBatchStatusControllerTest {
     void testGetBatchStatusNotFoundShouldReturnErrorDetails() throws Exception {
 
         String batchId = "BATCH-INVALID-ID";
-        when(payrollBatchStatusService.getBatchStatus(batchId))
+        when(payrollBatchStatusService.getBatchStatusETag(batchId))
                 .thenThrow(new BatchNotFoundException(batchId));
 
 
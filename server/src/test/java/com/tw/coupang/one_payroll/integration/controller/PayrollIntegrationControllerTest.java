@@ -1,26 +1,43 @@
 package com.tw.coupang.one_payroll.integration.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.DownstreamThrottledException;
+import com.tw.coupang.one_payroll.integration.service.DownstreamSimulator;
 import com.tw.coupang.one_payroll.integration.service.MockIntegrationService;
+import com.tw.coupang.one_payroll.integration.transport.PayrollBatchPayloadCodec;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PayrollIntegrationController.class)
+@Import(PayrollBatchPayloadCodec.class)
 class PayrollIntegrationControllerTest {
 
     @Autowired
@@ -29,9 +46,15 @@ class PayrollIntegrationControllerTest {
     @MockitoBean
     private MockIntegrationService mockIntegrationService;
 
+    @MockitoBean
+    private DownstreamSimulator downstreamSimulator;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PayrollBatchPayloadCodec payloadCodec;
+
     @Test
     void shouldReturn200AndResponseWhenRequestIsValid() throws Exception {
         PayrollBatchRequest request = new PayrollBatchRequest();
@@ -51,6 +74,25 @@ class PayrollIntegrationControllerTest {
                 .andExpect(jsonPath("$.status").value("SUCCESS"));
     }
 
+    @Test
+    void shouldReturn429WithRetryAfterWhenDownstreamThrottles() throws Exception {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-001");
+        request.setPayPeriod("2023-10");
+        request.setTotalAmount(new BigDecimal("5000.00"));
+        request.setEmployeeIds(List.of("E001"));
+
+        doThrow(new DownstreamThrottledException(2)).when(downstreamSimulator).simulateTransport();
+
+        mockMvc.perform(post("/integration/payroll/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+
+        verify(mockIntegrationService, never()).processBatch(any());
+    }
+
     @Test
     void shouldReturn400WhenRequestIsInvalid() throws Exception {
         PayrollBatchRequest invalidRequest = new PayrollBatchRequest();
@@ -62,4 +104,69 @@ class PayrollIntegrationControllerTest {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldStreamGzippedLineItemBatchIntoService() throws Exception {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-002");
+        request.setPayPeriod("2023-10");
+        request.setTotalAmount(new BigDecimal("1750.00"));
+        request.setLineItems(List.of(
+                new PayrollBatchLineItem("E001", new BigDecimal("1000.00"), new BigDecimal("100.00"),
+                        BigDecimal.ZERO, new BigDecimal("900.00")),
+                new PayrollBatchLineItem("E002", new BigDecimal("900.00"), new BigDecimal("90.00"),
+                        new BigDecimal("40.00"), new BigDecimal("850.00"))));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            payloadCodec.write(request, gzip);
+        }
+
+        List<PayrollBatchLineItem> received = new ArrayList<>();
+        when(mockIntegrationService.processBatch(any(PayrollBatchRequest.class), any())).thenAnswer(invocation -> {
+            Iterator<PayrollBatchLineItem> lineItems = invocation.getArgument(1);
+            lineItems.forEachRemaining(received::add);
+            return new PayrollBatchResponse("BATCH-002", "SUCCESS", "2023-10-01T10:00:00", "");
+        });
+
+        mockMvc.perform(post("/integration/payroll/submit")
+                        .contentType(PayrollBatchPayloadCodec.MEDIA_TYPE)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.batchRefId").value("BATCH-002"));
+
+        assertEquals(request.getLineItems(), received);
+        verify(mockIntegrationService).processBatch(argThat((PayrollBatchRequest header) ->
+                "BATCH-002".equals(header.getBatchRefId())
+                        && new BigDecimal("1750.00").compareTo(header.getTotalAmount()) == 0), any());
+    }
+
+    @Test
+    void shouldReturn400WhenLineItemBatchHeaderIsInvalid() throws Exception {
+        mockMvc.perform(post("/integration/payroll/submit")
+                        .contentType(PayrollBatchPayloadCodec.MEDIA_TYPE)
+                        .content("{\"batchRefId\":\"BATCH-003\",\"payPeriod\":\"2023-13\",\"totalAmount\":10,\"lineItems\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(mockIntegrationService, never()).processBatch(any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenLineItemBatchHasNoPayPeriod() throws Exception {
+        mockMvc.perform(post("/integration/payroll/submit")
+                        .contentType(PayrollBatchPayloadCodec.MEDIA_TYPE)
+                        .content("{\"batchRefId\":\"BATCH-004\",\"totalAmount\":10,\"lineItems\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(mockIntegrationService, never()).processBatch(any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenLineItemBatchIsMalformed() throws Exception {
+        mockMvc.perform(post("/integration/payroll/submit")
+                        .contentType(PayrollBatchPayloadCodec.MEDIA_TYPE)
+                        .content("[1, 2, 3]"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,65 @@
+package com.tw.coupang.one_payroll.integration.repository;
+
+import com.tw.coupang.one_payroll.integration.entity.PayrollBatchLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollBatchLogBulkWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PayrollBatchLogBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new PayrollBatchLogBulkWriter(jdbcTemplate, 2);
+    }
+
+    @Test
+    void shouldInsertInChunksOfFlushSize() {
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(2).thenReturn(1);
+
+        final int inserted = writer.insert(List.of(buildLog("E001"), buildLog("E002"), buildLog("E003")));
+
+        assertEquals(3, inserted);
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), any(PreparedStatementSetter.class));
+        assertEquals(2, sql.getAllValues().get(0).split("\\(\\?, \\?, \\?, \\?, \\?\\)", -1).length - 1);
+        assertEquals(1, sql.getAllValues().get(1).split("\\(\\?, \\?, \\?, \\?, \\?\\)", -1).length - 1);
+    }
+
+    @Test
+    void shouldNotTouchDatabaseForEmptyInput() {
+        assertEquals(0, writer.insert(List.of()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private PayrollBatchLog buildLog(String employeeId) {
+        return PayrollBatchLog.builder()
+                .batchRefId("BATCH-1")
+                .employeeId(employeeId)
+                .status("SUCCESS")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
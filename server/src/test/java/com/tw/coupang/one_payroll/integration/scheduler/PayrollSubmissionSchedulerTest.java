@@ -2,23 +2,30 @@ package com.tw.coupang.one_payroll.integration.scheduler;
 
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
 import com.tw.coupang.one_payroll.integration.service.MockIntegrationService;
+import com.tw.coupang.one_payroll.integration.transport.PayrollSubmissionTransport;
 import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
 import com.tw.coupang.one_payroll.payroll.enums.PayrollStatus;
+import com.tw.coupang.one_payroll.payroll.event.PayrollRunsEnqueuedEvent;
 import com.tw.coupang.one_payroll.payroll.repository.PayrollRunRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -32,11 +39,20 @@ class PayrollSubmissionSchedulerTest {
     private MockIntegrationService mockIntegrationService;
 
     @Mock
-    private RestTemplate restTemplate;
+    private PayrollSubmissionTransport submissionTransport;
+
+    @Mock
+    private Executor drainExecutor;
 
-    @InjectMocks
     private PayrollSubmissionScheduler scheduler;
 
+    @BeforeEach
+    void setUp() {
+        scheduler = new PayrollSubmissionScheduler(payrollRunRepository, submissionTransport, mockIntegrationService,
+                drainExecutor);
+        lenient().when(submissionTransport.acceptsSubmissions()).thenReturn(true);
+    }
+
     @Test
     void shouldSubmitBatchAndUpdateStatusWhenApiCallSucceeds() {
         // Arrange
@@ -47,22 +63,21 @@ class PayrollSubmissionSchedulerTest {
                 .status(PayrollStatus.PROCESSED)
                 .build();
 
-        ReflectionTestUtils.setField(scheduler, "mockApiUrl", "http://localhost:8080/test-url");
-
-        when(payrollRunRepository.findTop5ByStatusNot(PayrollStatus.SUBMITTED))
+        when(payrollRunRepository.claimPendingRuns(anyString(), eq(300L), eq(500)))
                 .thenReturn(List.of(run));
 
         PayrollBatchResponse mockResponse = new PayrollBatchResponse("BATCH-123", "SUCCESS", "time", "Batch processed successfully.");
-        when(restTemplate.postForObject(anyString(), any(PayrollBatchRequest.class), eq(PayrollBatchResponse.class)))
-                .thenReturn(mockResponse);
+        when(submissionTransport.submit(any(PayrollBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockResponse));
 
         scheduler.submitPendingBatches();
 
-        verify(mockIntegrationService).updateLocalRecords(anyList(), eq("SUCCESS"));
+        verify(mockIntegrationService).updateLocalRecords(anyList(), argThat(response -> "SUCCESS".equals(response.getStatus())),
+                startsWith("node-"));
     }
 
     @Test
-    void shouldNotUpdateRecordsWhenApiCallFails() {
+    void shouldScheduleRetryInsteadOfRecordingOutcomeWhenApiCallFails() {
         // Arrange
         PayrollRun run = PayrollRun.builder()
                 .employeeId("E001")
@@ -71,14 +86,220 @@ class PayrollSubmissionSchedulerTest {
                 .status(PayrollStatus.PROCESSED)
                 .build();
 
-        when(payrollRunRepository.findTop5ByStatusNot(PayrollStatus.SUBMITTED))
+        when(payrollRunRepository.claimPendingRuns(anyString(), anyLong(), anyInt()))
                 .thenReturn(List.of(run));
 
-        when(restTemplate.postForObject(anyString(), any(PayrollBatchRequest.class), eq(PayrollBatchResponse.class)))
-                .thenThrow(new RestClientException("Connection Refused"));
+        when(submissionTransport.submit(any(PayrollBatchRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new PayrollSubmissionException("Connection Refused")));
 
         scheduler.submitPendingBatches();
 
         verify(payrollRunRepository, never()).saveAll(any());
+        verify(mockIntegrationService, never()).updateLocalRecords(anyList(), any(), anyString());
+        verify(mockIntegrationService).recordSubmissionError(eq(List.of(run)), anyString(), eq("Connection Refused"),
+                anyString());
+    }
+
+    @Test
+    void shouldKeepClaimingWhileChunksComeBackFull() {
+        PayrollRun first = PayrollRun.builder()
+                .payrollId(1)
+                .employeeId("E001")
+                .payPeriodEnd(LocalDate.now())
+                .netPay(BigDecimal.TEN)
+                .status(PayrollStatus.PROCESSED)
+                .build();
+        PayrollRun second = PayrollRun.builder()
+                .payrollId(2)
+                .employeeId("E002")
+                .payPeriodEnd(LocalDate.now())
+                .netPay(BigDecimal.ONE)
+                .status(PayrollStatus.PROCESSED)
+                .build();
+
+        ReflectionTestUtils.setField(scheduler, "claimSize", 1);
+
+        when(payrollRunRepository.claimPendingRuns(anyString(), eq(300L), eq(1)))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(second))
+                .thenReturn(List.of());
+        when(submissionTransport.submit(any(PayrollBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new PayrollBatchResponse("BATCH-123", "SUCCESS", "time", "Batch processed successfully.")));
+
+        scheduler.submitPendingBatches();
+
+        verify(payrollRunRepository, times(3)).claimPendingRuns(anyString(), eq(300L), eq(1));
+        verify(mockIntegrationService, times(2)).updateLocalRecords(anyList(), argThat(response -> "SUCCESS".equals(response.getStatus())),
+                anyString());
+    }
+
+    @Test
+    void shouldClaimNextChunkWhileEarlierBatchIsInFlight() {
+        ReflectionTestUtils.setField(scheduler, "claimSize", 1);
+        CompletableFuture<PayrollBatchResponse> pending = new CompletableFuture<>();
+
+        when(payrollRunRepository.claimPendingRuns(anyString(), eq(300L), eq(1)))
+                .thenReturn(List.of(buildRun(1, "E001", LocalDate.now(), LocalDate.now(), 10)))
+                .thenAnswer(invocation -> {
+                    // The first batch has not been answered yet, complete it before the poll waits on it
+                    assertFalse(pending.isDone());
+                    pending.complete(new PayrollBatchResponse("BATCH-1", "SUCCESS", "time", "Batch processed successfully."));
+                    return List.of();
+                });
+        when(submissionTransport.submit(any(PayrollBatchRequest.class))).thenReturn(pending);
+
+        scheduler.submitPendingBatches();
+
+        verify(payrollRunRepository, times(2)).claimPendingRuns(anyString(), eq(300L), eq(1));
+        verify(mockIntegrationService).updateLocalRecords(anyList(), argThat(response -> "SUCCESS".equals(response.getStatus())),
+                anyString());
+    }
+
+    @Test
+    void shouldNotClaimWhileDownstreamIsSuspended() {
+        when(submissionTransport.acceptsSubmissions()).thenReturn(false);
+
+        scheduler.submitPendingBatches();
+
+        verify(payrollRunRepository, never()).claimPendingRuns(anyString(), anyLong(), anyInt());
+        verifyNoInteractions(mockIntegrationService);
+    }
+
+    @Test
+    void shouldDoNothingWhenNoRunsCanBeClaimed() {
+        when(payrollRunRepository.claimPendingRuns(anyString(), anyLong(), anyInt())).thenReturn(List.of());
+
+        scheduler.submitPendingBatches();
+
+        verify(submissionTransport, never()).submit(any());
+        verifyNoInteractions(mockIntegrationService);
+    }
+
+    @Test
+    void shouldBackOffPollingWhileOutboxIsIdle() {
+        when(payrollRunRepository.claimPendingRuns(anyString(), anyLong(), anyInt())).thenReturn(List.of());
+        ReflectionTestUtils.setField(scheduler, "maxPollIntervalMs", 15000L);
+
+        scheduler.submitPendingBatches();
+        assertEquals(10000L, scheduler.getPollIntervalMs());
+
+        scheduler.submitPendingBatches();
+        scheduler.submitPendingBatches();
+        assertEquals(15000L, scheduler.getPollIntervalMs());
+    }
+
+    @Test
+    void shouldPollAtMinimumIntervalOnceWorkIsFound() {
+        ReflectionTestUtils.setField(scheduler, "pollIntervalMs", 300000L);
+        when(payrollRunRepository.claimPendingRuns(anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of(buildRun(1, "E001", LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30), 1)));
+        when(submissionTransport.submit(any(PayrollBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new PayrollBatchResponse("B", "SUCCESS", "time", "ok")));
+
+        scheduler.submitPendingBatches();
+
+        assertEquals(5000L, scheduler.getPollIntervalMs());
+    }
+
+    @Test
+    void shouldKeepPollingAtMinimumIntervalWhileDownstreamIsSuspended() {
+        ReflectionTestUtils.setField(scheduler, "pollIntervalMs", 40000L);
+        when(submissionTransport.acceptsSubmissions()).thenReturn(false);
+
+        scheduler.submitPendingBatches();
+
+        assertEquals(5000L, scheduler.getPollIntervalMs());
+    }
+
+    @Test
+    void shouldCoalesceEnqueuedEventsIntoOneWakeUp() {
+        when(payrollRunRepository.claimPendingRuns(anyString(), anyLong(), anyInt())).thenReturn(List.of());
+
+        scheduler.onRunsEnqueued(new PayrollRunsEnqueuedEvent(3));
+        scheduler.onRunsEnqueued(new PayrollRunsEnqueuedEvent(2));
+
+        ArgumentCaptor<Runnable> wakeUp = ArgumentCaptor.forClass(Runnable.class);
+        verify(drainExecutor, times(1)).execute(wakeUp.capture());
+
+        wakeUp.getValue().run();
+        verify(payrollRunRepository).claimPendingRuns(anyString(), anyLong(), anyInt());
+
+        // Commits after the wake-up ran trigger a new one
+        scheduler.onRunsEnqueued(new PayrollRunsEnqueuedEvent(1));
+        verify(drainExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void shouldSubmitOneBatchPerPayPeriodAndPayGroup() {
+        LocalDate monthStart = LocalDate.of(2025, 11, 1);
+        LocalDate monthEnd = LocalDate.of(2025, 11, 30);
+        LocalDate weekStart = LocalDate.of(2025, 11, 3);
+        LocalDate weekEnd = LocalDate.of(2025, 11, 9);
+        List<PayrollRun> claimed = List.of(
+                buildRun(1, "E001", monthStart, monthEnd, 10),
+                buildRun(2, "E002", weekStart, weekEnd, 20),
+                buildRun(3, "E003", monthStart, monthEnd, 10),
+                buildRun(4, "E004", monthStart, monthEnd, 10));
+
+        ReflectionTestUtils.setField(scheduler, "batchMaxSize", 2);
+
+        when(payrollRunRepository.claimPendingRuns(anyString(), eq(300L), eq(500))).thenReturn(claimed);
+        when(submissionTransport.submit(any(PayrollBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new PayrollBatchResponse("BATCH-123", "SUCCESS", "time", "Batch processed successfully.")));
+
+        scheduler.submitPendingBatches();
+
+        ArgumentCaptor<PayrollBatchRequest> requests = ArgumentCaptor.forClass(PayrollBatchRequest.class);
+        verify(submissionTransport, times(3)).submit(requests.capture());
+        assertEquals(List.of("E001", "E003"), requests.getAllValues().get(0).getEmployeeIds());
+        assertEquals(10, requests.getAllValues().get(0).getPayGroupId());
+        assertEquals(List.of("E004"), requests.getAllValues().get(1).getEmployeeIds());
+        assertEquals(List.of("E002"), requests.getAllValues().get(2).getEmployeeIds());
+        assertEquals(20, requests.getAllValues().get(2).getPayGroupId());
+        assertEquals("2025-11", requests.getAllValues().get(2).getPayPeriod());
+        assertEquals(weekStart, requests.getAllValues().get(2).getPayPeriodStart());
+        assertEquals(weekEnd, requests.getAllValues().get(2).getPayPeriodEnd());
+        assertEquals(monthStart, requests.getAllValues().get(0).getPayPeriodStart());
+        verify(mockIntegrationService, times(3)).updateLocalRecords(anyList(), argThat(response -> "SUCCESS".equals(response.getStatus())),
+                anyString());
+    }
+
+    @Test
+    void shouldResendSameRunsUnderSameBatchRefId() {
+        LocalDate start = LocalDate.of(2025, 11, 1);
+        LocalDate end = LocalDate.of(2025, 11, 30);
+        PayrollRun recalculated = buildRun(2, "E002", start, end, 10);
+        recalculated.setNetPay(BigDecimal.ONE);
+        when(payrollRunRepository.claimPendingRuns(anyString(), eq(300L), eq(500)))
+                .thenReturn(List.of(buildRun(1, "E001", start, end, 10), buildRun(2, "E002", start, end, 10)))
+                .thenReturn(List.of(buildRun(2, "E002", start, end, 10), buildRun(1, "E001", start, end, 10)))
+                .thenReturn(List.of(buildRun(1, "E001", start, end, 10), recalculated));
+        when(submissionTransport.submit(any(PayrollBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new PayrollBatchResponse("BATCH-123", "RETRY", "time", "Please retry.")));
+
+        scheduler.submitPendingBatches();
+        scheduler.submitPendingBatches();
+        scheduler.submitPendingBatches();
+
+        ArgumentCaptor<PayrollBatchRequest> requests = ArgumentCaptor.forClass(PayrollBatchRequest.class);
+        verify(submissionTransport, times(3)).submit(requests.capture());
+        List<String> batchRefIds = requests.getAllValues().stream().map(PayrollBatchRequest::getBatchRefId).toList();
+        assertEquals(batchRefIds.get(0), batchRefIds.get(1));
+        assertNotEquals(batchRefIds.get(0), batchRefIds.get(2));
+    }
+
+    private PayrollRun buildRun(Integer payrollId, String employeeId, LocalDate start, LocalDate end, Integer payGroupId) {
+        return PayrollRun.builder()
+                .payrollId(payrollId)
+                .employeeId(employeeId)
+                .payPeriodStart(start)
+                .payPeriodEnd(end)
+                .payGroupId(payGroupId)
+                .netPay(BigDecimal.TEN)
+                .status(PayrollStatus.PROCESSED)
+                .build();
     }
 }
@@ -0,0 +1,112 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.entity.BankIntegrationLog;
+import com.tw.coupang.one_payroll.integration.enums.IntegrationStatus;
+import com.tw.coupang.one_payroll.integration.repository.BankIntegrationLogRepository;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankIntegrationRetryServiceTest {
+
+    @Mock
+    private BankIntegrationLogRepository bankIntegrationLogRepository;
+
+    @InjectMocks
+    private BankIntegrationRetryService service;
+
+    @Test
+    void backoffShouldGrowExponentiallyWithJitterAndStayCapped() {
+        for (int i = 0; i < 50; i++) {
+            Duration first = service.backoff(1);
+            Duration third = service.backoff(3);
+            Duration late = service.backoff(40);
+
+            assertTrue(first.getSeconds() >= 15 && first.getSeconds() <= 30);
+            assertTrue(third.getSeconds() >= 60 && third.getSeconds() <= 120);
+            assertTrue(late.getSeconds() >= 1800 && late.getSeconds() <= 3600);
+        }
+    }
+
+    @Test
+    void scheduleRetryShouldCreateLogWithNextRetryTime() {
+        PayrollRun run = PayrollRun.builder().payrollId(1).employeeId("E001").build();
+        when(bankIntegrationLogRepository.findByPayrollIdIn(List.of(1))).thenReturn(List.of());
+
+        service.scheduleRetry(List.of(run), "BATCH-1", "Gateway timeout");
+
+        BankIntegrationLog saved = captureSavedLogs().get(0);
+        assertEquals(1, saved.getPayrollId());
+        assertEquals("E001", saved.getEmployeeId());
+        assertEquals("BATCH-1", saved.getBatchId());
+        assertEquals(IntegrationStatus.RETRY, saved.getStatus());
+        assertEquals(1, saved.getRetryCount());
+        assertTrue(saved.getNextRetryAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void scheduleRetryShouldDeadLetterAfterMaxAttempts() {
+        PayrollRun run = PayrollRun.builder().payrollId(1).employeeId("E001").build();
+        BankIntegrationLog existing = BankIntegrationLog.builder()
+                .integrationId(7)
+                .payrollId(1)
+                .status(IntegrationStatus.PENDING)
+                .retryCount(4)
+                .build();
+        when(bankIntegrationLogRepository.findByPayrollIdIn(List.of(1))).thenReturn(List.of(existing));
+
+        service.scheduleRetry(List.of(run), "BATCH-2", "Gateway timeout");
+
+        BankIntegrationLog saved = captureSavedLogs().get(0);
+        assertSame(existing, saved);
+        assertEquals(IntegrationStatus.DEAD_LETTER, saved.getStatus());
+        assertEquals(5, saved.getRetryCount());
+        assertNull(saved.getNextRetryAt());
+    }
+
+    @Test
+    void recordOutcomeShouldClearPendingRetry() {
+        PayrollRun run = PayrollRun.builder().payrollId(1).employeeId("E001").build();
+        BankIntegrationLog existing = BankIntegrationLog.builder()
+                .payrollId(1)
+                .status(IntegrationStatus.PENDING)
+                .retryCount(2)
+                .nextRetryAt(LocalDateTime.now())
+                .build();
+        when(bankIntegrationLogRepository.findByPayrollIdIn(List.of(1))).thenReturn(List.of(existing));
+
+        service.recordOutcome(List.of(run), "BATCH-3", IntegrationStatus.SUCCESS, "Batch accepted for processing.");
+
+        BankIntegrationLog saved = captureSavedLogs().get(0);
+        assertEquals(IntegrationStatus.SUCCESS, saved.getStatus());
+        assertEquals(2, saved.getRetryCount());
+        assertNull(saved.getNextRetryAt());
+    }
+
+    @Test
+    void releaseDueRetriesShouldKeepReleasingWhileChunksAreFull() {
+        when(bankIntegrationLogRepository.releaseDueRetries(500)).thenReturn(500, 120);
+
+        assertEquals(620, service.releaseDueRetries());
+        verify(bankIntegrationLogRepository, times(2)).releaseDueRetries(500);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BankIntegrationLog> captureSavedLogs() {
+        ArgumentCaptor<List<BankIntegrationLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bankIntegrationLogRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
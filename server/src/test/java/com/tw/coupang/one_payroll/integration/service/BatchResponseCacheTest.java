@@ -0,0 +1,47 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BatchResponseCacheTest {
+
+    private static final BatchFingerprint FINGERPRINT =
+            new BatchFingerprint("2023-11", null, null, 1, new BigDecimal("100.00"), 2);
+
+    private final BatchResponseCache cache = new BatchResponseCache();
+
+    @Test
+    void shouldReturnCachedResponseUntilItExpires() {
+        PayrollBatchResponse response = new PayrollBatchResponse("BATCH-1", "SUCCESS", "time", "ok");
+
+        cache.put("BATCH-1", FINGERPRINT, response);
+        assertSame(response, cache.get("BATCH-1", FINGERPRINT));
+
+        ReflectionTestUtils.setField(cache, "ttlSeconds", -1L);
+        cache.put("BATCH-1", FINGERPRINT, response);
+        assertNull(cache.get("BATCH-1", FINGERPRINT));
+    }
+
+    @Test
+    void shouldNotReplayResponseToDifferentBatchWithSameId() {
+        cache.put("BATCH-1", FINGERPRINT, new PayrollBatchResponse("BATCH-1", "SUCCESS", "time", "ok"));
+
+        assertNull(cache.get("BATCH-1", new BatchFingerprint("2023-11", null, null, 1, new BigDecimal("250.00"), 2)));
+    }
+
+    @Test
+    void shouldSkipCachingWhenFullOfLiveEntries() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 1);
+
+        cache.put("BATCH-1", FINGERPRINT, new PayrollBatchResponse("BATCH-1", "SUCCESS", "time", "ok"));
+        cache.put("BATCH-2", FINGERPRINT, new PayrollBatchResponse("BATCH-2", "SUCCESS", "time", "ok"));
+
+        assertNull(cache.get("BATCH-2", FINGERPRINT));
+    }
+}
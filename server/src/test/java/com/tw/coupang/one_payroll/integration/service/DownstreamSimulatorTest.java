@@ -0,0 +1,76 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.enums.LatencyDistribution;
+import com.tw.coupang.one_payroll.integration.exception.DownstreamThrottledException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DownstreamSimulatorTest {
+
+    @Test
+    void shouldProduceSameOutcomesForSameSeed() {
+        assertEquals(outcomes(42L), outcomes(42L));
+    }
+
+    @Test
+    void shouldKeepUniformLatencyWithinBounds() {
+        DownstreamSimulator simulator = new DownstreamSimulator();
+        simulator.setSeed(7L);
+        simulator.setLatencyDistribution(LatencyDistribution.UNIFORM);
+        simulator.setLatencyMs(100);
+        simulator.setMaxLatencyMs(200);
+
+        IntStream.range(0, 1000).mapToObj(i -> simulator.nextLatency()).forEach(latency ->
+                assertTrue(latency.compareTo(Duration.ofMillis(100)) >= 0 && latency.compareTo(Duration.ofMillis(200)) <= 0));
+    }
+
+    @Test
+    void shouldCapLongTailLatency() {
+        DownstreamSimulator simulator = new DownstreamSimulator();
+        simulator.setSeed(7L);
+        simulator.setLatencyDistribution(LatencyDistribution.LONG_TAIL);
+        simulator.setLatencyMs(50);
+        simulator.setMaxLatencyMs(500);
+        simulator.setTailSigma(3.0);
+
+        IntStream.range(0, 1000).mapToObj(i -> simulator.nextLatency()).forEach(latency ->
+                assertTrue(latency.compareTo(Duration.ofMillis(500)) <= 0));
+    }
+
+    @Test
+    void shouldLeaveLongTailUncappedWhenNoMaximumIsSet() {
+        DownstreamSimulator simulator = new DownstreamSimulator();
+        simulator.setSeed(7L);
+        simulator.setLatencyDistribution(LatencyDistribution.LONG_TAIL);
+        simulator.setLatencyMs(50);
+
+        List<Duration> latencies = IntStream.range(0, 1000).mapToObj(i -> simulator.nextLatency()).toList();
+
+        assertTrue(latencies.stream().anyMatch(latency -> latency.compareTo(Duration.ofMillis(50)) > 0));
+    }
+
+    @Test
+    void shouldThrottleWhenThrottleRateIsOne() {
+        DownstreamSimulator simulator = new DownstreamSimulator();
+        simulator.setThrottleRate(1.0);
+        simulator.setRetryAfterSeconds(3);
+
+        DownstreamThrottledException exception = assertThrows(DownstreamThrottledException.class,
+                simulator::simulateTransport);
+
+        assertEquals(3, exception.getRetryAfterSeconds());
+    }
+
+    private List<String> outcomes(long seed) {
+        DownstreamSimulator simulator = new DownstreamSimulator();
+        simulator.setSeed(seed);
+        return IntStream.range(0, 50).mapToObj(i -> simulator.nextStatus()).toList();
+    }
+}
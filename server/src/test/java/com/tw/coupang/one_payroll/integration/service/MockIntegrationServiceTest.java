@@ -1,21 +1,34 @@
 package com.tw.coupang.one_payroll.integration.service;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
 import com.tw.coupang.one_payroll.integration.entity.PayrollBatch;
+import com.tw.coupang.one_payroll.integration.enums.IntegrationStatus;
+import com.tw.coupang.one_payroll.integration.event.PayrollBatchStatusChangedEvent;
+import com.tw.coupang.one_payroll.integration.exception.BatchConflictException;
+import com.tw.coupang.one_payroll.integration.repository.PayrollBatchLogBulkWriter;
 import com.tw.coupang.one_payroll.integration.repository.PayrollBatchLogRepository;
 import com.tw.coupang.one_payroll.integration.repository.PayrollBatchRepository;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollRunRepository;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollSubmissionOutboxRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +38,28 @@ class MockIntegrationServiceTest {
     private PayrollBatchRepository batchRepo;
 
     @Mock
-    private PayrollBatchLogRepository logRepo;
+    private PayrollBatchLogBulkWriter logWriter;
+
+    @Mock
+    private PayrollBatchLogRepository logRepository;
+
+    @Mock
+    private PayrollRunRepository payrollRunRepository;
+
+    @Mock
+    private BankIntegrationRetryService bankIntegrationRetryService;
+
+    @Mock
+    private PayrollSubmissionOutboxRepository outboxRepository;
+
+    @Mock
+    private BatchResponseCache responseCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DownstreamSimulator downstreamSimulator = new DownstreamSimulator();
 
     @InjectMocks
     private MockIntegrationService service;
@@ -38,28 +72,249 @@ class MockIntegrationServiceTest {
         request.setTotalAmount(new BigDecimal("1000.00"));
         request.setEmployeeIds(List.of("E001"));
 
-        when(batchRepo.existsByBatchRefId("BATCH-NEW")).thenReturn(false);
-        when(batchRepo.save(any(PayrollBatch.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(batchRepo.insertIfAbsent("BATCH-NEW", "2023-11", null, null, null, new BigDecimal("1000.00")))
+                .thenReturn(Optional.of(7L));
 
         PayrollBatchResponse response = service.processBatch(request);
 
         assertNotNull(response);
         assertEquals("BATCH-NEW", response.getBatchRefId());
-        verify(batchRepo, times(2)).save(any(PayrollBatch.class));
+        verify(batchRepo).completeBatch(eq(7L), eq(response.getStatus()), anyString(), eq(1));
+        verify(logWriter).insert(argThat(logs -> logs.size() == 1 && "E001".equals(logs.get(0).getEmployeeId())));
+        verify(responseCache).put(eq("BATCH-NEW"), any(BatchFingerprint.class), eq(response));
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof PayrollBatchStatusChangedEvent changed
+                        && "2023-11".equals(changed.payPeriod())
+                        && "BATCH-NEW".equals(changed.status().getBatchId())
+                        && response.getStatus().equals(changed.status().getOverallStatus())));
     }
 
     @Test
-    void shouldThrowExceptionWhenBatchIdAlreadyExists() {
+    void shouldReplayStoredResponseWhenBatchIdAlreadyExists() {
         PayrollBatchRequest request = new PayrollBatchRequest();
         request.setBatchRefId("BATCH-DUPLICATE");
+        request.setEmployeeIds(List.of("E001"));
+
+        when(batchRepo.insertIfAbsent(eq("BATCH-DUPLICATE"), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(batchRepo.findByBatchRefId("BATCH-DUPLICATE")).thenReturn(Optional.of(PayrollBatch.builder()
+                .batchRefId("BATCH-DUPLICATE")
+                .status("SUCCESS")
+                .logMessage("Batch accepted for processing.")
+                .build()));
+
+        PayrollBatchResponse response = service.processBatch(request);
+
+        assertEquals("SUCCESS", response.getStatus());
+        assertEquals("Batch accepted for processing.", response.getErrorMessage());
+        verify(batchRepo, never()).completeBatch(any(), any(), any(), any());
+        verifyNoInteractions(logWriter);
+        verify(responseCache).put(eq("BATCH-DUPLICATE"), any(BatchFingerprint.class), eq(response));
+    }
+
+    @Test
+    void shouldRejectDifferentBatchThatReusesAnExistingBatchId() {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-COLLISION");
+        request.setPayPeriod("2023-11");
+        request.setTotalAmount(new BigDecimal("1000.00"));
+        request.setEmployeeIds(List.of("E001"));
+
+        when(batchRepo.insertIfAbsent(eq("BATCH-COLLISION"), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(batchRepo.findByBatchRefId("BATCH-COLLISION")).thenReturn(Optional.of(PayrollBatch.builder()
+                .batchRefId("BATCH-COLLISION")
+                .payPeriod("2023-11")
+                .totalAmount(new BigDecimal("2500.00"))
+                .employeeCount(3)
+                .status("SUCCESS")
+                .build()));
+
+        assertThrows(BatchConflictException.class, () -> service.processBatch(request));
+        verify(responseCache, never()).put(any(), any(), any());
+        verifyNoInteractions(logWriter);
+    }
+
+    @Test
+    void shouldReplayStoredResponseWhenAmountsOnlyDifferInScale() {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-SAME");
+        request.setPayPeriod("2023-11");
+        request.setTotalAmount(new BigDecimal("1000"));
+        request.setEmployeeIds(List.of("E001", "E002"));
+
+        when(batchRepo.insertIfAbsent(eq("BATCH-SAME"), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(batchRepo.findByBatchRefId("BATCH-SAME")).thenReturn(Optional.of(PayrollBatch.builder()
+                .batchRefId("BATCH-SAME")
+                .payPeriod("2023-11")
+                .totalAmount(new BigDecimal("1000.00"))
+                .employeeCount(2)
+                .status("SUCCESS")
+                .build()));
+
+        assertEquals("SUCCESS", service.processBatch(request).getStatus());
+    }
+
+    @Test
+    void shouldProcessRetriedBatchAgainInsteadOfReplayingRetry() {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-RETRIED");
+        request.setPayPeriod("2023-11");
+        request.setTotalAmount(new BigDecimal("1000.00"));
+        request.setEmployeeIds(List.of("E001"));
+
+        when(batchRepo.insertIfAbsent(eq("BATCH-RETRIED"), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(batchRepo.findByBatchRefId("BATCH-RETRIED")).thenReturn(Optional.of(PayrollBatch.builder()
+                .id(5L)
+                .batchRefId("BATCH-RETRIED")
+                .payPeriod("2023-11")
+                .totalAmount(new BigDecimal("1000.00"))
+                .employeeCount(1)
+                .status("RETRY")
+                .build()));
+        doReturn("SUCCESS").when(downstreamSimulator).nextStatus();
+
+        PayrollBatchResponse response = service.processBatch(request);
+
+        assertEquals("SUCCESS", response.getStatus());
+        verify(batchRepo).completeBatch(5L, "SUCCESS", "Batch accepted for processing.", 1);
+        verify(responseCache).put(eq("BATCH-RETRIED"), any(BatchFingerprint.class), eq(response));
+    }
+
+    @Test
+    void shouldReplayCachedResponseWithoutTouchingDb() {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-CACHED");
+        PayrollBatchResponse cached = new PayrollBatchResponse("BATCH-CACHED", "SUCCESS", "time", "accepted");
+
+        when(responseCache.get(eq("BATCH-CACHED"), any(BatchFingerprint.class))).thenReturn(cached);
+
+        assertSame(cached, service.processBatch(request));
+        verifyNoInteractions(batchRepo, logWriter);
+    }
+
+    @Test
+    void shouldMarkClaimedRunsSubmittedOnSuccess() {
+        List<PayrollRun> runs = List.of(PayrollRun.builder().payrollId(1).build(), PayrollRun.builder().payrollId(2).build());
+        when(payrollRunRepository.markClaimedRunsSubmitted(List.of(1, 2), "node-a")).thenReturn(List.of(1, 2));
+
+        service.updateLocalRecords(runs, response("SUCCESS"), "node-a");
+
+        verify(payrollRunRepository).markClaimedRunsSubmitted(List.of(1, 2), "node-a");
+        verify(outboxRepository).deleteSettled(List.of(1, 2));
+        verify(payrollRunRepository, never()).markClaimedRunsSubmissionFailed(any(), any());
+        verify(bankIntegrationRetryService).recordOutcome(runs, "BATCH-1", IntegrationStatus.SUCCESS, "ok");
+    }
+
+    @Test
+    void shouldOnlyRecordSuccessOfRunsWhoseClaimStillHeld() {
+        PayrollRun kept = PayrollRun.builder().payrollId(1).build();
+        List<PayrollRun> runs = List.of(kept, PayrollRun.builder().payrollId(2).build());
+        when(payrollRunRepository.markClaimedRunsSubmitted(List.of(1, 2), "node-a")).thenReturn(List.of(1));
 
-        when(batchRepo.existsByBatchRefId("BATCH-DUPLICATE")).thenReturn(true);
+        service.updateLocalRecords(runs, response("SUCCESS"), "node-a");
+
+        verify(bankIntegrationRetryService).recordOutcome(List.of(kept), "BATCH-1", IntegrationStatus.SUCCESS, "ok");
+    }
+
+    @Test
+    void shouldMarkClaimedRunsFailedOnFailure() {
+        List<PayrollRun> runs = List.of(PayrollRun.builder().payrollId(1).build());
+        when(payrollRunRepository.markClaimedRunsSubmissionFailed(List.of(1), "node-a")).thenReturn(List.of(1));
+
+        service.updateLocalRecords(runs, response("FAILED"), "node-a");
+
+        verify(payrollRunRepository, never()).markClaimedRunsSubmitted(any(), any());
+        verify(bankIntegrationRetryService).recordOutcome(runs, "BATCH-1", IntegrationStatus.FAILED, "ok");
+        verify(outboxRepository).deleteSettled(List.of(1));
+    }
+
+    @Test
+    void shouldScheduleRetryOfStillClaimedRunsWhenSubmissionFails() {
+        PayrollRun kept = PayrollRun.builder().payrollId(1).build();
+        List<PayrollRun> runs = List.of(kept, PayrollRun.builder().payrollId(2).build());
+        when(payrollRunRepository.releaseClaimedRuns(List.of(1, 2), "node-a")).thenReturn(List.of(1));
+
+        service.recordSubmissionError(runs, "BATCH-1", "Connection refused", "node-a");
+
+        verify(bankIntegrationRetryService).scheduleRetry(List.of(kept), "BATCH-1", "Connection refused");
+        verifyNoInteractions(outboxRepository);
+    }
 
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            service.processBatch(request);
-        });
+    @Test
+    void shouldScheduleRetryAndReleaseClaimOnRetry() {
+        List<PayrollRun> runs = List.of(PayrollRun.builder().payrollId(1).build());
+        when(payrollRunRepository.releaseClaimedRuns(List.of(1), "node-a")).thenReturn(List.of(1));
+
+        service.updateLocalRecords(runs, response("RETRY"), "node-a");
+
+        verify(bankIntegrationRetryService).scheduleRetry(runs, "BATCH-1", "ok");
+        verify(payrollRunRepository, never()).markClaimedRunsSubmitted(any(), any());
+        verify(payrollRunRepository, never()).markClaimedRunsSubmissionFailed(any(), any());
+    }
+
+    private PayrollBatchResponse response(String status) {
+        return new PayrollBatchResponse("BATCH-1", status, "time", "ok");
+    }
+
+    @Test
+    void shouldWriteStreamedLineItemsInFlushSizedInserts() {
+        PayrollBatchRequest header = lineItemHeader(new BigDecimal("2700.00"));
+        when(batchRepo.insertIfAbsent("BATCH-LINES", "2023-11", null, null, null, new BigDecimal("2700.00")))
+                .thenReturn(Optional.of(9L));
+        when(logWriter.getFlushSize()).thenReturn(2);
+        doReturn("SUCCESS").when(downstreamSimulator).nextStatus();
+
+        PayrollBatchResponse response = service.processBatch(header, List.of(
+                lineItem("E001", "900.00"), lineItem("E002", "900.00"), lineItem("E003", "900.00")).iterator());
+
+        assertEquals("SUCCESS", response.getStatus());
+        verify(logWriter).insert(argThat(logs -> logs.size() == 2 && "E001".equals(logs.get(0).getEmployeeId())));
+        verify(logWriter).insert(argThat(logs -> logs.size() == 1 && "E003".equals(logs.get(0).getEmployeeId())));
+        verify(batchRepo).completeBatch(9L, "SUCCESS", "Batch accepted for processing.", 3);
+        verify(logRepository, never()).updateStatusByBatchRefId(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldFailLineItemBatchWhoseLinesDoNotAddUpToTotal() {
+        PayrollBatchRequest header = lineItemHeader(new BigDecimal("1000.00"));
+        when(batchRepo.insertIfAbsent(anyString(), anyString(), any(), any(), any(), any())).thenReturn(Optional.of(9L));
+        doReturn("SUCCESS").when(downstreamSimulator).nextStatus();
+
+        PayrollBatchResponse response = service.processBatch(header, List.of(lineItem("E001", "900.00")).iterator());
+
+        assertEquals("FAILED", response.getStatus());
+        assertTrue(response.getErrorMessage().contains("add up to 900.00"));
+        verify(logRepository).updateStatusByBatchRefId("BATCH-LINES", "FAILED", response.getErrorMessage());
+        verify(batchRepo).completeBatch(9L, "FAILED", response.getErrorMessage(), 1);
+    }
+
+    @Test
+    void shouldFailLineItemBatchWithInvalidLineAmounts() {
+        PayrollBatchRequest header = lineItemHeader(new BigDecimal("900.00"));
+        when(batchRepo.insertIfAbsent(anyString(), anyString(), any(), any(), any(), any())).thenReturn(Optional.of(9L));
+        doReturn("SUCCESS").when(downstreamSimulator).nextStatus();
+        when(logWriter.getFlushSize()).thenReturn(1000);
+        // Net pay above gross minus tax plus benefits
+        PayrollBatchLineItem overpaid = new PayrollBatchLineItem("E002", new BigDecimal("100.00"),
+                new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("95.00"));
+
+        PayrollBatchResponse response = service.processBatch(header,
+                List.of(lineItem("E001", "900.00"), overpaid).iterator());
+
+        assertEquals("FAILED", response.getStatus());
+        assertEquals("1 of 2 line items have invalid amounts.", response.getErrorMessage());
+        verify(logWriter).insert(argThat(logs -> logs.size() == 2 && "FAILED".equals(logs.get(1).getStatus())));
+    }
+
+    private PayrollBatchRequest lineItemHeader(BigDecimal totalAmount) {
+        PayrollBatchRequest header = new PayrollBatchRequest();
+        header.setBatchRefId("BATCH-LINES");
+        header.setPayPeriod("2023-11");
+        header.setTotalAmount(totalAmount);
+        return header;
+    }
 
-        assertEquals("Batch ID BATCH-DUPLICATE already exists.", exception.getMessage());
-        verify(batchRepo, never()).save(any(PayrollBatch.class));
+    private PayrollBatchLineItem lineItem(String employeeId, String netPay) {
+        return new PayrollBatchLineItem(employeeId, new BigDecimal("1000.00"), new BigDecimal("100.00"),
+                BigDecimal.ZERO, new BigDecimal(netPay));
     }
 }
@@ -1,5 +1,6 @@
 package com.tw.coupang.one_payroll.integration.service;
 
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogPageResponse;
 import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLogResponse;
 import com.tw.coupang.one_payroll.integration.entity.PayrollBatchLog;
 import com.tw.coupang.one_payroll.integration.exception.MandatoryFieldMissingException;
@@ -120,4 +121,50 @@ class PayrollBatchLogServiceTest {
         assertTrue(result.isEmpty());
         assertEquals(0, result.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the last logId as next cursor when the keyset page is full")
+    void testGetBatchLogsAfterFullPageReturnsNextCursor() {
+        PayrollBatchLog next = PayrollBatchLog.builder().logId(42L).batchRefId("BATCH-202511").employeeId("E002").build();
+        when(payrollBatchLogRepository.findPageByBatchRefId("BATCH-202511", 10L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(mockLog, next));
+
+        PayrollBatchLogPageResponse result = payrollBatchLogService.getBatchLogsAfter("BATCH-202511", null, 10L, 2);
+
+        assertEquals(2, result.logs().size());
+        assertEquals(42L, result.nextCursor());
+        verify(payrollBatchLogRepository, never()).findByBatchRefId(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should start from the first log with the default page size and no next cursor on a short page")
+    void testGetBatchLogsAfterLastPageHasNoNextCursor() {
+        when(payrollBatchLogRepository.findPageByEmployeeId("E001", 0L, PageRequest.of(0, 100)))
+                .thenReturn(List.of(mockLog));
+
+        PayrollBatchLogPageResponse result = payrollBatchLogService.getBatchLogsAfter(null, "E001", null, null);
+
+        assertEquals("E001", result.logs().get(0).getEmployeeId());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should cap the keyset page size and filter by both ids")
+    void testGetBatchLogsAfterCapsLimit() {
+        when(payrollBatchLogRepository.findPageByBatchRefIdAndEmployeeId("BATCH-202511", "E001", 0L, PageRequest.of(0, 1000)))
+                .thenReturn(Collections.emptyList());
+
+        PayrollBatchLogPageResponse result = payrollBatchLogService.getBatchLogsAfter("BATCH-202511", "E001", null, 50000);
+
+        assertTrue(result.logs().isEmpty());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should require batchId or employeeId for keyset pages")
+    void testGetBatchLogsAfterMandatoryFieldsMissing() {
+        assertThrows(MandatoryFieldMissingException.class,
+                () -> payrollBatchLogService.getBatchLogsAfter(" ", null, null, null));
+        verifyNoInteractions(payrollBatchLogRepository);
+    }
+}
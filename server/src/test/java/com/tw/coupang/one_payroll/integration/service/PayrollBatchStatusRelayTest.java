@@ -0,0 +1,87 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
+import com.tw.coupang.one_payroll.integration.event.PayrollBatchStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PayrollBatchStatusRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PayrollBatchStatusStreamService streamService = mock(PayrollBatchStatusStreamService.class);
+
+    @Test
+    void shouldDeliverTransitionsOfOtherNodesOnly() {
+        PayrollBatchStatusRelay origin = relay();
+        PayrollBatchStatusRelay other = relay();
+        String payload = origin.encode(new PayrollBatchStatusChangedEvent("2025-11", status("done")));
+
+        origin.handle(payload);
+        verify(streamService, never()).deliver(any());
+
+        other.handle(payload);
+        ArgumentCaptor<PayrollBatchStatusChangedEvent> delivered = ArgumentCaptor.forClass(PayrollBatchStatusChangedEvent.class);
+        verify(streamService).deliver(delivered.capture());
+        assertEquals("2025-11", delivered.getValue().payPeriod());
+        assertEquals(status("done"), delivered.getValue().status());
+    }
+
+    @Test
+    void shouldDropLogMessageThatDoesNotFitInNotification() {
+        PayrollBatchStatusRelay relay = relay();
+
+        String payload = relay.encode(new PayrollBatchStatusChangedEvent("2025-11",
+                status("x".repeat(PayrollBatchStatusRelay.MAX_PAYLOAD_BYTES))));
+
+        assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= PayrollBatchStatusRelay.MAX_PAYLOAD_BYTES);
+        relay().handle(payload);
+        ArgumentCaptor<PayrollBatchStatusChangedEvent> delivered = ArgumentCaptor.forClass(PayrollBatchStatusChangedEvent.class);
+        verify(streamService).deliver(delivered.capture());
+        assertEquals("SUCCESS", delivered.getValue().status().getOverallStatus());
+        assertNull(delivered.getValue().status().getLogMessage());
+        assertEquals(LocalDate.of(2025, 11, 1), delivered.getValue().status().getPayPeriodStart());
+    }
+
+    @Test
+    void shouldNotNotifyBeforeListening() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PayrollBatchStatusRelay relay = new PayrollBatchStatusRelay(jdbcTemplate, objectMapper, streamService,
+                "payroll_batch_status", true);
+
+        relay.onStatusChanged(new PayrollBatchStatusChangedEvent("2025-11", status("done")));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldRejectChannelNameThatIsNotAnIdentifier() {
+        assertThrows(IllegalArgumentException.class, () -> new PayrollBatchStatusRelay(mock(JdbcTemplate.class),
+                objectMapper, streamService, "status; DROP TABLE payroll_batch", true));
+    }
+
+    private PayrollBatchStatusRelay relay() {
+        return new PayrollBatchStatusRelay(mock(JdbcTemplate.class), objectMapper, streamService,
+                "payroll_batch_status", true);
+    }
+
+    private PayrollBatchStatusResponse status(String logMessage) {
+        return new PayrollBatchStatusResponse("BATCH-1", "SUCCESS", 2, LocalDateTime.of(2025, 11, 28, 9, 0), logMessage,
+                LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30));
+    }
+}
@@ -131,5 +131,30 @@ class PayrollBatchStatusServiceTest {
         assertTrue(exception.getMessage().contains(batchId));
         assertTrue(exception.getMessage().contains("Batch not found"));
     }
-}
 
+    @Test
+    @DisplayName("Should derive the ETag from the batch's last update")
+    void testGetBatchStatusETagShouldQuoteUpdatedAt() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 11, 28, 10, 15, 30);
+        when(payrollBatchRepository.findUpdatedAtByBatchRefId("BATCH-20251128-001")).thenReturn(Optional.of(updatedAt));
+
+        assertEquals("\"2025-11-28T10:15:30\"", payrollBatchStatusService.getBatchStatusETag("BATCH-20251128-001"));
+        verify(payrollBatchRepository, never()).findByBatchRefId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw BatchNotFoundException for the ETag of an unknown batch")
+    void testGetBatchStatusETagWhenBatchDoesNotExistShouldThrowException() {
+        when(payrollBatchRepository.findUpdatedAtByBatchRefId("BATCH-INVALID")).thenReturn(Optional.empty());
+
+        assertThrows(BatchNotFoundException.class, () -> payrollBatchStatusService.getBatchStatusETag("BATCH-INVALID"));
+    }
+
+    @Test
+    @DisplayName("Should return null status for a batch that has not been submitted yet")
+    void testFindBatchStatusWhenBatchDoesNotExistShouldReturnNull() {
+        when(payrollBatchRepository.findByBatchRefId("BATCH-LATER")).thenReturn(Optional.empty());
+
+        assertNull(payrollBatchStatusService.findBatchStatus("BATCH-LATER"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchStatusResponse;
+import com.tw.coupang.one_payroll.integration.event.PayrollBatchStatusChangedEvent;
+import com.tw.coupang.one_payroll.integration.exception.BatchNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayrollBatchStatusStreamServiceTest {
+
+    private final PayrollBatchStatusStreamService service = new PayrollBatchStatusStreamService();
+
+    @Test
+    void shouldKeepBatchSubscriberUntilFinalStatus() {
+        assertNotNull(service.subscribeToBatch("BATCH-1", () -> status("BATCH-1", "PENDING")));
+        assertEquals(1, service.subscriberCount());
+
+        service.onStatusChanged(new PayrollBatchStatusChangedEvent("2025-11", status("BATCH-1", "PENDING")));
+        assertEquals(1, service.subscriberCount());
+
+        service.onStatusChanged(new PayrollBatchStatusChangedEvent("2025-11", status("BATCH-1", "SUCCESS")));
+        assertEquals(0, service.subscriberCount());
+    }
+
+    @Test
+    void shouldNotRegisterSubscriberOfBatchThatIsAlreadyFinal() {
+        assertNotNull(service.subscribeToBatch("BATCH-1", () -> status("BATCH-1", "FAILED")));
+
+        assertEquals(0, service.subscriberCount());
+    }
+
+    @Test
+    void shouldEndStreamWhenBatchTurnsFinalWhileItsStatusIsRead() {
+        assertNotNull(service.subscribeToBatch("BATCH-1", () -> {
+            service.deliver(new PayrollBatchStatusChangedEvent("2025-11", status("BATCH-1", "SUCCESS")));
+            return status("BATCH-1", "SUCCESS");
+        }));
+
+        assertEquals(0, service.subscriberCount());
+    }
+
+    @Test
+    void shouldRefuseSubscriberOfUnknownBatch() {
+        assertThrows(BatchNotFoundException.class, () -> service.subscribeToBatch("BATCH-UNKNOWN", () -> null));
+
+        assertEquals(0, service.subscriberCount());
+    }
+
+    @Test
+    void shouldKeepPayPeriodSubscriberAcrossBatches() {
+        service.subscribeToPayPeriod("2025-11");
+
+        service.onStatusChanged(new PayrollBatchStatusChangedEvent("2025-11", status("BATCH-1", "SUCCESS")));
+        service.onStatusChanged(new PayrollBatchStatusChangedEvent("2025-11", status("BATCH-2", "FAILED")));
+        service.onStatusChanged(new PayrollBatchStatusChangedEvent("2025-12", status("BATCH-3", "SUCCESS")));
+
+        assertEquals(1, service.subscriberCount());
+    }
+
+    private PayrollBatchStatusResponse status(String batchId, String overallStatus) {
+        return PayrollBatchStatusResponse.builder()
+                .batchId(batchId)
+                .overallStatus(overallStatus)
+                .numberOfEmployees(1)
+                .build();
+    }
+}
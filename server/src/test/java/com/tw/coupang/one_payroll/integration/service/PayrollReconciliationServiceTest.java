@@ -0,0 +1,132 @@
+package com.tw.coupang.one_payroll.integration.service;
+
+import com.tw.coupang.one_payroll.integration.dto.ReconciliationSummary;
+import com.tw.coupang.one_payroll.integration.dto.ReconciliationTotals;
+import com.tw.coupang.one_payroll.integration.entity.ReconciliationDiscrepancy;
+import com.tw.coupang.one_payroll.integration.enums.DiscrepancyType;
+import com.tw.coupang.one_payroll.integration.repository.PayrollReconciliationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollReconciliationServiceTest {
+
+    @Mock
+    private PayrollReconciliationRepository reconciliationRepository;
+
+    @InjectMocks
+    private PayrollReconciliationService service;
+
+    @Test
+    void shouldMergeBothSidesAndReportEveryKindOfDiscrepancy() {
+        ReflectionTestUtils.setField(service, "flushSize", 2);
+        when(reconciliationRepository.tryLockReconciliation()).thenReturn(true);
+        when(reconciliationRepository.streamAcceptedBatchTotals("2025-01", "2025-12")).thenReturn(Stream.of(
+                totals("2025-01", 1, "100.00", 2),
+                totals("2025-02", 1, "50.00", 1),
+                totals("2025-03", -1, "70.00", 1),
+                totals("2025-04", 2, "90.00", 3)));
+        when(reconciliationRepository.streamSubmittedRunTotals("2025-01", "2025-12")).thenReturn(Stream.of(
+                totals("2025-01", 1, "100.0", 2),
+                totals("2025-02", 1, "49.00", 1),
+                totals("2025-04", 1, "10.00", 1),
+                totals("2025-04", 2, "90.00", 3)));
+        List<ReconciliationDiscrepancy> written = new ArrayList<>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+                .when(reconciliationRepository).insertDiscrepancies(anyList());
+
+        ReconciliationSummary summary = service.reconcile(YearMonth.of(2025, 1), YearMonth.of(2025, 12))
+                .orElseThrow();
+
+        assertEquals(5, summary.groupsCompared());
+        assertEquals(3, summary.discrepancies());
+        verify(reconciliationRepository, times(2)).insertDiscrepancies(anyList());
+        assertEquals(List.of(DiscrepancyType.TOTAL_MISMATCH, DiscrepancyType.MISSING_RUNS, DiscrepancyType.MISSING_BATCH),
+                written.stream().map(ReconciliationDiscrepancy::getDiscrepancyType).toList());
+        assertNull(written.get(1).getPayGroupId());
+        assertNull(written.get(2).getBatchTotalAmount());
+        assertEquals(summary.reconciliationId(), written.get(0).getReconciliationId());
+    }
+
+    @Test
+    void shouldWriteNothingWhenBothSidesAgree() {
+        when(reconciliationRepository.tryLockReconciliation()).thenReturn(true);
+        when(reconciliationRepository.streamAcceptedBatchTotals(anyString(), anyString()))
+                .thenReturn(Stream.of(totals("2025-01", 1, "100.00", 2)));
+        when(reconciliationRepository.streamSubmittedRunTotals(anyString(), anyString()))
+                .thenReturn(Stream.of(totals("2025-01", 1, "100.00", 2)));
+
+        ReconciliationSummary summary = service.reconcile(YearMonth.of(2025, 1), YearMonth.of(2025, 1))
+                .orElseThrow();
+
+        assertEquals(0, summary.discrepancies());
+        verify(reconciliationRepository, never()).insertDiscrepancies(anyList());
+    }
+
+    @Test
+    void shouldReconcileWeeksOfOneMonthSeparately() {
+        when(reconciliationRepository.tryLockReconciliation()).thenReturn(true);
+        when(reconciliationRepository.streamAcceptedBatchTotals(anyString(), anyString())).thenReturn(Stream.of(
+                totals("2025-01", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 7), 1, "100.00", 2),
+                totals("2025-01", LocalDate.of(2025, 1, 8), LocalDate.of(2025, 1, 14), 1, "60.00", 1),
+                totals("2025-01", null, null, 1, "30.00", 1)));
+        when(reconciliationRepository.streamSubmittedRunTotals(anyString(), anyString())).thenReturn(Stream.of(
+                totals("2025-01", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 7), 1, "100.00", 2),
+                totals("2025-01", LocalDate.of(2025, 1, 8), LocalDate.of(2025, 1, 14), 1, "50.00", 1)));
+        List<ReconciliationDiscrepancy> written = new ArrayList<>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+                .when(reconciliationRepository).insertDiscrepancies(anyList());
+
+        ReconciliationSummary summary = service.reconcile(YearMonth.of(2025, 1), YearMonth.of(2025, 1))
+                .orElseThrow();
+
+        assertEquals(3, summary.groupsCompared());
+        assertEquals(List.of(DiscrepancyType.TOTAL_MISMATCH, DiscrepancyType.MISSING_RUNS),
+                written.stream().map(ReconciliationDiscrepancy::getDiscrepancyType).toList());
+        assertEquals(LocalDate.of(2025, 1, 8), written.get(0).getPayPeriodStart());
+        assertEquals(LocalDate.of(2025, 1, 14), written.get(0).getPayPeriodEnd());
+        assertNull(written.get(1).getPayPeriodStart());
+    }
+
+    @Test
+    void shouldSkipWhenAnotherNodeIsReconciling() {
+        when(reconciliationRepository.tryLockReconciliation()).thenReturn(false);
+
+        assertTrue(service.reconcile(YearMonth.of(2025, 1), YearMonth.of(2025, 12)).isEmpty());
+        verify(reconciliationRepository, never()).streamAcceptedBatchTotals(anyString(), anyString());
+        verify(reconciliationRepository, never()).insertDiscrepancies(anyList());
+    }
+
+    private ReconciliationTotals totals(String period, int payGroupKey, String amount, long count) {
+        YearMonth month = YearMonth.parse(period);
+        return totals(period, month.atDay(1), month.atEndOfMonth(), payGroupKey, amount, count);
+    }
+
+    private ReconciliationTotals totals(String period, LocalDate start, LocalDate end, int payGroupKey, String amount,
+                                        long count) {
+        return new ReconciliationTotals(period, start, end, payGroupKey, new BigDecimal(amount), count);
+    }
+}
@@ -0,0 +1,66 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.enums.CircuitState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), 2, clock::get);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertFalse(breaker.allowsRequests());
+    }
+
+    @Test
+    void shouldCloseOnceProbesSucceedAfterOpenDuration() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    private void open() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+    }
+}
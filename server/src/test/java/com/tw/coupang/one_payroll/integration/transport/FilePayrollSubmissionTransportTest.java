@@ -0,0 +1,172 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
+import com.tw.coupang.one_payroll.integration.repository.PayrollBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FilePayrollSubmissionTransportTest {
+
+    @Mock
+    private PayrollBatchRepository batchRepository;
+
+    @TempDir
+    private Path outboundDir;
+
+    @Test
+    void shouldWritePaymentFileWithChecksumTrailerAndRecordIt() throws Exception {
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                outboundDir.toString(), 4096);
+
+        PayrollBatchResponse response = transport.submit(request(2)).join();
+
+        Path file = outboundDir.resolve("BATCH-1.csv");
+        assertEquals("SUCCESS", response.getStatus());
+        assertFalse(Files.exists(outboundDir.resolve("BATCH-1.csv.part")));
+
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        List<String> lines = content.lines().toList();
+        assertEquals("H,BATCH-1,2025-11,7,2,1809.50", lines.get(0));
+        assertEquals("D,E0,1000.00,100.25,5.00,904.75", lines.get(1));
+        String body = content.substring(0, content.indexOf("T,"));
+        String checksum = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("T,2,1809.50," + checksum, lines.get(3));
+
+        verify(batchRepository).recordExportedFile("BATCH-1", "2025-11", null, null, 7, new BigDecimal("1809.50"),
+                response.getErrorMessage(), 2, "BATCH-1.csv", Files.size(file));
+    }
+
+    @Test
+    void shouldSpillLinesAcrossBufferDrains() throws Exception {
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                outboundDir.toString(), 4096);
+
+        transport.submit(request(5000)).join();
+
+        List<String> lines = Files.readAllLines(outboundDir.resolve("BATCH-1.csv"));
+        assertEquals(5002, lines.size());
+        assertEquals("D,E4999,1000.00,100.25,5.00,904.75", lines.get(5000));
+        assertTrue(lines.get(5001).startsWith("T,5000,"));
+    }
+
+    @Test
+    void shouldRefuseBatchWithoutLineItems() throws Exception {
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                outboundDir.toString(), 4096);
+        PayrollBatchRequest request = request(0);
+        request.setLineItems(null);
+        request.setEmployeeIds(List.of("E001", "E002"));
+        request.setTotalAmount(new BigDecimal("10.00"));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> transport.submit(request).join());
+
+        assertInstanceOf(PayrollSubmissionException.class, exception.getCause());
+        assertFalse(Files.exists(outboundDir.resolve("BATCH-1.csv")));
+        verifyNoInteractions(batchRepository);
+    }
+
+    @Test
+    void shouldFailWhenOutboundDirectoryCannotBeCreated() throws Exception {
+        Path blocked = Files.writeString(outboundDir.resolve("blocked"), "not a directory");
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                blocked.toString(), 4096);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> transport.submit(request(1)).join());
+
+        assertInstanceOf(PayrollSubmissionException.class, exception.getCause());
+        verifyNoInteractions(batchRepository);
+    }
+
+    @Test
+    void shouldNotReportSuccessWhenBatchCannotBeRecorded() {
+        when(batchRepository.recordExportedFile(anyString(), anyString(), any(), any(), any(), any(), anyString(), anyInt(),
+                anyString(), anyLong())).thenThrow(new IllegalStateException("db down"));
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                outboundDir.toString(), 4096);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> transport.submit(request(1)).join());
+
+        assertInstanceOf(PayrollSubmissionException.class, exception.getCause());
+        assertFalse(Files.exists(outboundDir.resolve("BATCH-1.csv")));
+        assertFalse(Files.exists(outboundDir.resolve("BATCH-1.csv.part")));
+    }
+
+    @Test
+    void shouldRecordBatchBeforePublishingItsFile() {
+        when(batchRepository.recordExportedFile(anyString(), anyString(), any(), any(), any(), any(), anyString(), anyInt(),
+                anyString(), anyLong())).thenAnswer(invocation -> {
+                    assertFalse(Files.exists(outboundDir.resolve("BATCH-1.csv")));
+                    return 1;
+                });
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                outboundDir.toString(), 4096);
+
+        transport.submit(request(1)).join();
+
+        assertTrue(Files.exists(outboundDir.resolve("BATCH-1.csv")));
+    }
+
+    @Test
+    void shouldReplaceFileOfResentBatch() throws Exception {
+        FilePayrollSubmissionTransport transport = new FilePayrollSubmissionTransport(batchRepository,
+                outboundDir.toString(), 4096);
+
+        transport.submit(request(1)).join();
+        transport.submit(request(2)).join();
+
+        try (Stream<Path> files = Files.list(outboundDir)) {
+            assertEquals(List.of(outboundDir.resolve("BATCH-1.csv")), files.toList());
+        }
+        assertTrue(Files.readString(outboundDir.resolve("BATCH-1.csv")).startsWith("H,BATCH-1,2025-11,7,2,"));
+    }
+
+    private PayrollBatchRequest request(int lines) {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-1");
+        request.setPayPeriod("2025-11");
+        request.setPayGroupId(7);
+        List<PayrollBatchLineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            lineItems.add(new PayrollBatchLineItem("E" + i, new BigDecimal("1000.00"), new BigDecimal("100.25"),
+                    new BigDecimal("5.00"), new BigDecimal("904.75")));
+        }
+        request.setLineItems(lineItems);
+        request.setTotalAmount(new BigDecimal("904.75").multiply(BigDecimal.valueOf(lines)));
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GuardedPayrollSubmissionTransportTest {
+
+    @Mock
+    private PayrollSubmissionTransport delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GuardedPayrollSubmissionTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        transport = new GuardedPayrollSubmissionTransport(delegate, meterRegistry,
+                new TokenBucket(1000, 1000, System::nanoTime),
+                new CircuitBreaker(2, Duration.ofMinutes(1), 1, System::nanoTime));
+    }
+
+    @Test
+    void shouldPassResponsesThrough() {
+        PayrollBatchResponse response = new PayrollBatchResponse("BATCH-1", "SUCCESS", "time", "ok");
+        when(delegate.submit(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertEquals(response, transport.submit(request()).join());
+        assertEquals(0.0, meterRegistry.get("payroll.submission.breaker.state").gauge().value());
+    }
+
+    @Test
+    void shouldStopSendingOnceBreakerOpens() {
+        when(delegate.submit(any())).thenReturn(CompletableFuture.failedFuture(new PayrollSubmissionException("down")));
+
+        transport.submit(request());
+        transport.submit(request());
+        CompletionException rejected = assertThrows(CompletionException.class, () -> transport.submit(request()).join());
+
+        assertInstanceOf(PayrollSubmissionException.class, rejected.getCause());
+        assertFalse(transport.acceptsSubmissions());
+        verify(delegate, times(2)).submit(any());
+        assertEquals(2.0, meterRegistry.get("payroll.submission.breaker.state").gauge().value());
+        assertEquals(1.0, meterRegistry.get("payroll.submission.breaker.rejected").counter().count());
+    }
+
+    private PayrollBatchRequest request() {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-1");
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchResponse;
+import com.tw.coupang.one_payroll.integration.exception.PayrollSubmissionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpPayrollSubmissionTransportTest {
+
+    private HttpServer server;
+    private HttpPayrollSubmissionTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+        String submitUrl = "http://localhost:" + server.getAddress().getPort() + "/submit";
+        transport = new HttpPayrollSubmissionTransport(HttpClient.newHttpClient(), new ObjectMapper(),
+                new PayrollBatchPayloadCodec(new ObjectMapper()), submitUrl, 5000, 2, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldParseResponseWhenDownstreamAccepts() {
+        respondWith(200, "{\"batchRefId\":\"BATCH-1\",\"status\":\"SUCCESS\",\"timestamp\":\"time\",\"errorMessage\":null}");
+
+        PayrollBatchResponse response = transport.submit(request()).join();
+
+        assertEquals("BATCH-1", response.getBatchRefId());
+        assertEquals("SUCCESS", response.getStatus());
+    }
+
+    @Test
+    void shouldFailWhenDownstreamReturnsServerError() {
+        respondWith(500, "{}");
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> transport.submit(request()).join());
+
+        assertInstanceOf(PayrollSubmissionException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldSendLineItemsAsGzippedStreamedPayload() throws Exception {
+        AtomicReference<String> contentType = new AtomicReference<>();
+        AtomicReference<String> contentEncoding = new AtomicReference<>();
+        AtomicReference<String> body = new AtomicReference<>();
+        server.createContext("/submit", exchange -> {
+            contentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            contentEncoding.set(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            try (InputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+                body.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            byte[] bytes = "{\"batchRefId\":\"BATCH-1\",\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        PayrollBatchRequest request = request();
+        request.setLineItems(List.of(new PayrollBatchLineItem("E001", new BigDecimal("12.00"), new BigDecimal("2.00"),
+                BigDecimal.ZERO, BigDecimal.TEN)));
+
+        transport.submit(request).join();
+
+        assertEquals(PayrollBatchPayloadCodec.MEDIA_TYPE, contentType.get());
+        assertEquals("gzip", contentEncoding.get());
+        assertTrue(body.get().contains("\"lineItems\":[{\"employeeId\":\"E001\",\"grossPay\":12.00"));
+        assertFalse(body.get().contains("employeeIds"));
+    }
+
+    private void respondWith(int status, String body) {
+        server.createContext("/submit", exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    private PayrollBatchRequest request() {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-1");
+        request.setEmployeeIds(List.of("E001"));
+        request.setTotalAmount(BigDecimal.TEN);
+        return request;
+    }
+}
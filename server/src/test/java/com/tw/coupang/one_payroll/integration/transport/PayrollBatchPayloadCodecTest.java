@@ -0,0 +1,125 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchLineItem;
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import com.tw.coupang.one_payroll.integration.exception.InvalidBatchPayloadException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayrollBatchPayloadCodecTest {
+
+    private final PayrollBatchPayloadCodec codec = new PayrollBatchPayloadCodec(new ObjectMapper());
+
+    @Test
+    void shouldReadBackHeaderAndLineItemsInOrder() throws IOException {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-1");
+        request.setPayPeriod("2025-11");
+        request.setPayPeriodStart(LocalDate.of(2025, 11, 3));
+        request.setPayPeriodEnd(LocalDate.of(2025, 11, 9));
+        request.setPayGroupId(7);
+        request.setTotalAmount(new BigDecimal("1750.50"));
+        List<PayrollBatchLineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lineItems.add(new PayrollBatchLineItem("E" + i, new BigDecimal("1000.00"), new BigDecimal("100.25"),
+                    new BigDecimal("5.00"), new BigDecimal("904.75")));
+        }
+        request.setLineItems(lineItems);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(request, out);
+
+        List<PayrollBatchLineItem> read = new ArrayList<>();
+        try (PayrollBatchPayloadReader reader = codec.read(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("BATCH-1", reader.header().getBatchRefId());
+            assertEquals("2025-11", reader.header().getPayPeriod());
+            assertEquals(LocalDate.of(2025, 11, 3), reader.header().getPayPeriodStart());
+            assertEquals(LocalDate.of(2025, 11, 9), reader.header().getPayPeriodEnd());
+            assertEquals(7, reader.header().getPayGroupId());
+            assertEquals(new BigDecimal("1750.50"), reader.header().getTotalAmount());
+            assertNull(reader.header().getEmployeeIds());
+            reader.forEachRemaining(read::add);
+        }
+
+        assertEquals(lineItems, read);
+    }
+
+    @Test
+    void shouldEncodeSameGzippedPayloadAsWriteWhileBeingRead() throws IOException {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-1");
+        request.setPayPeriod("2025-11");
+        request.setTotalAmount(new BigDecimal("9000.00"));
+        List<PayrollBatchLineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lineItems.add(new PayrollBatchLineItem("E" + i, new BigDecimal("10.00"), new BigDecimal("1.00"),
+                    BigDecimal.ZERO, new BigDecimal("9.00")));
+        }
+        request.setLineItems(lineItems);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        codec.write(request, written);
+
+        // Small reads, so the encoder has to pick up again in the middle of lines
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (InputStream in = codec.encode(request, true)) {
+            byte[] buffer = new byte[7];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                encoded.write(buffer, 0, read);
+            }
+        }
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.toByteArray()))) {
+            assertArrayEquals(written.toByteArray(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldSkipUnknownHeaderFields() {
+        PayrollBatchPayloadReader reader = codec.read(stream(
+                "{\"batchRefId\":\"BATCH-1\",\"source\":{\"system\":\"x\"},\"totalAmount\":1,\"lineItems\":[]}"));
+
+        assertEquals("BATCH-1", reader.header().getBatchRefId());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldRejectPayPeriodStartThatIsNotADate() {
+        assertThrows(InvalidBatchPayloadException.class, () -> codec.read(stream(
+                "{\"batchRefId\":\"BATCH-1\",\"payPeriodStart\":\"2025-11\",\"lineItems\":[]}")));
+    }
+
+    @Test
+    void shouldRejectPayloadWithoutLineItems() {
+        assertThrows(InvalidBatchPayloadException.class,
+                () -> codec.read(stream("{\"batchRefId\":\"BATCH-1\",\"totalAmount\":1}")));
+    }
+
+    @Test
+    void shouldRejectLineItemsThatAreNotObjects() {
+        PayrollBatchPayloadReader reader = codec.read(stream("{\"batchRefId\":\"BATCH-1\",\"lineItems\":[42]}"));
+
+        assertThrows(InvalidBatchPayloadException.class, reader::hasNext);
+    }
+
+    private ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
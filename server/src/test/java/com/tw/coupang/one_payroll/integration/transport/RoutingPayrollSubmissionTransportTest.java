@@ -0,0 +1,65 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import com.tw.coupang.one_payroll.integration.dto.PayrollBatchRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingPayrollSubmissionTransportTest {
+
+    @Mock
+    private PayrollSubmissionTransport httpTransport;
+
+    @Mock
+    private PayrollSubmissionTransport fileTransport;
+
+    @Test
+    void shouldExportConfiguredPayGroupsAsFiles() {
+        RoutingPayrollSubmissionTransport transport = new RoutingPayrollSubmissionTransport(httpTransport,
+                fileTransport, Set.of(7));
+        PayrollBatchRequest request = request(7);
+
+        transport.submit(request);
+
+        verify(fileTransport).submit(request);
+        verify(httpTransport, never()).submit(request);
+    }
+
+    @Test
+    void shouldSendOtherAndUnknownPayGroupsOverHttp() {
+        RoutingPayrollSubmissionTransport transport = new RoutingPayrollSubmissionTransport(httpTransport,
+                fileTransport, Set.of(7));
+        PayrollBatchRequest otherGroup = request(3);
+        PayrollBatchRequest noGroup = request(null);
+
+        transport.submit(otherGroup);
+        transport.submit(noGroup);
+
+        verify(httpTransport).submit(otherGroup);
+        verify(httpTransport).submit(noGroup);
+        verify(fileTransport, never()).submit(otherGroup);
+    }
+
+    @Test
+    void shouldFollowHttpTransportAvailability() {
+        when(httpTransport.acceptsSubmissions()).thenReturn(false);
+
+        assertFalse(new RoutingPayrollSubmissionTransport(httpTransport, fileTransport, Set.of()).acceptsSubmissions());
+    }
+
+    private PayrollBatchRequest request(Integer payGroupId) {
+        PayrollBatchRequest request = new PayrollBatchRequest();
+        request.setBatchRefId("BATCH-" + payGroupId);
+        request.setPayGroupId(payGroupId);
+        return request;
+    }
+}
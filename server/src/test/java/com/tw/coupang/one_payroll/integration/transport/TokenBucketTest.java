@@ -0,0 +1,32 @@
+package com.tw.coupang.one_payroll.integration.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+    @Test
+    void shouldServeBurstWithoutWaitingThenSpaceCallers() {
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve());
+    }
+
+    @Test
+    void shouldRefillUpToBurst() {
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertEquals(2.0, bucket.availableTokens());
+    }
+}
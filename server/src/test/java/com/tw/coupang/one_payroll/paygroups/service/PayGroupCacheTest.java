@@ -0,0 +1,130 @@
+package com.tw.coupang.one_payroll.paygroups.service;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroupVersion;
+import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
+import com.tw.coupang.one_payroll.paygroups.repository.PayGroupRepository;
+import com.tw.coupang.one_payroll.paygroups.repository.PayGroupVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayGroupCacheTest {
+
+    @Mock
+    private PayGroupRepository payGroupRepository;
+
+    @Mock
+    private PayGroupVersionRepository payGroupVersionRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PayGroupCache payGroupCache;
+
+    @BeforeEach
+    void setUp() {
+        payGroupCache = new PayGroupCache(payGroupRepository, payGroupVersionRepository, meterRegistry);
+    }
+
+    @Test
+    void getShouldLoadOnMissAndServeLaterLookupsFromSnapshot() {
+        when(payGroupRepository.findById(1)).thenReturn(Optional.of(buildPayGroup(1, BigDecimal.TEN)));
+
+        assertThat(payGroupCache.get(1)).map(PayGroup::getGroupName).contains("Engineering");
+        assertThat(payGroupCache.get(1)).map(PayGroup::getGroupName).contains("Engineering");
+
+        verify(payGroupRepository, times(1)).findById(1);
+        assertThat(cacheGets("miss")).isEqualTo(1.0);
+        assertThat(cacheGets("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void getShouldNotCacheMissingPayGroups() {
+        when(payGroupRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThat(payGroupCache.get(99)).isEmpty();
+        assertThat(payGroupCache.get(99)).isEmpty();
+
+        verify(payGroupRepository, times(2)).findById(99);
+        assertThat(cacheGets("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void onPayGroupSavedShouldBumpVersionAndReplaceCachedEntry() {
+        when(payGroupVersionRepository.findById(PayGroupVersion.SINGLETON_ID))
+                .thenReturn(Optional.of(new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 4L)));
+        when(payGroupRepository.findAll()).thenReturn(List.of(buildPayGroup(1, BigDecimal.TEN)));
+        payGroupCache.refreshIfStale();
+
+        when(payGroupVersionRepository.findByIdForUpdate(PayGroupVersion.SINGLETON_ID))
+                .thenReturn(Optional.of(new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 4L)));
+        payGroupCache.onPayGroupSaved(buildPayGroup(1, BigDecimal.valueOf(12)));
+
+        assertThat(payGroupCache.getVersion()).isEqualTo(5);
+        assertThat(payGroupCache.get(1)).map(PayGroup::getBaseTaxRate).contains(BigDecimal.valueOf(12));
+        verify(payGroupVersionRepository).save(any(PayGroupVersion.class));
+        verify(payGroupRepository, never()).findById(any());
+    }
+
+    @Test
+    void getShouldKeepNewerCopySavedWhileTheMissWasLoading() {
+        when(payGroupVersionRepository.findByIdForUpdate(PayGroupVersion.SINGLETON_ID))
+                .thenReturn(Optional.of(new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 0L)));
+        // The save commits after the miss has read the old rates from the database
+        when(payGroupRepository.findById(1)).thenAnswer(invocation -> {
+            payGroupCache.onPayGroupSaved(buildPayGroup(1, BigDecimal.valueOf(12)));
+            return Optional.of(buildPayGroup(1, BigDecimal.TEN));
+        });
+
+        payGroupCache.get(1);
+
+        assertThat(payGroupCache.get(1)).map(PayGroup::getBaseTaxRate).contains(BigDecimal.valueOf(12));
+    }
+
+    @Test
+    void refreshIfStaleShouldReloadOnlyWhenStoredVersionMoved() {
+        when(payGroupVersionRepository.findById(PayGroupVersion.SINGLETON_ID))
+                .thenReturn(Optional.of(new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 2L)))
+                .thenReturn(Optional.of(new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 2L)))
+                .thenReturn(Optional.of(new PayGroupVersion(PayGroupVersion.SINGLETON_ID, 3L)));
+        when(payGroupRepository.findAll())
+                .thenReturn(List.of(buildPayGroup(1, BigDecimal.TEN)))
+                .thenReturn(List.of(buildPayGroup(1, BigDecimal.ONE)));
+
+        payGroupCache.refreshIfStale();
+        payGroupCache.refreshIfStale();
+        payGroupCache.refreshIfStale();
+
+        verify(payGroupRepository, times(2)).findAll();
+        assertThat(payGroupCache.getVersion()).isEqualTo(3);
+        assertThat(payGroupCache.get(1)).map(PayGroup::getBaseTaxRate).contains(BigDecimal.ONE);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("payroll.pay-group.cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private PayGroup buildPayGroup(Integer id, BigDecimal baseTaxRate) {
+        return PayGroup.builder()
+                .id(id)
+                .groupName("Engineering")
+                .paymentCycle(PaymentCycle.MONTHLY)
+                .baseTaxRate(baseTaxRate)
+                .build();
+    }
+}
@@ -7,10 +7,12 @@ import com.tw.coupang.one_payroll.paygroups.dto.response.PayGroupResponse;
 import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
 import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
 import com.tw.coupang.one_payroll.paygroups.exception.DuplicatePayGroupException;
+import com.tw.coupang.one_payroll.paygroups.exception.PayGroupNotFoundException;
 import com.tw.coupang.one_payroll.paygroups.repository.PayGroupRepository;
 import com.tw.coupang.one_payroll.paygroups.validator.PayGroupValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +40,9 @@ class PayGroupServiceImplTest {
     @Mock
     private PayGroupValidator payGroupValidator;
 
+    @Mock
+    private PayGroupCache payGroupCache;
+
     @InjectMocks
     private PayGroupServiceImpl payGroupService;
 
@@ -64,6 +70,7 @@ class PayGroupServiceImplTest {
 
         verify(payGroupValidator).validateDuplicateName("Engineering");
         verify(payGroupRepository).save(any(PayGroup.class));
+        verify(payGroupCache).onPayGroupSaved(expected);
     }
 
     @Test
@@ -83,6 +90,7 @@ class PayGroupServiceImplTest {
 
         verify(payGroupValidator).validateDuplicateName("Engineering");
         verify(payGroupRepository, never()).save(any());
+        verify(payGroupCache, never()).onPayGroupSaved(any());
     }
 
     @Test
@@ -118,7 +126,7 @@ class PayGroupServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(payGroupValidator.validatePayGroupExists(1)).thenReturn(existing);
+        when(payGroupRepository.findById(1)).thenReturn(Optional.of(existing));
         doNothing().when(payGroupValidator).validateDuplicateName("Engineering-New");
 
         PayGroup updated = PayGroup.builder()
@@ -138,9 +146,74 @@ class PayGroupServiceImplTest {
         assertThat(response).isNotNull();
         assertThat(response.getPayGroupId()).isEqualTo(1);
 
-        verify(payGroupValidator).validatePayGroupExists(1);
+        verify(payGroupRepository).findById(1);
         verify(payGroupValidator).validateDuplicateName("Engineering-New");
         verify(payGroupRepository).save(any());
+        verify(payGroupCache).onPayGroupSaved(updated);
+        verify(payGroupValidator, never()).validatePayGroupExists(any());
+    }
+
+    @Test
+    void updateShouldThrowPayGroupNotFoundExceptionWhenMissing() {
+        PayGroupUpdateRequest request = PayGroupUpdateRequest.builder()
+                .groupName("Engineering")
+                .build();
+
+        when(payGroupRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(PayGroupNotFoundException.class, () -> payGroupService.update(99, request));
+
+        verify(payGroupRepository, never()).save(any());
+        verify(payGroupCache, never()).onPayGroupSaved(any());
+    }
+
+    @Test
+    void updateShouldBumpRatesVersionWhenRatesChange() {
+        PayGroupUpdateRequest request = PayGroupUpdateRequest.builder()
+                .baseTaxRate(BigDecimal.valueOf(12))
+                .build();
+
+        PayGroup existing = PayGroup.builder()
+                .id(1)
+                .groupName("Engineering")
+                .paymentCycle(PaymentCycle.MONTHLY)
+                .baseTaxRate(BigDecimal.TEN)
+                .ratesVersion(3)
+                .build();
+
+        when(payGroupRepository.findById(1)).thenReturn(Optional.of(existing));
+        when(payGroupRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        payGroupService.update(1, request);
+
+        ArgumentCaptor<PayGroup> captor = ArgumentCaptor.forClass(PayGroup.class);
+        verify(payGroupRepository).save(captor.capture());
+        assertThat(captor.getValue().getRatesVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void updateShouldKeepRatesVersionWhenOnlyNameChanges() {
+        PayGroupUpdateRequest request = PayGroupUpdateRequest.builder()
+                .groupName("Engineering-New")
+                .baseTaxRate(new BigDecimal("10.00"))
+                .build();
+
+        PayGroup existing = PayGroup.builder()
+                .id(1)
+                .groupName("Engineering")
+                .paymentCycle(PaymentCycle.MONTHLY)
+                .baseTaxRate(BigDecimal.TEN)
+                .ratesVersion(3)
+                .build();
+
+        when(payGroupRepository.findById(1)).thenReturn(Optional.of(existing));
+        when(payGroupRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        payGroupService.update(1, request);
+
+        ArgumentCaptor<PayGroup> captor = ArgumentCaptor.forClass(PayGroup.class);
+        verify(payGroupRepository).save(captor.capture());
+        assertThat(captor.getValue().getRatesVersion()).isEqualTo(3);
     }
 
     @Test
@@ -155,7 +228,7 @@ class PayGroupServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(payGroupValidator.validatePayGroupExists(1)).thenReturn(existing);
+        when(payGroupRepository.findById(1)).thenReturn(Optional.of(existing));
 
         doThrow(new DuplicatePayGroupException("Pay group with name 'Engineering' already exists!"))
                 .when(payGroupValidator).validateDuplicateName("Engineering");
@@ -4,6 +4,7 @@ import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
 import com.tw.coupang.one_payroll.paygroups.exception.DuplicatePayGroupException;
 import com.tw.coupang.one_payroll.paygroups.exception.PayGroupNotFoundException;
 import com.tw.coupang.one_payroll.paygroups.repository.PayGroupRepository;
+import com.tw.coupang.one_payroll.paygroups.service.PayGroupCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,6 +27,9 @@ class PayGroupValidatorTest {
     @Mock
     private PayGroupRepository repository;
 
+    @Mock
+    private PayGroupCache payGroupCache;
+
     @Test
     void validateDuplicateNameWhenNameExistsShouldThrowException() {
         when(repository.existsByGroupNameIgnoreCase("HR")).thenReturn(true);
@@ -45,7 +49,7 @@ class PayGroupValidatorTest {
     void validatePayGroupExistsWhenFoundShouldReturnEntity() {
         PayGroup payGroup = PayGroup.builder().id(1).groupName("HR").build();
 
-        when(repository.findById(1)).thenReturn(Optional.of(payGroup));
+        when(payGroupCache.get(1)).thenReturn(Optional.of(payGroup));
 
         PayGroup result = validator.validatePayGroupExists(1);
 
@@ -55,7 +59,7 @@ class PayGroupValidatorTest {
 
     @Test
     void validatePayGroupExistsWhenNotFoundShouldThrowException() {
-        when(repository.findById(99)).thenReturn(Optional.empty());
+        when(payGroupCache.get(99)).thenReturn(Optional.empty());
 
         assertThrows(PayGroupNotFoundException.class,
                 () -> validator.validatePayGroupExists(99));
@@ -1,25 +1,47 @@
 package com.tw.coupang.one_payroll.payroll.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.request.PayrollCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollSimulationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.response.ApiResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollBatchRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRecalculationResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunCursor;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunPageResponse;
 import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationEmployeeDiff;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationSummary;
 import com.tw.coupang.one_payroll.payroll.service.PayrollCalculationService;
+import com.tw.coupang.one_payroll.payroll.service.PayrollSimulation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static java.math.BigDecimal.valueOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +53,9 @@ class PayrollCalculationControllerTest {
     @Mock
     private PayrollCalculationService payrollCalculationService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @Test
     void calculatePayrollWithValidRequestShouldReturnOkResponse() {
         PayrollCalculationRequest request = PayrollCalculationRequest.builder()
@@ -58,6 +83,102 @@ class PayrollCalculationControllerTest {
         assertNotNull(actual.getBody().getTimestamp());
     }
 
+    @Test
+    void calculatePayrollBatchWithValidRequestShouldReturnOkResponse() {
+        PayrollBatchCalculationRequest request = PayrollBatchCalculationRequest.builder()
+                .payGroupIds(List.of(1, 2))
+                .payPeriod(
+                        PayPeriod.builder()
+                                .startDate(LocalDate.of(2025, 1, 1))
+                                .endDate(LocalDate.of(2025, 1, 31))
+                                .build()
+                )
+                .build();
+
+        PayrollBatchRunResponse batchResponse = PayrollBatchRunResponse.builder()
+                .payGroupIds(request.getPayGroupIds())
+                .payPeriodStart(request.getPayPeriod().getStartDate())
+                .payPeriodEnd(request.getPayPeriod().getEndDate())
+                .employeesProcessed(2)
+                .totalGrossPay(valueOf(100000))
+                .totalNetPay(valueOf(90000))
+                .build();
+        when(payrollCalculationService.calculateBatch(request)).thenReturn(batchResponse);
+
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.calculatePayrollBatch(request);
+
+        assertNotNull(actual);
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals("PAYROLL_BATCH_CALCULATION_SUCCESS", actual.getBody().getCode());
+        assertEquals(batchResponse, actual.getBody().getDetails());
+    }
+
+    @Test
+    void recalculatePayrollShouldReturnOkResponse() {
+        PayrollBatchCalculationRequest request = PayrollBatchCalculationRequest.builder()
+                .payGroupIds(List.of(1))
+                .payPeriod(
+                        PayPeriod.builder()
+                                .startDate(LocalDate.of(2025, 1, 1))
+                                .endDate(LocalDate.of(2025, 1, 31))
+                                .build()
+                )
+                .build();
+
+        PayrollRecalculationResponse recalculationResponse = PayrollRecalculationResponse.builder()
+                .payGroupIds(request.getPayGroupIds())
+                .employeesChecked(3)
+                .runsRecalculated(1)
+                .runsUnchanged(1)
+                .runsSkippedSubmitted(1)
+                .build();
+        when(payrollCalculationService.recalculateBatch(request)).thenReturn(recalculationResponse);
+
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.recalculatePayroll(request);
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals("PAYROLL_RECALCULATION_SUCCESS", actual.getBody().getCode());
+        assertEquals(recalculationResponse, actual.getBody().getDetails());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void simulatePayrollShouldStreamEmployeeDiffsFollowedBySummaryAsNdjson() throws IOException {
+        PayrollSimulationRequest request = PayrollSimulationRequest.builder()
+                .payGroupId(1)
+                .payPeriod(PayPeriod.builder()
+                        .startDate(LocalDate.of(2025, 1, 1))
+                        .endDate(LocalDate.of(2025, 1, 31))
+                        .build())
+                .baseTaxRate(valueOf(12))
+                .build();
+        PayrollSimulation simulation = new PayrollSimulation(null, null, null, null, null);
+        when(payrollCalculationService.prepareSimulation(request)).thenReturn(simulation);
+        when(payrollCalculationService.simulate(eq(simulation), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Consumer<PayrollSimulationEmployeeDiff> sink = invocation.getArgument(1);
+                    sink.accept(PayrollSimulationEmployeeDiff.builder().employeeId("EMP001")
+                            .netPayChange(valueOf(-1000)).build());
+                    sink.accept(PayrollSimulationEmployeeDiff.builder().employeeId("EMP002")
+                            .netPayChange(valueOf(-500)).build());
+                    return PayrollSimulationSummary.builder().payGroupId(1).employeesSimulated(2)
+                            .totalNetPayChange(valueOf(-1500)).build();
+                });
+
+        ResponseEntity<StreamingResponseBody> actual = payrollCalculationController.simulatePayroll(request);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        actual.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, actual.getHeaders().getContentType());
+        String[] lines = output.toString(UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("EMP001", objectMapper.readTree(lines[0]).get("employeeId").asText());
+        assertEquals("EMPLOYEE", objectMapper.readTree(lines[1]).get("type").asText());
+        assertEquals("SUMMARY", objectMapper.readTree(lines[2]).get("type").asText());
+        assertEquals(2, objectMapper.readTree(lines[2]).get("employeesSimulated").asInt());
+    }
+
     @Test
     void getPayrollByEmployeeIdShouldReturnPayrollRunDataWithOkResponse() {
         //given
@@ -66,18 +187,19 @@ class PayrollCalculationControllerTest {
         LocalDate periodEnd = LocalDate.of(2025, 1, 31);
         final var payrollRun = getPayrollRunResponse(employeeId, periodStart, periodEnd);
 
-        when(payrollCalculationService.getPayroll(employeeId, null, null))
-                .thenReturn(singletonList(payrollRun));
+        when(payrollCalculationService.getPayroll(employeeId, null, null, null, null))
+                .thenReturn(new PayrollRunPageResponse(singletonList(payrollRun), null));
 
         //when
-        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(employeeId, null, null);
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(employeeId, null, null, null, null);
 
         //then
         assertNotNull(actual);
         assertEquals(HttpStatus.OK, actual.getStatusCode());
-        final var listOfPayrollRuns = (List<PayrollRunResponse>) actual.getBody().getDetails();
-        assertEquals(1, listOfPayrollRuns.size());
-        assertEquals(payrollRun, listOfPayrollRuns.get(0));
+        final var page = (PayrollRunPageResponse) actual.getBody().getDetails();
+        assertEquals(1, page.payrollRuns().size());
+        assertEquals(payrollRun, page.payrollRuns().get(0));
+        assertNull(page.nextCursor());
     }
 
     @Test
@@ -88,18 +210,32 @@ class PayrollCalculationControllerTest {
         LocalDate periodEnd = LocalDate.of(2025, 1, 31);
         final var payrollRun = getPayrollRunResponse(employeeId, periodStart, periodEnd);
 
-        when(payrollCalculationService.getPayroll(employeeId, periodStart, periodEnd))
-                .thenReturn(singletonList(payrollRun));
+        when(payrollCalculationService.getPayroll(employeeId, periodStart, periodEnd,
+                new PayrollRunCursor(periodStart, periodEnd, 41), 1))
+                .thenReturn(new PayrollRunPageResponse(singletonList(payrollRun), "2025-01-01_2025-01-31_42"));
 
         //when
-        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(employeeId, periodStart, periodEnd);
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(employeeId, periodStart, periodEnd,
+                "2025-01-01_2025-01-31_41", 1);
 
         //then
         assertNotNull(actual);
         assertEquals(HttpStatus.OK, actual.getStatusCode());
-        final var listOfPayrollRuns = (List<PayrollRunResponse>) actual.getBody().getDetails();
-        assertEquals(1, listOfPayrollRuns.size());
-        assertEquals(payrollRun, listOfPayrollRuns.get(0));
+        final var page = (PayrollRunPageResponse) actual.getBody().getDetails();
+        assertEquals(1, page.payrollRuns().size());
+        assertEquals(payrollRun, page.payrollRuns().get(0));
+        assertEquals("2025-01-01_2025-01-31_42", page.nextCursor());
+    }
+
+    @Test
+    void getPayrollWithMalformedCursorShouldReturnBadRequestResponse() {
+        //when
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll("EMP123", null, null, "42", null);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, actual.getStatusCode());
+        assertEquals("INVALID_CURSOR", actual.getBody().getCode());
+        verifyNoInteractions(payrollCalculationService);
     }
 
     @Test
@@ -110,7 +246,8 @@ class PayrollCalculationControllerTest {
         LocalDate periodEnd = LocalDate.of(2025, 1, 1);
 
         //when
-        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(employeeId, periodStart, periodEnd);
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(employeeId, periodStart, periodEnd,
+                null, null);
 
         //then
         assertNotNull(actual);
@@ -125,7 +262,7 @@ class PayrollCalculationControllerTest {
         LocalDate periodStart = LocalDate.of(2025, 1, 31);
 
         //when
-        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(null, periodStart, null);
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(null, periodStart, null, null, null);
 
         //then
         assertNotNull(actual);
@@ -138,7 +275,7 @@ class PayrollCalculationControllerTest {
     @Test
     void getPayrollWithNoQueryParamShouldReturnBadRequestResponse() {
         //when
-        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(null, null, null);
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll(null, null, null, null, null);
 
         //then
         assertNotNull(actual);
@@ -148,6 +285,48 @@ class PayrollCalculationControllerTest {
                 actual.getBody().getMessage());
     }
 
+    @Test
+    void getPayrollWithNonPositiveLimitShouldReturnBadRequestResponse() {
+        //when
+        ResponseEntity<ApiResponse> actual = payrollCalculationController.getPayroll("EMP123", null, null, null, 0);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, actual.getStatusCode());
+        assertEquals("INVALID_LIMIT", actual.getBody().getCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamPayrollShouldWriteEachPayrollRunAsNdjsonLine() throws IOException {
+        LocalDate periodStart = LocalDate.of(2025, 1, 1);
+        LocalDate periodEnd = LocalDate.of(2025, 1, 31);
+        when(payrollCalculationService.streamPayroll(isNull(), eq(periodStart), eq(periodEnd), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Consumer<PayrollRunResponse> sink = invocation.getArgument(3);
+                    sink.accept(getPayrollRunResponse("EMP001", periodStart, periodEnd));
+                    sink.accept(getPayrollRunResponse("EMP002", periodStart, periodEnd));
+                    return 2L;
+                });
+
+        ResponseEntity<?> actual = payrollCalculationController.streamPayroll(null, periodStart, periodEnd);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingResponseBody) actual.getBody()).writeTo(output);
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, actual.getHeaders().getContentType());
+        String[] lines = output.toString(UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("EMP002", objectMapper.readTree(lines[1]).get("employeeId").asText());
+    }
+
+    @Test
+    void streamPayrollWithInvalidQueryShouldReturnBadRequestResponse() {
+        ResponseEntity<?> actual = payrollCalculationController.streamPayroll(null, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, actual.getStatusCode());
+        assertEquals("INVALID_REQUEST", ((ApiResponse) actual.getBody()).getCode());
+    }
+
     private PayrollRunResponse getPayrollRunResponse(final String employeeId,
                                                      final LocalDate periodStart,
                                                      final LocalDate periodEnd) {
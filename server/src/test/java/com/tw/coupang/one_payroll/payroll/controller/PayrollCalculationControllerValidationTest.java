@@ -116,6 +116,27 @@ class PayrollCalculationControllerValidationTest {
                 .andExpect(jsonPath("$.details.employeeId").exists());
     }
 
+    @Test
+    void simulatePayrollWhenMissingPayGroupIdThenReturnsBadRequest() throws Exception {
+        String invalidRequest = """
+            {
+              "payPeriod": {
+                "startDate": "2025-11-01",
+                "endDate": "2025-11-30"
+              },
+              "baseTaxRate": 70.0
+            }
+        """;
+
+        mockMvc.perform(post("/payroll/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalidRequest))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.details.payGroupId").exists())
+                .andExpect(jsonPath("$.details.baseTaxRate").value("baseTaxRate must be <= 60.0"));
+    }
+
     @Test
     void calculatePayrollWhenMissingPayPeriodThenReturnsBadRequest() throws Exception {
         String invalidRequest = """
@@ -0,0 +1,73 @@
+package com.tw.coupang.one_payroll.payroll.controller;
+
+import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.ApiResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollJobResponse;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus;
+import com.tw.coupang.one_payroll.payroll.service.PayrollJobService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollJobControllerTest {
+
+    @InjectMocks
+    private PayrollJobController payrollJobController;
+
+    @Mock
+    private PayrollJobService payrollJobService;
+
+    @Test
+    void submitShouldReturnAcceptedWithJob() {
+        PayrollBatchCalculationRequest request = PayrollBatchCalculationRequest.builder()
+                .payGroupIds(List.of(1))
+                .payPeriod(PayPeriod.builder()
+                        .startDate(LocalDate.of(2025, 11, 1))
+                        .endDate(LocalDate.of(2025, 11, 30))
+                        .build())
+                .build();
+        PayrollJobResponse job = PayrollJobResponse.builder().jobId("job-1").status(PayrollJobStatus.QUEUED).build();
+        when(payrollJobService.submit(request)).thenReturn(job);
+
+        ResponseEntity<ApiResponse> actual = payrollJobController.submitJob(request);
+
+        assertEquals(HttpStatus.ACCEPTED, actual.getStatusCode());
+        assertEquals("PAYROLL_JOB_ACCEPTED", actual.getBody().getCode());
+        assertEquals(job, actual.getBody().getDetails());
+    }
+
+    @Test
+    void getJobShouldReturnJobProgress() {
+        PayrollJobResponse job = PayrollJobResponse.builder().jobId("job-1").status(PayrollJobStatus.RUNNING).build();
+        when(payrollJobService.getJob("job-1")).thenReturn(job);
+
+        ResponseEntity<ApiResponse> actual = payrollJobController.getJob("job-1");
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals("PAYROLL_JOB_FETCH_SUCCESS", actual.getBody().getCode());
+        assertEquals(job, actual.getBody().getDetails());
+    }
+
+    @Test
+    void cancelShouldReturnAccepted() {
+        PayrollJobResponse job = PayrollJobResponse.builder().jobId("job-1").cancelRequested(true).build();
+        when(payrollJobService.cancel("job-1")).thenReturn(job);
+
+        ResponseEntity<ApiResponse> actual = payrollJobController.cancelJob("job-1");
+
+        assertEquals(HttpStatus.ACCEPTED, actual.getStatusCode());
+        assertEquals("PAYROLL_JOB_CANCEL_REQUESTED", actual.getBody().getCode());
+    }
+}
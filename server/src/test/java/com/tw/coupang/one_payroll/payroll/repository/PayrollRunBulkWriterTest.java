@@ -0,0 +1,101 @@
+package com.tw.coupang.one_payroll.payroll.repository;
+
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunUpsertResult;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollStatus.PROCESSED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollRunBulkWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Validator validator;
+
+    private PayrollRunBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new PayrollRunBulkWriter(jdbcTemplate, validator, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpsertInBatchesAndCountInsertedUpdatedAndSkippedRuns() {
+        when(validator.validate(any(PayrollRun.class))).thenReturn(Set.of());
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(new PayrollRunBulkWriter.WrittenRun(10, true),
+                        new PayrollRunBulkWriter.WrittenRun(11, false)))
+                .thenReturn(List.of());
+
+        final PayrollRunUpsertResult result = writer.upsert(List.of(
+                buildRun("EMP001"), buildRun("EMP002"), buildRun("EMP003")));
+
+        assertEquals(new PayrollRunUpsertResult(1, 1, 1, List.of(10, 11)), result);
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), any(PreparedStatementSetter.class), any(RowMapper.class));
+        assertEquals(2, sql.getAllValues().get(0).split("CAST\\(\\? AS payroll_status\\)").length - 1);
+        assertEquals(1, sql.getAllValues().get(1).split("CAST\\(\\? AS payroll_status\\)").length - 1);
+        assertTrue(sql.getValue().contains("ON CONFLICT (employee_id, pay_period_start, pay_period_end) DO UPDATE"));
+        assertTrue(sql.getValue().contains("WHERE payroll_run.status <> 'SUBMITTED'"));
+        assertTrue(sql.getValue().contains("claim_owner = NULL"));
+    }
+
+    @Test
+    void shouldNotTouchDatabaseForEmptyInput() {
+        assertEquals(PayrollRunUpsertResult.empty(), writer.upsert(List.of()));
+
+        verifyNoInteractions(jdbcTemplate, validator);
+    }
+
+    @Test
+    void shouldRejectRunWithInvalidPayPeriodBeforeWriting() {
+        final PayrollRun run = buildRun("EMP001");
+        run.setPayPeriodEnd(run.getPayPeriodStart().minusDays(1));
+
+        assertThrows(IllegalArgumentException.class, () -> writer.upsert(List.of(run)));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private PayrollRun buildRun(String employeeId) {
+        return PayrollRun.builder()
+                .employeeId(employeeId)
+                .payPeriodStart(LocalDate.of(2025, 11, 1))
+                .payPeriodEnd(LocalDate.of(2025, 11, 30))
+                .grossPay(BigDecimal.valueOf(50000))
+                .taxDeduction(BigDecimal.valueOf(5000))
+                .benefitAddition(BigDecimal.valueOf(2500))
+                .netPay(BigDecimal.valueOf(47000))
+                .status(PROCESSED)
+                .payGroupId(10)
+                .payGroupRatesVersion(1)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GrossPayCalculatorTest {
+
+    private final GrossPayCalculator calculator = new GrossPayCalculator(new BigDecimal("312.50"));
+
+    @Test
+    void shouldMultiplyPayableHoursByHourlyRate() {
+        assertEquals(new BigDecimal("57500.00"), calculator.calculateGrossPay(PaymentCycle.MONTHLY, new BigDecimal("184.00")));
+    }
+
+    @Test
+    void shouldRoundToCents() {
+        assertEquals(new BigDecimal("3.13"), calculator.calculateGrossPay(PaymentCycle.WEEKLY, new BigDecimal("0.01")));
+    }
+
+    @Test
+    void shouldUseStandardHoursOfPaymentCycleWithoutTimesheet() {
+        assertEquals(new BigDecimal("12500.00"), calculator.calculateGrossPay(PaymentCycle.WEEKLY, null));
+        assertEquals(new BigDecimal("25000.00"), calculator.calculateGrossPay(PaymentCycle.BIWEEKLY, null));
+        assertEquals(new BigDecimal("50000.00"), calculator.calculateGrossPay(PaymentCycle.MONTHLY, null));
+    }
+}
@@ -0,0 +1,88 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.tw.coupang.one_payroll.payroll.enums.CalculationEngine.BIG_DECIMAL;
+import static com.tw.coupang.one_payroll.payroll.enums.CalculationEngine.FIXED_POINT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Property check: for generated gross pays and pay group rates both engines must build identical payroll runs.
+ */
+class PayrollCalculationEngineEquivalenceTest {
+
+    private static final long SEED = 20251101L;
+    private static final int GENERATED_CASES = 2000;
+
+    private final PayrollCalculationServiceImpl service = new PayrollCalculationServiceImpl(null, null, null, null, null, null, null, null, null, null);
+
+    @ParameterizedTest
+    @MethodSource("generatedCases")
+    void fixedPointMatchesBigDecimal(BigDecimal grossPay, BigDecimal taxRate, BigDecimal benefitRate,
+                                     BigDecimal deductionRate) {
+        final var payGroup = PayGroup.builder().id(1)
+                .baseTaxRate(taxRate)
+                .benefitRate(benefitRate)
+                .deductionRate(deductionRate)
+                .build();
+        final var expected = PayrollRun.builder();
+        final var actual = PayrollRun.builder();
+
+        final var expectedNetPay = service.payrollGrossToNetPayCalculation(grossPay, payGroup, expected, BIG_DECIMAL);
+        final var actualNetPay = service.payrollGrossToNetPayCalculation(grossPay, payGroup, actual, FIXED_POINT);
+
+        assertEquals(expectedNetPay, actualNetPay);
+        final var expectedRun = expected.build();
+        final var actualRun = actual.build();
+        assertEquals(expectedRun.getGrossPay(), actualRun.getGrossPay());
+        assertEquals(expectedRun.getNetPay(), actualRun.getNetPay());
+        assertEquals(expectedRun.getTaxDeduction(), actualRun.getTaxDeduction());
+        assertEquals(expectedRun.getBenefitAddition(), actualRun.getBenefitAddition());
+        assertEquals(expectedRun.getStatus(), actualRun.getStatus());
+    }
+
+    private static Stream<Arguments> generatedCases() {
+        final Random random = new Random(SEED);
+        final Stream<Arguments> edgeCases = Stream.of(
+                // exact half cent ties: 0.05 * 10% and 0.15 * 2.50%
+                Arguments.of(new BigDecimal("0.05"), BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN),
+                Arguments.of(new BigDecimal("-0.05"), BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN),
+                Arguments.of(new BigDecimal("0.15"), BigDecimal.valueOf(2.50), BigDecimal.valueOf(2.50), BigDecimal.ONE),
+                Arguments.of(BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.valueOf(5.0), BigDecimal.valueOf(2.0)),
+                Arguments.of(BigDecimal.valueOf(50000), null, null, null),
+                Arguments.of(BigDecimal.valueOf(30000.00), BigDecimal.valueOf(100.0), BigDecimal.ZERO, BigDecimal.ZERO),
+                // not representable in cents or overflowing, so the fixed-point engine must fall back
+                Arguments.of(new BigDecimal("1234.567"), BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE),
+                Arguments.of(BigDecimal.valueOf(1000), new BigDecimal("10.125"), BigDecimal.ONE, BigDecimal.ONE),
+                Arguments.of(BigDecimal.valueOf(Long.MAX_VALUE), BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE));
+        final Stream<Arguments> randomCases = Stream.generate(() -> Arguments.of(
+                        randomAmount(random), randomRate(random), randomRate(random), randomRate(random)))
+                .limit(GENERATED_CASES);
+        return Stream.concat(edgeCases, randomCases);
+    }
+
+    private static BigDecimal randomAmount(final Random random) {
+        // up to 10,000,000.00 with random scale 0..2, occasionally negative for adjustment runs
+        final long cents = (long) (random.nextDouble() * 1_000_000_000L);
+        final int scale = random.nextInt(3);
+        final BigDecimal amount = BigDecimal.valueOf(cents, 2).setScale(scale, RoundingMode.DOWN);
+        return random.nextInt(20) == 0 ? amount.negate() : amount;
+    }
+
+    private static BigDecimal randomRate(final Random random) {
+        if (random.nextInt(50) == 0) {
+            return null;
+        }
+        // 0.00% to 100.00% in steps of one basis point
+        return BigDecimal.valueOf(random.nextInt(10_001), 2);
+    }
+}
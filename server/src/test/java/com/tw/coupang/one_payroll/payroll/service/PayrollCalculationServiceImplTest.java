@@ -10,34 +10,68 @@ import com.tw.coupang.one_payroll.paygroups.enums.PaymentCycle;
 import com.tw.coupang.one_payroll.paygroups.exception.PayGroupNotFoundException;
 import com.tw.coupang.one_payroll.paygroups.validator.PayGroupValidator;
 import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
 import com.tw.coupang.one_payroll.payroll.dto.request.PayrollCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollSimulationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollSimulationEmployeeDiff;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunCursor;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunResponse;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunUpsertResult;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollRunView;
 import com.tw.coupang.one_payroll.payroll.entity.PayrollRun;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollStatus;
+import com.tw.coupang.one_payroll.payroll.event.PayrollRunsEnqueuedEvent;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollRunBulkWriter;
 import com.tw.coupang.one_payroll.payroll.repository.PayrollRunRepository;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollSubmissionOutboxRepository;
 import com.tw.coupang.one_payroll.payperiod.exception.InvalidPayPeriodException;
 import com.tw.coupang.one_payroll.payperiod.validator.PayPeriodCycleValidator;
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+import com.tw.coupang.one_payroll.timesheet.service.TimesheetHoursIndex;
+import com.tw.coupang.one_payroll.timesheet.service.TimesheetService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
-import static com.tw.coupang.one_payroll.payroll.enums.PayrollStatus.FAILED;
+import static com.tw.coupang.one_payroll.payroll.enums.CalculationEngine.BIG_DECIMAL;
+import static com.tw.coupang.one_payroll.payroll.enums.CalculationEngine.FIXED_POINT;
 import static com.tw.coupang.one_payroll.payroll.enums.PayrollStatus.PROCESSED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollStatus.SUBMITTED;
 import static java.math.BigDecimal.ZERO;
 import static java.math.BigDecimal.valueOf;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -54,12 +88,36 @@ class PayrollCalculationServiceImplTest {
     @Mock
     private PayrollRunRepository payrollRunRepository;
 
+    @Mock
+    private PayrollRunBulkWriter payrollRunBulkWriter;
+
+    @Mock
+    private PayrollSubmissionOutboxRepository payrollSubmissionOutboxRepository;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private PayGroupValidator payGroupValidator;
 
     @Mock
     private PayPeriodCycleValidator payPeriodCycleValidator;
 
+    @Mock
+    private TimesheetService timesheetService;
+
+    @Spy
+    private GrossPayCalculator grossPayCalculator = new GrossPayCalculator(new BigDecimal("312.50"));
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionOperations.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     void shouldThrowEmployeeNotFoundWhenEmployeeMissing() {
         PayrollCalculationRequest request = buildRequest("EMP123");
@@ -145,6 +203,8 @@ class PayrollCalculationServiceImplTest {
                 request.getPayPeriod().getEndDate(),
                 payGroup);
 
+        stubUpsertAsInserts();
+
         final var actual = service.calculate(request);
 
         assertEquals(request.getEmployeeId(), actual.employeeId());
@@ -155,12 +215,340 @@ class PayrollCalculationServiceImplTest {
                 request.getPayPeriod().getStartDate(),
                 request.getPayPeriod().getEndDate(),
                 payGroup);
-        final ArgumentCaptor<PayrollRun> captor = ArgumentCaptor.forClass(PayrollRun.class);
-        verify(payrollRunRepository).save(captor.capture());
-        assertEquals(employee.getEmployeeId(), captor.getValue().getEmployeeId());
-        assertEquals(PROCESSED, captor.getValue().getStatus());
-        assertEquals(request.getPayPeriod().getStartDate(), captor.getValue().getPayPeriodStart());
-        assertEquals(request.getPayPeriod().getEndDate(), captor.getValue().getPayPeriodEnd());
+        final PayrollRun written = captureUpsertedRuns().get(0);
+        assertEquals(employee.getEmployeeId(), written.getEmployeeId());
+        assertEquals(PROCESSED, written.getStatus());
+        assertEquals(request.getPayPeriod().getStartDate(), written.getPayPeriodStart());
+        assertEquals(request.getPayPeriod().getEndDate(), written.getPayPeriodEnd());
+        verify(payrollRunRepository, never()).save(any(PayrollRun.class));
+    }
+
+    @Test
+    void shouldReturnStoredRunWhenItWasAlreadySubmitted() {
+        PayrollCalculationRequest request = buildRequest("EMP456");
+        EmployeeMaster employee = buildEmployeeObjectWithActiveStatus();
+        PayGroup payGroup = buildPayGroup();
+        LocalDate start = request.getPayPeriod().getStartDate();
+        LocalDate end = request.getPayPeriod().getEndDate();
+        PayrollRun submitted = buildCalculatedRun(11, "EMP456", SUBMITTED, payGroup.getRatesVersion());
+
+        when(employeeMasterService.getEmployeeById(request.getEmployeeId())).thenReturn(employee);
+        when(payGroupValidator.validatePayGroupExists(2)).thenReturn(payGroup);
+        when(payrollRunBulkWriter.upsert(anyList())).thenReturn(new PayrollRunUpsertResult(0, 0, 1));
+        when(payrollRunRepository.findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(List.of("EMP456"), start, end))
+                .thenReturn(List.of(submitted));
+
+        final var actual = service.calculate(request);
+
+        assertEquals(submitted.getNetPay(), actual.netPay());
+        assertEquals(submitted.getGrossPay(), actual.grossPay());
+        assertEquals(submitted.getPayGroupId(), actual.payGroupId());
+        verifyNoInteractions(payrollSubmissionOutboxRepository);
+    }
+
+    @Test
+    void calculateBatchShouldProcessPayGroupInChunksAndValidateOnce() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate()))
+                .thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP001"), buildActiveEmployee("EMP002")));
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "EMP002", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP003")));
+        when(payrollRunBulkWriter.upsert(anyList()))
+                .thenReturn(new PayrollRunUpsertResult(1, 1, 0))
+                .thenReturn(new PayrollRunUpsertResult(1, 0, 0));
+
+        final var actual = service.calculateBatch(request);
+
+        assertEquals(3, actual.employeesProcessed());
+        assertEquals(2, actual.runsInserted());
+        assertEquals(1, actual.runsUpdated());
+        assertEquals(List.of(10), actual.payGroupIds());
+        assertEquals(0, valueOf(150000).compareTo(actual.totalGrossPay()));
+        assertEquals(0, valueOf(141000).compareTo(actual.totalNetPay()));
+        assertEquals(BIG_DECIMAL, actual.calculationEngine());
+        verify(payGroupValidator, times(1)).validatePayGroupExists(10);
+        verify(payPeriodCycleValidator, times(1)).validatePayPeriodAgainstPayGroup(
+                request.getPayPeriod().getStartDate(),
+                request.getPayPeriod().getEndDate(),
+                payGroup);
+        verify(employeeMasterService, never()).getEmployeeById(anyString());
+        verify(payrollRunBulkWriter, times(2)).upsert(anyList());
+        verifyNoInteractions(payrollRunRepository);
+    }
+
+    @Test
+    void calculateBatchShouldUseTimesheetHoursFromPrefetchedIndex() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate()))
+                .thenReturn(TimesheetHoursIndex.of(List.of(
+                        new TimesheetHours("EMP001", new BigDecimal("100.00"), new BigDecimal("4.00"), LocalDateTime.now()))));
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP001"), buildActiveEmployee("EMP002")));
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "EMP002", 2)).thenReturn(emptyList());
+        stubUpsertAsInserts();
+
+        final var actual = service.calculateBatch(request);
+
+        // EMP001: 104 h * 312.50, EMP002 has no timesheet so the monthly standard 160 h applies
+        assertEquals(valueOf(8250000, 2), actual.totalGrossPay());
+        verify(timesheetService, never()).getTimesheetHours(anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void calculateBatchShouldCountFailedEmployeeAndPersistTheRest() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate()))
+                .thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP001"), buildActiveEmployee("EMP002")));
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "EMP002", 2)).thenReturn(emptyList());
+        // EMP001 fails, EMP002 is calculated normally
+        doThrow(new IllegalStateException("bad timesheet")).doCallRealMethod()
+                .when(grossPayCalculator).calculateGrossPay(any(), any());
+        stubUpsertAsInserts();
+
+        final var actual = service.calculateBatch(request);
+
+        assertEquals(1, actual.employeesProcessed());
+        assertEquals(1, actual.employeesFailed());
+        assertEquals(1, actual.runsInserted());
+        assertEquals("EMP002", captureUpsertedRuns().get(0).getEmployeeId());
+    }
+
+    @Test
+    void calculateBatchWithFixedPointEngineShouldProduceSameTotals() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        PayrollBatchCalculationRequest request = PayrollBatchCalculationRequest.builder()
+                .payGroupIds(List.of(10))
+                .payPeriod(buildBatchRequest(List.of(10)).getPayPeriod())
+                .calculationEngine(FIXED_POINT)
+                .build();
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate()))
+                .thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP001")));
+        stubUpsertAsInserts();
+
+        final var actual = service.calculateBatch(request);
+
+        assertEquals(FIXED_POINT, actual.calculationEngine());
+        assertEquals(valueOf(4700000, 2), actual.totalNetPay());
+    }
+
+    @Test
+    void calculateBatchShouldSkipWriteWhenPayGroupHasNoActiveEmployees() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10, 10));
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate()))
+                .thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 2)).thenReturn(emptyList());
+
+        final var actual = service.calculateBatch(request);
+
+        assertEquals(0, actual.employeesProcessed());
+        assertEquals(List.of(10), actual.payGroupIds());
+        verify(payGroupValidator, times(1)).validatePayGroupExists(10);
+        verifyNoInteractions(payrollRunRepository, payrollRunBulkWriter);
+    }
+
+    @Test
+    void recalculateBatchShouldOnlyRecalculateRunsWithChangedInputs() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 10);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        LocalDate start = request.getPayPeriod().getStartDate();
+        LocalDate end = request.getPayPeriod().getEndDate();
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, start, end)).thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 10)).thenReturn(List.of(
+                buildActiveEmployee("EMP001"), buildActiveEmployee("EMP002"),
+                buildActiveEmployee("EMP003"), buildActiveEmployee("EMP004")));
+        when(payrollRunRepository.findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(
+                List.of("EMP001", "EMP002", "EMP003", "EMP004"), start, end))
+                .thenReturn(List.of(
+                        buildCalculatedRun(11, "EMP001", SUBMITTED, payGroup.getRatesVersion()),
+                        buildCalculatedRun(22, "EMP002", PROCESSED, payGroup.getRatesVersion()),
+                        buildCalculatedRun(33, "EMP003", PROCESSED, payGroup.getRatesVersion() - 1)));
+        when(payrollRunBulkWriter.upsert(anyList())).thenReturn(new PayrollRunUpsertResult(1, 1, 0, List.of(33, 44)));
+
+        final var actual = service.recalculateBatch(request);
+
+        assertEquals(4, actual.employeesChecked());
+        assertEquals(2, actual.runsRecalculated());
+        assertEquals(1, actual.runsUnchanged());
+        assertEquals(1, actual.runsSkippedSubmitted());
+        final List<PayrollRun> saved = captureUpsertedRuns();
+        assertEquals(List.of("EMP003", "EMP004"), saved.stream().map(PayrollRun::getEmployeeId).toList());
+        assertEquals(payGroup.getRatesVersion(), saved.get(0).getPayGroupRatesVersion());
+        verify(payrollRunRepository, never()).saveAll(anyList());
+        verify(payrollSubmissionOutboxRepository).enqueue(List.of(33, 44));
+        verify(eventPublisher).publishEvent(new PayrollRunsEnqueuedEvent(2));
+    }
+
+    @Test
+    void recalculateBatchShouldCountRunsSubmittedDuringRecalculationAsSkipped() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 10);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        LocalDate start = request.getPayPeriod().getStartDate();
+        LocalDate end = request.getPayPeriod().getEndDate();
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, start, end)).thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 10))
+                .thenReturn(List.of(buildActiveEmployee("EMP003")));
+        when(payrollRunRepository.findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(List.of("EMP003"), start, end))
+                .thenReturn(List.of(buildCalculatedRun(33, "EMP003", PROCESSED, payGroup.getRatesVersion() - 1)));
+        when(payrollRunBulkWriter.upsert(anyList())).thenReturn(new PayrollRunUpsertResult(0, 0, 1));
+
+        final var actual = service.recalculateBatch(request);
+
+        assertEquals(0, actual.runsRecalculated());
+        assertEquals(1, actual.runsSkippedSubmitted());
+        verifyNoInteractions(payrollSubmissionOutboxRepository);
+    }
+
+    @Test
+    void recalculateBatchShouldCountFailedEmployeeAndPersistTheRest() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 10);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        LocalDate start = request.getPayPeriod().getStartDate();
+        LocalDate end = request.getPayPeriod().getEndDate();
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, start, end)).thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 10))
+                .thenReturn(List.of(buildActiveEmployee("EMP001"), buildActiveEmployee("EMP002")));
+        when(payrollRunRepository.findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(List.of("EMP001", "EMP002"), start, end))
+                .thenReturn(emptyList());
+        // EMP001 fails, EMP002 is recalculated normally
+        doThrow(new IllegalStateException("bad timesheet")).doCallRealMethod()
+                .when(grossPayCalculator).calculateGrossPay(any(), any());
+        when(payrollRunBulkWriter.upsert(anyList())).thenReturn(new PayrollRunUpsertResult(1, 0, 0, List.of(22)));
+
+        final var actual = service.recalculateBatch(request);
+
+        assertEquals(2, actual.employeesChecked());
+        assertEquals(1, actual.employeesFailed());
+        assertEquals(1, actual.runsRecalculated());
+        assertEquals("EMP002", captureUpsertedRuns().get(0).getEmployeeId());
+    }
+
+    @Test
+    void recalculateBatchShouldNotWriteWhenNothingChanged() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 10);
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10));
+        LocalDate start = request.getPayPeriod().getStartDate();
+        LocalDate end = request.getPayPeriod().getEndDate();
+        PayGroup payGroup = buildPayGroup();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(10, start, end)).thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 10))
+                .thenReturn(List.of(buildActiveEmployee("EMP002")));
+        when(payrollRunRepository.findByEmployeeIdInAndPayPeriodStartAndPayPeriodEnd(List.of("EMP002"), start, end))
+                .thenReturn(List.of(buildCalculatedRun(22, "EMP002", PROCESSED, payGroup.getRatesVersion())));
+
+        final var actual = service.recalculateBatch(request);
+
+        assertEquals(0, actual.runsRecalculated());
+        assertEquals(1, actual.runsUnchanged());
+        verifyNoInteractions(payrollRunBulkWriter);
+    }
+
+    @Test
+    void calculateBatchShouldFailFastWhenAnyPayGroupIsMissing() {
+        PayrollBatchCalculationRequest request = buildBatchRequest(List.of(10, 99));
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(buildPayGroup());
+        when(payGroupValidator.validatePayGroupExists(99))
+                .thenThrow(new PayGroupNotFoundException("PayGroup not found!"));
+
+        assertThrows(PayGroupNotFoundException.class, () -> service.calculateBatch(request));
+
+        verify(employeeMasterService, never()).getActiveEmployeesByPayGroup(anyInt(), anyString(), anyInt());
+        verifyNoInteractions(payrollRunRepository, payrollRunBulkWriter);
+    }
+
+    @Test
+    void simulateShouldStreamDiffsAndTotalsWithoutPersistingOrTouchingCachedPayGroup() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        PayGroup payGroup = buildPayGroup();
+        PayrollSimulationRequest request = PayrollSimulationRequest.builder()
+                .payGroupId(10)
+                .payPeriod(buildBatchRequest(List.of(10)).getPayPeriod())
+                .baseTaxRate(valueOf(12))
+                .build();
+
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(timesheetService.loadHoursIndex(anyInt(), any(), any(), anyList())).thenReturn(TimesheetHoursIndex.empty());
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP001"), buildActiveEmployee("EMP002")));
+        when(employeeMasterService.getActiveEmployeesByPayGroup(10, "EMP002", 2))
+                .thenReturn(List.of(buildActiveEmployee("EMP003")));
+
+        final List<PayrollSimulationEmployeeDiff> diffs = new ArrayList<>();
+        final var summary = service.simulate(service.prepareSimulation(request), diffs::add);
+
+        // 160 h * 312.50 = 50000 gross; tax moving from 10% to 12% costs each employee 1000 net
+        assertEquals(List.of("EMP001", "EMP002", "EMP003"),
+                diffs.stream().map(PayrollSimulationEmployeeDiff::employeeId).toList());
+        assertEquals(0, valueOf(47000).compareTo(diffs.get(0).currentNetPay()));
+        assertEquals(0, valueOf(46000).compareTo(diffs.get(0).proposedNetPay()));
+        assertEquals(0, valueOf(-1000).compareTo(diffs.get(0).netPayChange()));
+        assertEquals(3, summary.employeesSimulated());
+        assertEquals(0, valueOf(-3000).compareTo(summary.totalNetPayChange()));
+        assertEquals(0, valueOf(18000).compareTo(summary.totalProposedTaxAmount()));
+        assertEquals(valueOf(12), summary.proposedBaseTaxRate());
+        assertEquals(BigDecimal.valueOf(5), summary.proposedBenefitRate());
+        assertEquals(BigDecimal.TEN, payGroup.getBaseTaxRate());
+        verifyNoInteractions(payrollRunRepository, payrollRunBulkWriter);
+    }
+
+    @Test
+    void calculateShouldUseTimesheetHoursForGrossPay() {
+        PayrollCalculationRequest request = buildRequest("EMP456");
+        EmployeeMaster employee = buildEmployeeObjectWithActiveStatus();
+        PayGroup payGroup = buildPayGroup();
+
+        when(employeeMasterService.getEmployeeById(request.getEmployeeId())).thenReturn(employee);
+        when(payGroupValidator.validatePayGroupExists(2)).thenReturn(payGroup);
+        when(timesheetService.getTimesheetHours("EMP456", 2,
+                request.getPayPeriod().getStartDate(), request.getPayPeriod().getEndDate()))
+                .thenReturn(Optional.of(new TimesheetHours("EMP456", new BigDecimal("176.00"), new BigDecimal("8.00"),
+                        LocalDateTime.of(2025, 12, 1, 9, 0))));
+        stubUpsertAsInserts();
+
+        final var actual = service.calculate(request);
+
+        assertEquals(valueOf(5750000, 2), actual.grossPay());
+        final PayrollRun written = captureUpsertedRuns().get(0);
+        assertEquals(payGroup.getId(), written.getPayGroupId());
+        assertEquals(payGroup.getRatesVersion(), written.getPayGroupRatesVersion());
+        assertEquals(employee.getUpdatedAt(), written.getEmployeeUpdatedAt());
+        assertEquals(LocalDateTime.of(2025, 12, 1, 9, 0), written.getTimesheetUpdatedAt());
     }
 
     @Test
@@ -265,41 +653,75 @@ class PayrollCalculationServiceImplTest {
     }
 
     @Test
-    void testGetPayrollShouldReturnAllPayrollRun() {
+    void testGetPayrollShouldReturnPageAndNextCursorWhenPageIsFull() {
         // given
         String employeeId = "EMP123";
         LocalDate periodStart = LocalDate.of(2025, 1, 1);
         LocalDate periodEnd = LocalDate.of(2025, 1, 31);
-        when(payrollRunRepository.findByEmployeeIdOrPayPeriodStartAndPayPeriodEnd(employeeId, periodStart, periodEnd))
-                .thenReturn(singletonList(buildPayrollRunWithEmployeeIdAndPeriod(employeeId, periodStart, periodEnd)));
+        when(payrollRunRepository.findPageByEmployeeIdAndPayPeriod(employeeId, periodStart, periodEnd,
+                LocalDate.EPOCH, LocalDate.EPOCH, 0, PageRequest.of(0, 1)))
+                .thenReturn(singletonList(buildPayrollRunView(7, employeeId, periodStart, periodEnd)));
 
         // when
-        final var payrollRunResponses = service.getPayroll(employeeId, periodStart, periodEnd);
+        final var page = service.getPayroll(employeeId, periodStart, periodEnd, null, 1);
 
         // then
-        assertNotNull(payrollRunResponses);
-        assertEquals(1, payrollRunResponses.size());
-        assertEquals(employeeId, payrollRunResponses.get(0).employeeId());
-        assertEquals(periodStart, payrollRunResponses.get(0).payPeriodStart());
-        assertEquals(periodEnd, payrollRunResponses.get(0).payPeriodEnd());
-        assertEquals(45000.00, payrollRunResponses.get(0).netPay().doubleValue());
+        assertEquals(1, page.payrollRuns().size());
+        assertEquals(employeeId, page.payrollRuns().get(0).employeeId());
+        assertEquals(periodStart, page.payrollRuns().get(0).payPeriodStart());
+        assertEquals(periodEnd, page.payrollRuns().get(0).payPeriodEnd());
+        assertEquals(45000.00, page.payrollRuns().get(0).netPay().doubleValue());
+        assertEquals("2025-01-01_2025-01-31_7", page.nextCursor());
     }
 
     @Test
-    void testGetPayrollShouldReturnEmptyPayrollRunIfDataNotFound() {
+    void testGetPayrollShouldUseIndexFriendlyQueryPerFilter() {
         // given
-        String employeeId = "EMP123";
         LocalDate periodStart = LocalDate.of(2025, 1, 1);
         LocalDate periodEnd = LocalDate.of(2025, 1, 31);
-        when(payrollRunRepository.findByEmployeeIdOrPayPeriodStartAndPayPeriodEnd(employeeId, periodStart, periodEnd))
+        when(payrollRunRepository.findPageByPayPeriod(periodStart, periodEnd, periodStart, periodEnd, 7,
+                PageRequest.of(0, 100)))
+                .thenReturn(emptyList());
+        when(payrollRunRepository.findPageByEmployeeId("EMP123", LocalDate.EPOCH, LocalDate.EPOCH, 0,
+                PageRequest.of(0, 1000)))
                 .thenReturn(emptyList());
 
         // when
-        final var payrollRunResponses = service.getPayroll(employeeId, periodStart, periodEnd);
+        final var byPeriod = service.getPayroll(null, periodStart, periodEnd,
+                new PayrollRunCursor(periodStart, periodEnd, 7), null);
+        final var byEmployee = service.getPayroll("EMP123", null, null, null, 5000);
 
         // then
-        assertNotNull(payrollRunResponses);
-        assertTrue(payrollRunResponses.isEmpty());
+        assertTrue(byPeriod.payrollRuns().isEmpty());
+        assertNull(byPeriod.nextCursor());
+        assertTrue(byEmployee.payrollRuns().isEmpty());
+        verifyNoInteractions(payrollRunBulkWriter);
+    }
+
+    @Test
+    void testStreamPayrollShouldWalkAllKeysetPages() {
+        // given
+        ReflectionTestUtils.setField(service, "maxPageSize", 2);
+        LocalDate periodStart = LocalDate.of(2025, 1, 1);
+        LocalDate periodEnd = LocalDate.of(2025, 1, 31);
+        LocalDate secondHalf = LocalDate.of(2025, 1, 16);
+        when(payrollRunRepository.findPageByPayPeriod(periodStart, periodEnd, LocalDate.EPOCH, LocalDate.EPOCH, 0,
+                PageRequest.of(0, 2)))
+                .thenReturn(List.of(buildPayrollRunView(9, "EMP001", periodStart, periodEnd),
+                        buildPayrollRunView(3, "EMP002", secondHalf, periodEnd)));
+        // The next page continues after the last run's full sort key, not after the highest payrollId
+        when(payrollRunRepository.findPageByPayPeriod(periodStart, periodEnd, secondHalf, periodEnd, 3,
+                PageRequest.of(0, 2)))
+                .thenReturn(singletonList(buildPayrollRunView(5, "EMP003", secondHalf, periodEnd)));
+        final List<PayrollRunResponse> streamed = new ArrayList<>();
+
+        // when
+        final long count = service.streamPayroll(null, periodStart, periodEnd, streamed::add);
+
+        // then
+        assertEquals(3, count);
+        assertEquals(List.of("EMP001", "EMP002", "EMP003"),
+                streamed.stream().map(PayrollRunResponse::employeeId).toList());
     }
 
     private PayrollCalculationRequest buildRequest(String employeeId) {
@@ -314,6 +736,55 @@ class PayrollCalculationServiceImplTest {
                 .build();
     }
 
+    private PayrollBatchCalculationRequest buildBatchRequest(List<Integer> payGroupIds) {
+        return PayrollBatchCalculationRequest.builder()
+                .payGroupIds(payGroupIds)
+                .payPeriod(
+                        PayPeriod.builder()
+                                .startDate(LocalDate.of(2025, 11, 1))
+                                .endDate(LocalDate.of(2025, 11, 30))
+                                .build()
+                )
+                .build();
+    }
+
+    private EmployeeMaster buildActiveEmployee(String employeeId) {
+        return EmployeeMaster.builder()
+                .employeeId(employeeId)
+                .firstName("Mary")
+                .lastName("Smith")
+                .payGroupId(10)
+                .status(EmployeeStatus.ACTIVE)
+                .build();
+    }
+
+    private void stubUpsertAsInserts() {
+        when(payrollRunBulkWriter.upsert(anyList()))
+                .thenAnswer(invocation -> new PayrollRunUpsertResult(invocation.<List<?>>getArgument(0).size(), 0, 0));
+    }
+
+    private List<PayrollRun> captureUpsertedRuns() {
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<PayrollRun>> captor = ArgumentCaptor.forClass(List.class);
+        verify(payrollRunBulkWriter).upsert(captor.capture());
+        return captor.getValue();
+    }
+
+    private PayrollRun buildCalculatedRun(Integer payrollId, String employeeId, PayrollStatus status,
+                                          Integer ratesVersion) {
+        return PayrollRun.builder()
+                .payrollId(payrollId)
+                .employeeId(employeeId)
+                .payPeriodStart(LocalDate.of(2025, 11, 1))
+                .payPeriodEnd(LocalDate.of(2025, 11, 30))
+                .grossPay(valueOf(50000))
+                .netPay(valueOf(47000))
+                .status(status)
+                .payGroupId(10)
+                .payGroupRatesVersion(ratesVersion)
+                .build();
+    }
+
     private EmployeeMaster buildEmployeeObjectWithInactiveStatus() {
         return EmployeeMaster.builder()
                 .employeeId("EMP123")
@@ -358,19 +829,11 @@ class PayrollCalculationServiceImplTest {
                 .build();
     }
 
-    private PayrollRun buildPayrollRunWithEmployeeIdAndPeriod(final String employeeId,
-                                                              final LocalDate periodStart,
-                                                              final LocalDate periodEnd) {
-        return PayrollRun.builder()
-                .employeeId(employeeId)
-                .payPeriodStart(periodStart)
-                .payPeriodEnd(periodEnd)
-                .grossPay(BigDecimal.valueOf(50000))
-                .netPay(BigDecimal.valueOf(45000))
-                .taxDeduction(BigDecimal.valueOf(5000))
-                .benefitAddition(BigDecimal.valueOf(2000))
-                .status(FAILED)
-                .createdAt(LocalDateTime.now())
-                .build();
+    private PayrollRunView buildPayrollRunView(final Integer payrollId,
+                                               final String employeeId,
+                                               final LocalDate periodStart,
+                                               final LocalDate periodEnd) {
+        return new PayrollRunView(payrollId, employeeId, 10, periodStart, periodEnd, BigDecimal.valueOf(50000),
+                BigDecimal.valueOf(45000), BigDecimal.valueOf(5000), BigDecimal.valueOf(2000));
     }
 }
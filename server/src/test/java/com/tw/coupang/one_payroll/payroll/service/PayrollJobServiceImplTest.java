@@ -0,0 +1,271 @@
+package com.tw.coupang.one_payroll.payroll.service;
+
+import com.tw.coupang.one_payroll.employee_master.service.EmployeeMasterService;
+import com.tw.coupang.one_payroll.paygroups.entity.PayGroup;
+import com.tw.coupang.one_payroll.paygroups.validator.PayGroupValidator;
+import com.tw.coupang.one_payroll.payperiod.dto.request.PayPeriod;
+import com.tw.coupang.one_payroll.payperiod.validator.PayPeriodCycleValidator;
+import com.tw.coupang.one_payroll.payroll.dto.request.PayrollBatchCalculationRequest;
+import com.tw.coupang.one_payroll.payroll.dto.response.PayrollChunkResult;
+import com.tw.coupang.one_payroll.payroll.entity.PayrollJob;
+import com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus;
+import com.tw.coupang.one_payroll.payroll.exception.PayrollJobNotFoundException;
+import com.tw.coupang.one_payroll.payroll.repository.PayrollJobRepository;
+import com.tw.coupang.one_payroll.timesheet.service.TimesheetHoursIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.tw.coupang.one_payroll.payroll.enums.CalculationEngine.BIG_DECIMAL;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.CANCELLED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.COMPLETED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.FAILED;
+import static com.tw.coupang.one_payroll.payroll.enums.PayrollJobStatus.RUNNING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollJobServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate END = LocalDate.of(2025, 11, 30);
+
+    @Mock
+    private PayrollJobRepository payrollJobRepository;
+
+    @Mock
+    private PayrollCalculationServiceImpl payrollCalculationService;
+
+    @Mock
+    private PayGroupValidator payGroupValidator;
+
+    @Mock
+    private PayPeriodCycleValidator payPeriodCycleValidator;
+
+    @Mock
+    private EmployeeMasterService employeeMasterService;
+
+    private final Map<String, PayrollJob> jobs = new HashMap<>();
+
+    private PayrollJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Jobs run on the calling thread so the tests can assert on the finished state
+        service = new PayrollJobServiceImpl(payrollJobRepository, payrollCalculationService, payGroupValidator,
+                payPeriodCycleValidator, employeeMasterService, Runnable::run);
+        lenient().when(payrollJobRepository.save(any(PayrollJob.class))).thenAnswer(invocation -> {
+            PayrollJob job = invocation.getArgument(0);
+            jobs.put(job.getJobId(), job);
+            return job;
+        });
+        lenient().when(payrollJobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+        lenient().when(payrollCalculationService.getBatchChunkSize()).thenReturn(2);
+        lenient().when(payrollJobRepository.acquireLease(anyString(), anyString(), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    void submitShouldRunJobInChunksAndRecordProgress() {
+        PayGroup payGroup = PayGroup.builder().id(10).build();
+        PayrollBatchContext context = new PayrollBatchContext(payGroup, START, END, BIG_DECIMAL,
+                TimesheetHoursIndex.empty());
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(payGroup);
+        when(employeeMasterService.countActiveEmployeesByPayGroup(10)).thenReturn(3L);
+        when(payrollCalculationService.resolveCalculationEngine(null)).thenReturn(BIG_DECIMAL);
+        when(payrollCalculationService.createBatchContext(10, START, END, BIG_DECIMAL)).thenReturn(context);
+        when(payrollCalculationService.calculateChunk(context, "")).thenReturn(chunk(2, 0, "EMP002"));
+        when(payrollCalculationService.calculateChunk(context, "EMP002")).thenReturn(chunk(1, 1, "EMP003"));
+
+        final var actual = service.submit(buildRequest(List.of(10, 10)));
+
+        assertNotNull(actual.jobId());
+        assertEquals(COMPLETED, actual.status());
+        assertEquals(List.of(10), actual.payGroupIds());
+        assertEquals(3, actual.totalEmployees());
+        assertEquals(2, actual.processedEmployees());
+        assertEquals(1, actual.failedEmployees());
+        assertEquals(0, actual.remainingEmployees());
+        assertNotNull(actual.finishedAt());
+        assertEquals(1, jobs.get(actual.jobId()).getCheckpointPayGroupIndex());
+        verify(payPeriodCycleValidator).validatePayPeriodAgainstPayGroup(START, END, payGroup);
+    }
+
+    @Test
+    void runShouldResumeFromCheckpoint() {
+        PayGroup payGroup = PayGroup.builder().id(10).build();
+        PayrollBatchContext context = new PayrollBatchContext(payGroup, START, END, BIG_DECIMAL,
+                TimesheetHoursIndex.empty());
+        PayrollJob job = buildJob(RUNNING);
+        job.setProcessedEmployees(2);
+        job.setCheckpointEmployeeId("EMP002");
+        jobs.put(job.getJobId(), job);
+        when(payrollCalculationService.createBatchContext(10, START, END, BIG_DECIMAL)).thenReturn(context);
+        when(payrollCalculationService.calculateChunk(context, "EMP002")).thenReturn(chunk(1, 0, "EMP003"));
+
+        service.run(job.getJobId());
+
+        assertEquals(COMPLETED, jobs.get(job.getJobId()).getStatus());
+        assertEquals(3, jobs.get(job.getJobId()).getProcessedEmployees());
+        verify(payrollCalculationService, never()).calculateChunk(context, "");
+    }
+
+    @Test
+    void runShouldStopWithoutWritingWhenAnotherNodeTookTheLease() {
+        PayGroup payGroup = PayGroup.builder().id(10).build();
+        PayrollBatchContext context = new PayrollBatchContext(payGroup, START, END, BIG_DECIMAL,
+                TimesheetHoursIndex.empty());
+        PayrollJob job = buildJob(RUNNING);
+        jobs.put(job.getJobId(), job);
+        when(payrollCalculationService.createBatchContext(10, START, END, BIG_DECIMAL)).thenReturn(context);
+        when(payrollCalculationService.calculateChunk(context, "")).thenReturn(chunk(2, 0, "EMP002"));
+        // Lease taken at start and renewed before the first chunk, lost before the second
+        when(payrollJobRepository.acquireLease(anyString(), anyString(), anyLong())).thenReturn(1, 1, 0);
+
+        service.run(job.getJobId());
+
+        assertEquals(RUNNING, jobs.get(job.getJobId()).getStatus());
+        assertEquals("EMP002", jobs.get(job.getJobId()).getCheckpointEmployeeId());
+        verify(payrollCalculationService, never()).calculateChunk(context, "EMP002");
+    }
+
+    @Test
+    void resumeInterruptedJobsShouldOnlyRunJobsWithExpiredLeases() {
+        PayrollJob expired = buildJob(RUNNING);
+        jobs.put(expired.getJobId(), expired);
+        when(payrollJobRepository.claimExpiredJobs(anyString(), anyLong())).thenReturn(List.of(expired));
+        when(payrollCalculationService.createBatchContext(10, START, END, BIG_DECIMAL))
+                .thenReturn(new PayrollBatchContext(PayGroup.builder().id(10).build(), START, END, BIG_DECIMAL,
+                        TimesheetHoursIndex.empty()));
+        when(payrollCalculationService.calculateChunk(any(), anyString())).thenReturn(chunk(1, 0, "EMP001"));
+
+        service.resumeInterruptedJobs();
+
+        assertEquals(COMPLETED, jobs.get(expired.getJobId()).getStatus());
+        verify(payrollJobRepository).claimExpiredJobs(anyString(), eq(120L));
+    }
+
+    @Test
+    void submitShouldNotRunJobAlreadyClaimedByAnotherNode() {
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(PayGroup.builder().id(10).build());
+        when(payrollCalculationService.resolveCalculationEngine(null)).thenReturn(BIG_DECIMAL);
+        when(payrollJobRepository.acquireLease(anyString(), anyString(), anyLong())).thenReturn(0);
+
+        final var actual = service.submit(buildRequest(List.of(10)));
+
+        assertEquals(PayrollJobStatus.QUEUED, actual.status());
+        verify(payrollCalculationService, never()).createBatchContext(any(), any(), any(), any());
+    }
+
+    @Test
+    void runShouldStopWhenCancellationRequested() {
+        PayrollJob job = buildJob(RUNNING);
+        jobs.put(job.getJobId(), job);
+        when(payrollCalculationService.createBatchContext(10, START, END, BIG_DECIMAL))
+                .thenReturn(new PayrollBatchContext(PayGroup.builder().id(10).build(), START, END, BIG_DECIMAL,
+                        TimesheetHoursIndex.empty()));
+        when(payrollJobRepository.isCancelRequested(job.getJobId())).thenReturn(true);
+
+        service.run(job.getJobId());
+
+        assertEquals(CANCELLED, jobs.get(job.getJobId()).getStatus());
+        verify(payrollCalculationService, never()).calculateChunk(any(), anyString());
+    }
+
+    @Test
+    void runShouldMarkJobFailedAndKeepCheckpointWhenChunkFails() {
+        PayGroup payGroup = PayGroup.builder().id(10).build();
+        PayrollBatchContext context = new PayrollBatchContext(payGroup, START, END, BIG_DECIMAL,
+                TimesheetHoursIndex.empty());
+        PayrollJob job = buildJob(RUNNING);
+        job.setCheckpointEmployeeId("EMP002");
+        jobs.put(job.getJobId(), job);
+        when(payrollCalculationService.createBatchContext(10, START, END, BIG_DECIMAL)).thenReturn(context);
+        when(payrollCalculationService.calculateChunk(context, "EMP002"))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        service.run(job.getJobId());
+
+        assertEquals(FAILED, jobs.get(job.getJobId()).getStatus());
+        assertEquals("database unavailable", jobs.get(job.getJobId()).getErrorMessage());
+        assertEquals("EMP002", jobs.get(job.getJobId()).getCheckpointEmployeeId());
+    }
+
+    @Test
+    void cancelShouldOnlyFlagActiveJobs() {
+        PayrollJob running = buildJob(RUNNING);
+        PayrollJob completed = buildJob(COMPLETED);
+        completed.setJobId("job-2");
+        jobs.put(running.getJobId(), running);
+        jobs.put(completed.getJobId(), completed);
+
+        service.cancel(running.getJobId());
+        service.cancel(completed.getJobId());
+
+        verify(payrollJobRepository).requestCancel(running.getJobId());
+        verify(payrollJobRepository, never()).requestCancel(completed.getJobId());
+    }
+
+    @Test
+    void getJobShouldThrowWhenJobMissing() {
+        assertThrows(PayrollJobNotFoundException.class, () -> service.getJob("missing"));
+    }
+
+    @Test
+    void submitShouldFailJobWhenQueueIsFull() {
+        service = new PayrollJobServiceImpl(payrollJobRepository, payrollCalculationService, payGroupValidator,
+                payPeriodCycleValidator, employeeMasterService, command -> {
+                    throw new RejectedExecutionException("full");
+                });
+        when(payGroupValidator.validatePayGroupExists(10)).thenReturn(PayGroup.builder().id(10).build());
+        when(payrollCalculationService.resolveCalculationEngine(null)).thenReturn(BIG_DECIMAL);
+
+        final var actual = service.submit(buildRequest(List.of(10)));
+
+        assertEquals(FAILED, actual.status());
+        verify(payrollCalculationService, never()).calculateChunk(any(), anyString());
+    }
+
+    private PayrollChunkResult chunk(int employeesRead, int employeesFailed, String lastEmployeeId) {
+        return new PayrollChunkResult(employeesRead, employeesFailed, employeesRead - employeesFailed, 0, 0, 0,
+                lastEmployeeId, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private PayrollJob buildJob(PayrollJobStatus status) {
+        return PayrollJob.builder()
+                .jobId("job-1")
+                .payGroupIds("10")
+                .payPeriodStart(START)
+                .payPeriodEnd(END)
+                .calculationEngine(BIG_DECIMAL)
+                .status(status)
+                .totalEmployees(3)
+                .build();
+    }
+
+    private PayrollBatchCalculationRequest buildRequest(List<Integer> payGroupIds) {
+        return PayrollBatchCalculationRequest.builder()
+                .payGroupIds(payGroupIds)
+                .payPeriod(PayPeriod.builder().startDate(START).endDate(END).build())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.tw.coupang.one_payroll.timesheet.service;
+
+import com.tw.coupang.one_payroll.payperiod.entity.PayPeriod;
+import com.tw.coupang.one_payroll.payperiod.repository.PayPeriodRepository;
+import com.tw.coupang.one_payroll.timesheet.dto.TimesheetHours;
+import com.tw.coupang.one_payroll.timesheet.repository.TimesheetSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimesheetServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate END = LocalDate.of(2025, 11, 30);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 12, 1, 9, 0);
+
+    @InjectMocks
+    private TimesheetServiceImpl service;
+
+    @Mock
+    private PayPeriodRepository payPeriodRepository;
+
+    @Mock
+    private TimesheetSummaryRepository timesheetSummaryRepository;
+
+    @Test
+    void getTimesheetHoursShouldLookUpPayPeriodOfPayGroup() {
+        TimesheetHours hours = new TimesheetHours("E001", new BigDecimal("176.00"), new BigDecimal("8.00"),
+                LocalDateTime.of(2025, 12, 1, 9, 0));
+        when(payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(1, START, END))
+                .thenReturn(Optional.of(PayPeriod.builder().id(7).payGroupId(1).build()));
+        when(timesheetSummaryRepository.findHoursByEmployeeIdAndPayPeriodId("E001", 7)).thenReturn(Optional.of(hours));
+
+        Optional<TimesheetHours> actual = service.getTimesheetHours("E001", 1, START, END);
+
+        assertEquals(Optional.of(hours), actual);
+        assertEquals(new BigDecimal("184.00"), actual.get().payableHours());
+    }
+
+    @Test
+    void getTimesheetHoursShouldBeEmptyWithoutPayPeriod() {
+        when(payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(1, START, END))
+                .thenReturn(Optional.empty());
+
+        assertTrue(service.getTimesheetHours("E001", 1, START, END).isEmpty());
+        verify(timesheetSummaryRepository, never()).findHoursByEmployeeIdAndPayPeriodId(any(), any());
+    }
+
+    @Test
+    void loadHoursIndexShouldIndexAllTimesheetsOfPayPeriod() {
+        when(payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(1, START, END))
+                .thenReturn(Optional.of(PayPeriod.builder().id(7).payGroupId(1).build()));
+        when(timesheetSummaryRepository.findHoursByPayPeriodId(7)).thenReturn(List.of(
+                new TimesheetHours("E010", new BigDecimal("40.50"), null, UPDATED_AT),
+                new TimesheetHours("E002", new BigDecimal("160.00"), BigDecimal.ZERO, UPDATED_AT),
+                new TimesheetHours("E001", new BigDecimal("176.00"), new BigDecimal("8.00"), UPDATED_AT.plusDays(1))));
+
+        TimesheetHoursIndex index = service.loadHoursIndex(1, START, END);
+
+        assertEquals(3, index.size());
+        assertEquals(new BigDecimal("184.00"), index.payableHours("E001"));
+        assertEquals(new BigDecimal("160.00"), index.payableHours("E002"));
+        assertEquals(new BigDecimal("40.50"), index.payableHours("E010"));
+        assertNull(index.payableHours("E003"));
+        assertEquals(UPDATED_AT.plusDays(1), index.updatedAt("E001"));
+        assertNull(index.updatedAt("E003"));
+    }
+
+    @Test
+    void loadHoursIndexShouldBeEmptyWithoutPayPeriod() {
+        when(payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(1, START, END))
+                .thenReturn(Optional.empty());
+
+        assertEquals(0, service.loadHoursIndex(1, START, END).size());
+        verify(timesheetSummaryRepository, never()).findHoursByPayPeriodId(any());
+    }
+
+    @Test
+    void loadHoursIndexForEmployeesShouldOnlyQueryRequestedEmployees() {
+        when(payPeriodRepository.findByPayGroupIdAndPeriodStartDateAndPeriodEndDate(1, START, END))
+                .thenReturn(Optional.of(PayPeriod.builder().id(7).payGroupId(1).build()));
+        when(timesheetSummaryRepository.findHoursByPayPeriodIdAndEmployeeIdIn(7, List.of("E001", "E002")))
+                .thenReturn(List.of(new TimesheetHours("E001", new BigDecimal("176.00"), null, UPDATED_AT)));
+
+        TimesheetHoursIndex index = service.loadHoursIndex(1, START, END, List.of("E001", "E002"));
+
+        assertEquals(1, index.size());
+        assertEquals(new BigDecimal("176.00"), index.payableHours("E001"));
+        assertNull(index.payableHours("E002"));
+        verify(timesheetSummaryRepository, never()).findHoursByPayPeriodId(any());
+    }
+
+    @Test
+    void loadHoursIndexForNoEmployeesShouldNotQuery() {
+        assertEquals(0, service.loadHoursIndex(1, START, END, List.of()).size());
+
+        verifyNoInteractions(payPeriodRepository, timesheetSummaryRepository);
+    }
+}